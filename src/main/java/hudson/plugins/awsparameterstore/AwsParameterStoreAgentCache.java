@@ -0,0 +1,429 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.security.HexStringConfidentialKey;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Snapshot cache on the agents, shared by all executors of a node.
+ * <p>
+ * Parameters fetched with the instance profile of an agent are fetched on the
+ * agent itself and stored in a snapshot file per region and fetch below
+ * <code>aws-parameter-store-cache</code> in the agent root. Each snapshot
+ * records when it was fetched and is encrypted with AES-GCM under a key for
+ * that node, derived on the controller as an HMAC of the controller's key over
+ * the node name. The node key is sent with each fetch and never stored on the
+ * agent, so a snapshot cannot be read from a copy of the agent's disk, such
+ * as a backup or a reused volume, and an agent cannot read the snapshots of
+ * another node. It does not protect the parameters from whoever controls the
+ * running agent, which can fetch them with its instance profile anyway. The
+ * snapshot is read while holding a lock on the file, which also serializes
+ * agent processes sharing the same root, so concurrent builds on a node wait
+ * for one fetch instead of making their own.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreAgentCache {
+    static long TTL = Long.getLong(AwsParameterStoreAgentCache.class.getName() + ".ttl", 300);
+
+    /**
+     * Directory below the agent root holding the snapshots.
+     */
+    public static final String DIRECTORY = "aws-parameter-store-cache";
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreAgentCache.class.getName());
+    private static final HexStringConfidentialKey KEY = new HexStringConfidentialKey(
+            AwsParameterStoreAgentCache.class, "key", 32);
+    private static final int MAGIC = 0x41505343;
+    private static final int VERSION = 1;
+    private static final int IV_LENGTH = ParameterSnapshotCodec.IV_LENGTH;
+    private static final int HEADER_LENGTH = 20;
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private AwsParameterStoreAgentCache() {
+    }
+
+    /**
+     * Gets the key the snapshots of a node are encrypted with. Only available
+     * on the controller.
+     *
+     * @param nodeName name of the node
+     * @return AES key
+     */
+    static byte[] getKey(String nodeName) {
+        return deriveKey(Util.fromHexString(KEY.get()), nodeName);
+    }
+
+    /**
+     * Derives the key of a node from the controller's key.
+     *
+     * @param key      controller's key
+     * @param nodeName name of the node
+     * @return AES key
+     */
+    static byte[] deriveKey(byte[] key, String nodeName) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(("agent-cache|" + nodeName).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the snapshot file for a fetch.
+     *
+     * @param directory snapshot directory
+     * @param fetchKey  key identifying the fetch
+     * @return snapshot file
+     */
+    static File toFile(File directory, String fetchKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return new File(directory,
+                    Util.toHexString(digest.digest(fetchKey.getBytes(StandardCharsets.UTF_8))) + ".snapshot");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads when the parameters of a snapshot were fetched.
+     *
+     * @param file open snapshot file
+     * @return fetch time in milliseconds, or 0 if there is no snapshot
+     * @throws IOException if the file cannot be read
+     */
+    static long readFetchedAt(RandomAccessFile file) throws IOException {
+        if (file.length() < HEADER_LENGTH) {
+            return 0;
+        }
+        file.seek(0);
+        file.readInt();
+        file.readInt();
+        return file.readLong();
+    }
+
+    /**
+     * Reads a snapshot unless it is missing, older than <code>oldest</code> or
+     * cannot be decrypted with <code>key</code>.
+     *
+     * @param file     open snapshot file
+     * @param key      AES key
+     * @param fetchKey key identifying the fetch, authenticated with the
+     *                 snapshot
+     * @param oldest   oldest acceptable fetch time in milliseconds
+     * @return parameters, or null
+     * @throws IOException if the file cannot be read
+     */
+    static List<Parameter> readSnapshot(RandomAccessFile file, byte[] key, String fetchKey, long oldest)
+            throws IOException {
+        final long length = file.length();
+        if (length < HEADER_LENGTH + IV_LENGTH) {
+            return null;
+        }
+        file.seek(0);
+        final int magic = file.readInt();
+        final int version = file.readInt();
+        final long fetchedAt = file.readLong();
+        final int encryptedLength = file.readInt();
+        if (magic != MAGIC || version != VERSION || fetchedAt < oldest
+                || encryptedLength != length - HEADER_LENGTH - IV_LENGTH) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(IV_LENGTH + encryptedLength);
+        final FileChannel channel = file.getChannel();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, HEADER_LENGTH + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        final byte[] plain = ParameterSnapshotCodec.decrypt(key, toAad(fetchKey, fetchedAt), buffer.array());
+        if (plain == null) {
+            LOGGER.fine("Cannot decrypt parameter snapshot " + fetchKey);
+            return null;
+        }
+        return ParameterSnapshotCodec.decode(plain);
+    }
+
+    /**
+     * Replaces the contents of a snapshot file.
+     *
+     * @param file       open snapshot file
+     * @param key        AES key
+     * @param fetchKey   key identifying the fetch
+     * @param fetchedAt  fetch time in milliseconds
+     * @param parameters parameters to store
+     * @throws IOException if the file cannot be written
+     */
+    static void writeSnapshot(RandomAccessFile file, byte[] key, String fetchKey, long fetchedAt,
+            List<Parameter> parameters) throws IOException {
+        final byte[] encrypted = ParameterSnapshotCodec.encrypt(key, toAad(fetchKey, fetchedAt),
+                ParameterSnapshotCodec.encode(parameters));
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + encrypted.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(fetchedAt).putInt(encrypted.length - IV_LENGTH).put(encrypted);
+        buffer.flip();
+        final FileChannel channel = file.getChannel();
+        channel.truncate(0);
+        channel.write(buffer, 0);
+        channel.force(false);
+    }
+
+    private static byte[] toAad(String fetchKey, long fetchedAt) {
+        return (fetchKey + "|" + fetchedAt).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Object lockFor(File file) {
+        final String path = file.getAbsolutePath();
+        final Object lock = new Object();
+        final Object existing = LOCKS.putIfAbsent(path, lock);
+        return existing == null ? lock : existing;
+    }
+
+    /**
+     * Outcome of a fetch, returned from the agent to the controller.
+     */
+    static final class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Parameter> parameters;
+        private final long staleFetchedAt;
+        private final long throttleWaitMillis;
+        private final AwsParameterStoreFetchMetrics metrics;
+        private final boolean complete;
+        private final boolean deadlineExceeded;
+
+        Result(List<Parameter> parameters, long staleFetchedAt, long throttleWaitMillis,
+                AwsParameterStoreFetchMetrics metrics, boolean complete, boolean deadlineExceeded) {
+            this.parameters = new ArrayList<>(parameters);
+            this.staleFetchedAt = staleFetchedAt;
+            this.throttleWaitMillis = throttleWaitMillis;
+            this.metrics = metrics;
+            this.complete = complete;
+            this.deadlineExceeded = deadlineExceeded;
+        }
+
+        /**
+         * Gets the fetched parameters.
+         *
+         * @return parameters
+         */
+        List<Parameter> getParameters() {
+            return parameters;
+        }
+
+        /**
+         * Gets when the parameters were fetched if they are stale.
+         *
+         * @return fetch time in milliseconds, or 0 if the parameters are current
+         */
+        long getStaleFetchedAt() {
+            return staleFetchedAt;
+        }
+
+        /**
+         * Gets how long the calls were queued by the throttle.
+         *
+         * @return queue wait in milliseconds
+         */
+        long getThrottleWaitMillis() {
+            return throttleWaitMillis;
+        }
+
+        /**
+         * Gets the AWS calls and cache lookups made by the fetch.
+         *
+         * @return metrics
+         */
+        AwsParameterStoreFetchMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Gets whether every request of the fetch succeeded, so that the
+         * parameters can be reused by other fetches with the same arguments.
+         *
+         * @return <code>true</code> if the fetch was complete
+         */
+        boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Gets whether the deadline cut the fetch short, so that the
+         * parameters are partial or stale.
+         *
+         * @return <code>true</code> if the deadline was exceeded
+         */
+        boolean isDeadlineExceeded() {
+            return deadlineExceeded;
+        }
+    }
+
+    /**
+     * Fetches parameters on an agent with its instance profile, using the
+     * snapshot if it is recent enough, or whatever its age when the deadline
+     * is exceeded with the <code>cached</code> policy. Invoked on the snapshot
+     * directory.
+     */
+    static final class FetchCallable extends MasterToSlaveFileCallable<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] key;
+        private final long ttl;
+        private final String regionName;
+        private final String decryption;
+        private final String decryptNames;
+        private final String parameterFilters;
+        private final boolean staleIfUnavailable;
+        private final String path;
+        private final Boolean recursive;
+        private final String namePrefixes;
+        private final String option;
+        private final long deadlineMillis;
+        private final String deadlinePolicy;
+
+        /**
+         * Creates a new {@link FetchCallable}.
+         *
+         * @param nodeName           name of the node to fetch on
+         * @param regionName         AWS region name
+         * @param decryption         decryption policy: always, selected, never
+         * @param decryptNames       comma separated SecureString names to decrypt
+         * @param parameterFilters   server-side filters, one per line
+         * @param staleIfUnavailable use last known good parameters during outages
+         * @param path               hierarchy for the parameter
+         * @param recursive          fetch all parameters within a hierarchy
+         * @param namePrefixes       filter parameters by Name with beginsWith filter
+         * @param option             option for filter operation
+         * @param deadlineMillis     time left to fetch in milliseconds, or 0 for
+         *                           no deadline
+         * @param deadlinePolicy     deadline policy: fail, partial, cached
+         */
+        FetchCallable(String nodeName, String regionName, String decryption, String decryptNames,
+                String parameterFilters, boolean staleIfUnavailable, String path, Boolean recursive,
+                String namePrefixes, String option, long deadlineMillis, String deadlinePolicy) {
+            this.key = getKey(nodeName);
+            this.ttl = TTL;
+            this.regionName = regionName;
+            this.decryption = decryption;
+            this.decryptNames = decryptNames;
+            this.parameterFilters = parameterFilters;
+            this.staleIfUnavailable = staleIfUnavailable;
+            this.path = path;
+            this.recursive = recursive;
+            this.namePrefixes = namePrefixes;
+            this.option = option;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlinePolicy = deadlinePolicy;
+        }
+
+        @Override
+        public Result invoke(File directory, VirtualChannel channel) throws IOException, InterruptedException {
+            final AwsParameterStoreService service = new AwsParameterStoreService(null, regionName);
+            service.setDecryption(decryption, decryptNames);
+            service.setParameterFilters(parameterFilters);
+            service.setStaleIfUnavailable(staleIfUnavailable);
+            service.setDeadline(deadlineMillis > 0 ? System.currentTimeMillis() + deadlineMillis : 0, deadlinePolicy);
+            if (ttl <= 0) {
+                return fetch(service);
+            }
+            final String fetchKey = service.toFetchKey(path, recursive, namePrefixes, option);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create " + directory);
+            }
+            final File file = toFile(directory, fetchKey);
+            synchronized (lockFor(file)) {
+                try (RandomAccessFile snapshot = new RandomAccessFile(file, "rw");
+                        FileLock lock = snapshot.getChannel().lock()) {
+                    file.setReadable(false, false);
+                    file.setReadable(true, true);
+                    final long now = System.currentTimeMillis();
+                    final List<Parameter> parameters = readSnapshot(snapshot, key, fetchKey,
+                            now - TimeUnit.SECONDS.toMillis(ttl));
+                    if (parameters != null) {
+                        LOGGER.fine("Using agent parameter snapshot");
+                        final AwsParameterStoreFetchMetrics metrics = new AwsParameterStoreFetchMetrics();
+                        metrics.recordCacheHit();
+                        return new Result(parameters, 0, 0, metrics, true, false);
+                    }
+                    final Result result;
+                    try {
+                        result = fetch(service);
+                    } catch (AwsParameterStoreDeadlineException e) {
+                        final List<Parameter> snapshotParameters =
+                                AwsParameterStoreService.DEADLINE_CACHED.equals(deadlinePolicy)
+                                        ? readSnapshot(snapshot, key, fetchKey, 0) : null;
+                        if (snapshotParameters == null) {
+                            throw e;
+                        }
+                        return new Result(snapshotParameters, readFetchedAt(snapshot), service.getThrottleWaitMillis(),
+                                service.getMetrics(), false, true);
+                    }
+                    if (service.isFetchComplete()) {
+                        try {
+                            writeSnapshot(snapshot, key, fetchKey, now, result.getParameters());
+                        } catch (IOException e) {
+                            LOGGER.log(Level.WARNING, "Cannot write parameter snapshot " + file, e);
+                        }
+                    }
+                    return result;
+                }
+            }
+        }
+
+        private Result fetch(AwsParameterStoreService service) {
+            final List<Parameter> parameters = service.fetchParameters(path, recursive, namePrefixes, option);
+            return new Result(parameters, service.getStaleFetchedAt(), service.getThrottleWaitMillis(),
+                    service.getMetrics(), service.isFetchComplete(), service.isDeadlineExceeded());
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterStringFilter;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking fetch engine on top of {@link AWSSimpleSystemsManagementAsync}.
+ * <p>
+ * Pages are chained as futures and values are looked up with batched
+ * <code>GetParameters</code> calls issued concurrently. No more than
+ * <code>concurrency</code> requests of a fetcher are in flight at once;
+ * further requests are queued without blocking the caller. Each request
+ * also waits for an {@link AwsParameterStoreThrottle} permit and fails fast
+ * while the {@link AwsParameterStoreCircuitBreaker} is open. With a deadline,
+ * each request is limited to the time left and none is started after it.
+ *
+ * @author agent
+ */
+class AwsParameterStoreAsyncFetcher {
+    private static final int BATCH_SIZE = 10;
+    private static final int DESCRIBE_PAGE_SIZE = 50;
+
+    private final AWSSimpleSystemsManagementAsync client;
+    private final int concurrency;
+    private final String scope;
+    private final String throttleScope;
+    private final String tenant;
+    private final AwsParameterStoreFetchMetrics metrics;
+    private final long deadline;
+    private final AtomicLong throttleWaitMillis = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new {@link AwsParameterStoreAsyncFetcher}.
+     *
+     * @param client        asynchronous client
+     * @param concurrency   maximum number of requests in flight
+     * @param scope         circuit breaker scope
+     * @param throttleScope throttle scope
+     * @param tenant        throttle tenant
+     * @param metrics       metrics recording the calls
+     * @param deadline      time after which no request is started, in
+     *                      milliseconds since the epoch, or 0 for none
+     */
+    AwsParameterStoreAsyncFetcher(AWSSimpleSystemsManagementAsync client, int concurrency, String scope,
+            String throttleScope, String tenant, AwsParameterStoreFetchMetrics metrics, long deadline) {
+        this.client = client;
+        this.concurrency = Math.max(1, concurrency);
+        this.scope = scope;
+        this.throttleScope = throttleScope;
+        this.tenant = tenant;
+        this.metrics = metrics;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Gets how long the requests of this fetcher were queued by the
+     * {@link AwsParameterStoreThrottle}.
+     *
+     * @return queue wait in milliseconds
+     */
+    long getThrottleWaitMillis() {
+        return throttleWaitMillis.get();
+    }
+
+    /**
+     * Fetches all pages of <code>GetParametersByPath</code>.
+     *
+     * @param path      hierarchy for the parameters
+     * @param recursive fetch all parameters within a hierarchy
+     * @param decrypt   whether SecureString values are decrypted
+     * @param filters   additional server-side filters
+     * @return future of the parameters in page order
+     */
+    ListenableFuture<List<Parameter>> fetchParametersByPath(String path, Boolean recursive, boolean decrypt,
+            List<ParameterStringFilter> filters) {
+        return pageParametersByPath(path, recursive, decrypt, filters, null, new ArrayList<Parameter>());
+    }
+
+    /**
+     * Fetches the parameters directly in <code>path</code> and each of the
+     * child hierarchies <code>shards</code> recursively, concurrently.
+     *
+     * @param path    hierarchy for the parameters
+     * @param shards  child hierarchies of <code>path</code>
+     * @param decrypt whether SecureString values are decrypted
+     * @param filters additional server-side filters
+     * @return future of the parameters in shard order
+     */
+    ListenableFuture<List<Parameter>> fetchShards(String path, List<String> shards, boolean decrypt,
+            List<ParameterStringFilter> filters) {
+        List<ListenableFuture<List<Parameter>>> futures = new ArrayList<>();
+        futures.add(fetchParametersByPath(path, false, decrypt, filters));
+        for (String shard : shards) {
+            futures.add(fetchParametersByPath(shard, true, decrypt, filters));
+        }
+        return Futures.transform(Futures.allAsList(futures),
+                new AsyncFunction<List<List<Parameter>>, List<Parameter>>() {
+                    @Override
+                    public ListenableFuture<List<Parameter>> apply(List<List<Parameter>> results) {
+                        List<Parameter> parameters = new ArrayList<>();
+                        for (List<Parameter> result : results) {
+                            parameters.addAll(result);
+                        }
+                        return Futures.immediateFuture(parameters);
+                    }
+                });
+    }
+
+    /**
+     * Describes the parameters matching <code>namePrefixes</code> and fetches
+     * their values.
+     *
+     * @param namePrefixes comma separated name filter values
+     * @param option       option for filter operation
+     * @param decrypt      whether SecureString values are decrypted
+     * @param filters      additional server-side filters
+     * @return future of the parameters in describe order
+     */
+    ListenableFuture<List<Parameter>> fetchParameters(String namePrefixes, String option, final boolean decrypt,
+            List<ParameterStringFilter> filters) {
+        List<ParameterStringFilter> describeFilters = new ArrayList<>(filters);
+        if (!StringUtils.isEmpty(namePrefixes)) {
+            describeFilters.add(new ParameterStringFilter().withKey("Name").withOption(option)
+                    .withValues(namePrefixes.split(",")));
+        }
+        return Futures.transform(describeParameters(describeFilters, null, new ArrayList<String>()),
+                new AsyncFunction<List<String>, List<Parameter>>() {
+                    @Override
+                    public ListenableFuture<List<Parameter>> apply(List<String> names) {
+                        return fetchParametersByName(names, decrypt);
+                    }
+                });
+    }
+
+    /**
+     * Fetches the values of <code>names</code> in concurrent batches.
+     *
+     * @param names   parameter names
+     * @param decrypt whether SecureString values are decrypted
+     * @return future of the parameters found, in the order of
+     *         <code>names</code>
+     */
+    ListenableFuture<List<Parameter>> fetchParametersByName(final List<String> names, boolean decrypt) {
+        List<ListenableFuture<GetParametersResult>> batches = new ArrayList<>();
+        for (int i = 0; i < names.size(); i += BATCH_SIZE) {
+            GetParametersRequest request = new GetParametersRequest().withWithDecryption(decrypt)
+                    .withNames(names.subList(i, Math.min(i + BATCH_SIZE, names.size())));
+            batches.add(submit(request, new Invoker<GetParametersRequest, GetParametersResult>() {
+                @Override
+                public void invoke(GetParametersRequest request,
+                        AsyncHandler<GetParametersRequest, GetParametersResult> handler) {
+                    client.getParametersAsync(request, handler);
+                }
+            }));
+        }
+        return Futures.transform(Futures.allAsList(batches),
+                new AsyncFunction<List<GetParametersResult>, List<Parameter>>() {
+                    @Override
+                    public ListenableFuture<List<Parameter>> apply(List<GetParametersResult> results) {
+                        Map<String, Parameter> byName = new HashMap<>();
+                        for (GetParametersResult result : results) {
+                            for (Parameter parameter : result.getParameters()) {
+                                byName.put(parameter.getName(), parameter);
+                            }
+                        }
+                        List<Parameter> parameters = new ArrayList<>();
+                        for (String name : names) {
+                            Parameter parameter = byName.get(name);
+                            if (parameter != null) {
+                                parameters.add(parameter);
+                            }
+                        }
+                        return Futures.immediateFuture(parameters);
+                    }
+                });
+    }
+
+    private ListenableFuture<List<Parameter>> pageParametersByPath(final String path, final Boolean recursive,
+            final boolean decrypt, final List<ParameterStringFilter> filters, String nextToken,
+            final List<Parameter> parameters) {
+        GetParametersByPathRequest request = new GetParametersByPathRequest().withPath(path).withRecursive(recursive)
+                .withWithDecryption(decrypt).withNextToken(nextToken);
+        if (!filters.isEmpty()) {
+            request = request.withParameterFilters(filters);
+        }
+        ListenableFuture<GetParametersByPathResult> page = submit(request,
+                new Invoker<GetParametersByPathRequest, GetParametersByPathResult>() {
+                    @Override
+                    public void invoke(GetParametersByPathRequest request,
+                            AsyncHandler<GetParametersByPathRequest, GetParametersByPathResult> handler) {
+                        client.getParametersByPathAsync(request, handler);
+                    }
+                });
+        return Futures.transform(page, new AsyncFunction<GetParametersByPathResult, List<Parameter>>() {
+            @Override
+            public ListenableFuture<List<Parameter>> apply(GetParametersByPathResult result) {
+                parameters.addAll(result.getParameters());
+                if (result.getNextToken() == null) {
+                    return Futures.immediateFuture(parameters);
+                }
+                return pageParametersByPath(path, recursive, decrypt, filters, result.getNextToken(), parameters);
+            }
+        });
+    }
+
+    private ListenableFuture<List<String>> describeParameters(final List<ParameterStringFilter> filters,
+            String nextToken, final List<String> names) {
+        DescribeParametersRequest request = new DescribeParametersRequest().withMaxResults(DESCRIBE_PAGE_SIZE)
+                .withNextToken(nextToken);
+        if (!filters.isEmpty()) {
+            request = request.withParameterFilters(filters);
+        }
+        ListenableFuture<DescribeParametersResult> page = submit(request,
+                new Invoker<DescribeParametersRequest, DescribeParametersResult>() {
+                    @Override
+                    public void invoke(DescribeParametersRequest request,
+                            AsyncHandler<DescribeParametersRequest, DescribeParametersResult> handler) {
+                        client.describeParametersAsync(request, handler);
+                    }
+                });
+        return Futures.transform(page, new AsyncFunction<DescribeParametersResult, List<String>>() {
+            @Override
+            public ListenableFuture<List<String>> apply(DescribeParametersResult result) {
+                for (ParameterMetadata metadata : result.getParameters()) {
+                    names.add(metadata.getName());
+                }
+                if (result.getNextToken() == null) {
+                    return Futures.immediateFuture(names);
+                }
+                return describeParameters(filters, result.getNextToken(), names);
+            }
+        });
+    }
+
+    /**
+     * Queues a request and starts it once fewer than <code>concurrency</code>
+     * requests are in flight and a throttle permit was granted.
+     */
+    private <Q extends AmazonWebServiceRequest, R> ListenableFuture<R> submit(final Q request,
+            final Invoker<Q, R> invoker) {
+        final SettableFuture<R> future = SettableFuture.create();
+        pending.add(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isCancelled()) {
+                    release();
+                    return;
+                }
+                if (!AwsParameterStoreCircuitBreaker.forScope(scope).allowRequest()) {
+                    release();
+                    future.setException(new AwsParameterStoreUnavailableException(
+                            "AWS Parameter Store is unavailable for " + scope));
+                    return;
+                }
+                Futures.addCallback(AwsParameterStoreThrottle.getInstance().acquireAsync(throttleScope, tenant),
+                        new FutureCallback<AwsParameterStoreThrottle.Permit>() {
+                            @Override
+                            public void onSuccess(AwsParameterStoreThrottle.Permit permit) {
+                                throttleWaitMillis.addAndGet(permit.getWaitMillis());
+                                invoke(request, invoker, permit, future);
+                            }
+
+                            @Override
+                            public void onFailure(Throwable t) {
+                                release();
+                                future.setException(t);
+                            }
+                        });
+            }
+        });
+        drain();
+        return future;
+    }
+
+    private <Q extends AmazonWebServiceRequest, R> void invoke(final Q request, Invoker<Q, R> invoker,
+            final AwsParameterStoreThrottle.Permit permit, final SettableFuture<R> future) {
+        if (future.isCancelled()) {
+            permit.release();
+            release();
+            return;
+        }
+        if (deadline > 0) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                permit.release();
+                release();
+                future.setException(new AwsParameterStoreDeadlineException(
+                        "Fetching parameters from AWS Parameter Store for " + scope + " exceeded the deadline"));
+                return;
+            }
+            request.setSdkClientExecutionTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+        }
+        final long start = System.nanoTime();
+        try {
+            invoker.invoke(request, new AsyncHandler<Q, R>() {
+                @Override
+                public void onError(Exception exception) {
+                    metrics.recordCall(request, System.nanoTime() - start);
+                    AwsParameterStoreCircuitBreaker.forScope(scope).onFailure(exception);
+                    permit.release();
+                    release();
+                    future.setException(exception);
+                }
+
+                @Override
+                public void onSuccess(Q request, R result) {
+                    metrics.recordCall(request, System.nanoTime() - start);
+                    AwsParameterStoreCircuitBreaker.forScope(scope).onSuccess();
+                    permit.release();
+                    release();
+                    future.set(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            permit.release();
+            release();
+            future.setException(e);
+        }
+    }
+
+    private void release() {
+        running.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = running.get();
+            if (current >= concurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable task = pending.poll();
+            if (task == null) {
+                running.decrementAndGet();
+            } else {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Starts an asynchronous client call.
+     */
+    private interface Invoker<Q extends AmazonWebServiceRequest, R> {
+        void invoke(Q request, AsyncHandler<Q, R> handler);
+    }
+}
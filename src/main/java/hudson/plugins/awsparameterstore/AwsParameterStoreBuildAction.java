@@ -0,0 +1,183 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import hudson.model.Action;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import jenkins.tasks.SimpleBuildStep;
+
+/**
+ * Cost of AWS Parameter Store to a build: how long its
+ * {@link AwsParameterStoreBuildWrapper wrappers} waited for parameters, the
+ * AWS calls and cache lookups behind those fetches and the time spent
+ * redacting its console. Shown on the build page, and charted per job by the
+ * {@link AwsParameterStoreProjectAction}.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreBuildAction implements RunAction2, SimpleBuildStep.LastBuildAction {
+    private transient Run<?, ?> run;
+    private long fetchMillis;
+    private int parameters;
+    private long throttleWaitMillis;
+    private long maskingNanos = -1;
+    private final AwsParameterStoreFetchMetrics metrics = new AwsParameterStoreFetchMetrics();
+
+    /**
+     * Gets the action of <code>run</code>, adding it if necessary.
+     *
+     * @param run the build
+     * @return action shared by all wrappers of the run
+     */
+    static AwsParameterStoreBuildAction forRun(Run<?, ?> run) {
+        synchronized (run) {
+            AwsParameterStoreBuildAction action = run.getAction(AwsParameterStoreBuildAction.class);
+            if (action == null) {
+                action = new AwsParameterStoreBuildAction();
+                run.addAction(action);
+            }
+            return action;
+        }
+    }
+
+    /**
+     * Records the fetches made by a wrapper while setting up.
+     *
+     * @param millis  how long the wrapper waited for its fetches
+     * @param results fetch results, including those of failed fetches
+     */
+    void add(long millis, List<AwsParameterStoreAgentCache.Result> results) {
+        synchronized (this) {
+            fetchMillis += millis;
+            for (AwsParameterStoreAgentCache.Result result : results) {
+                parameters += result.getParameters().size();
+                throttleWaitMillis += result.getThrottleWaitMillis();
+            }
+        }
+        for (AwsParameterStoreAgentCache.Result result : results) {
+            metrics.addAll(result.getMetrics());
+        }
+    }
+
+    /**
+     * Records the time spent redacting the console once the run completed.
+     *
+     * @param maskingNanos redaction time in nanoseconds
+     */
+    synchronized void setMaskingNanos(long maskingNanos) {
+        this.maskingNanos = maskingNanos;
+    }
+
+    /**
+     * Gets how long the wrappers of the build waited for parameters.
+     *
+     * @return fetch time in milliseconds
+     */
+    public synchronized long getFetchMillis() {
+        return fetchMillis;
+    }
+
+    /**
+     * Gets the number of parameters injected into the build.
+     *
+     * @return parameters
+     */
+    public synchronized int getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets how long the AWS calls of the build were queued by the
+     * {@link AwsParameterStoreThrottle}.
+     *
+     * @return queue wait in milliseconds
+     */
+    public synchronized long getThrottleWaitMillis() {
+        return throttleWaitMillis;
+    }
+
+    /**
+     * Gets the time spent redacting the console of the build, so far if it is
+     * still running.
+     *
+     * @return redaction time in milliseconds
+     */
+    public long getMaskingMillis() {
+        long nanos;
+        synchronized (this) {
+            nanos = maskingNanos;
+        }
+        if (nanos < 0) {
+            nanos = run == null || !run.isBuilding() ? 0
+                    : AwsParameterStoreMaskingRegistry.forRun(run).getMaskingNanos().get();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Gets the AWS calls and cache lookups of the build.
+     *
+     * @return metrics
+     */
+    public AwsParameterStoreFetchMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.buildActionDisplayName();
+    }
+
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public Collection<? extends Action> getProjectActions() {
+        return run == null ? Collections.<Action>emptyList()
+                : Collections.singletonList(new AwsParameterStoreProjectAction(run.getParent()));
+    }
+}
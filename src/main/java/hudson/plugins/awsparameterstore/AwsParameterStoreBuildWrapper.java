@@ -28,32 +28,51 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.RegionUtils;
 import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
 import com.cloudbees.jenkins.plugins.awscredentials.AWSCredentialsHelper;
+import com.cloudbees.jenkins.plugins.awscredentials.AmazonWebServicesCredentials;
+import com.cloudbees.plugins.credentials.CredentialsMatchers;
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.domains.DomainRequirement;
 
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
 
+import hudson.AbortException;
 import hudson.EnvVars;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.Util;
 import hudson.console.ConsoleLogFilter;
 import hudson.model.AbstractBuild;
 import hudson.model.AbstractProject;
+import hudson.model.Computer;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Node;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.security.ACL;
 import hudson.tasks.BuildWrapperDescriptor;
+import hudson.util.ComboBoxModel;
+import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import jenkins.model.Jenkins;
 import jenkins.tasks.SimpleBuildWrapper;
@@ -69,7 +88,7 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
   private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreBuildWrapper.class.getName());
   private static final String SECURE_STRING_TYPE = "SecureString";
 
-  private static final String DEFAULT_OPTION = "BeginsWith";
+  static final String DEFAULT_OPTION = "BeginsWith";
 
   private String credentialsId;
   private String regionName;
@@ -78,8 +97,16 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
   private String naming;
   private String namePrefixes;
   private Boolean hideSecureStrings;
-  private Set<String> secrets;
   private String option;
+  private String decryption;
+  private String decryptNames;
+  private String parameterFilters;
+  private Boolean staleIfUnavailable;
+  private Boolean agentCache;
+  private Boolean expandJson;
+  private Integer deadline;
+  private String deadlinePolicy;
+  private List<AwsParameterStoreSource> sources;
 
   /**
    * Creates a new {@link AwsParameterStoreBuildWrapper}.
@@ -115,13 +142,6 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
     this.option = option != null ? option : DEFAULT_OPTION;
   }
 
-  synchronized private Set<String> getSecrets() {
-    if (null == secrets) {
-      secrets = new CopyOnWriteArraySet<>();
-    }
-    return secrets;
-  }
-
   /**
    * Gets AWS credentials identifier.
    *
@@ -271,47 +291,446 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
     this.option = option;
   }
 
-  synchronized private void addSecrets(List<Parameter> params) {
+  /**
+   * Gets the decryption policy: always, selected, never.
+   *
+   * @return decryption policy
+   */
+  public String getDecryption() {
+    return decryption;
+  }
+
+  /**
+   * Sets the decryption policy: always, selected, never.
+   *
+   * @param decryption decryption policy
+   */
+  @DataBoundSetter
+  public void setDecryption(String decryption) {
+    this.decryption = StringUtils.stripToNull(decryption);
+  }
+
+  /**
+   * Gets the SecureString names to decrypt (comma separated).
+   *
+   * @return decryptNames
+   */
+  public String getDecryptNames() {
+    return decryptNames;
+  }
+
+  /**
+   * Sets the SecureString names to decrypt when the decryption policy is
+   * <code>selected</code>.
+   *
+   * @param decryptNames comma separated names or basenames
+   */
+  @DataBoundSetter
+  public void setDecryptNames(String decryptNames) {
+    this.decryptNames = StringUtils.stripToNull(decryptNames);
+  }
+
+  /**
+   * Gets the server-side parameter filters (one per line).
+   *
+   * @return parameterFilters
+   */
+  public String getParameterFilters() {
+    return parameterFilters;
+  }
+
+  /**
+   * Sets the server-side parameter filters, one per line in the form
+   * <code>Key [Option] Value1,Value2</code>.
+   *
+   * @param parameterFilters parameter filters
+   */
+  @DataBoundSetter
+  public void setParameterFilters(String parameterFilters) {
+    this.parameterFilters = StringUtils.stripToNull(parameterFilters);
+  }
+
+  /**
+   * Gets whether the last known good parameters are used while AWS Parameter
+   * Store is unavailable.
+   *
+   * @return staleIfUnavailable
+   */
+  public Boolean getStaleIfUnavailable() {
+    return staleIfUnavailable;
+  }
+
+  /**
+   * Sets whether the last known good parameters are used while AWS Parameter
+   * Store is unavailable, instead of failing the build.
+   *
+   * @param staleIfUnavailable use last known good parameters during outages
+   */
+  @DataBoundSetter
+  public void setStaleIfUnavailable(Boolean staleIfUnavailable) {
+    this.staleIfUnavailable = staleIfUnavailable;
+  }
+
+  /**
+   * Gets whether parameters for the default credentials are fetched on the
+   * agent and cached there.
+   *
+   * @return agentCache
+   */
+  public Boolean getAgentCache() {
+    return agentCache;
+  }
+
+  /**
+   * Sets whether parameters for the default credentials are fetched on the
+   * agent, with its instance profile, and shared by all executors of the
+   * agent through an {@link AwsParameterStoreAgentCache} snapshot.
+   *
+   * @param agentCache fetch and cache on the agent
+   */
+  @DataBoundSetter
+  public void setAgentCache(Boolean agentCache) {
+    this.agentCache = agentCache;
+  }
+
+  /**
+   * Gets whether JSON object values are expanded into a variable per leaf.
+   *
+   * @return expandJson
+   */
+  public Boolean getExpandJson() {
+    return expandJson;
+  }
+
+  /**
+   * Sets whether JSON object values are expanded into a variable per leaf,
+   * e.g. <code>DB_HOST</code> for <code>{"host": ...}</code> in
+   * <code>DB</code>.
+   *
+   * @param expandJson expand JSON object values
+   */
+  @DataBoundSetter
+  public void setExpandJson(Boolean expandJson) {
+    this.expandJson = expandJson;
+  }
+
+  /**
+   * Gets how many seconds the wrapper may take to fetch all parameters.
+   *
+   * @return deadline in seconds, or null for none
+   */
+  public Integer getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Sets how many seconds the wrapper may take to fetch all parameters,
+   * across all pages, value lookups and sources. Calls still running at the
+   * deadline are aborted.
+   *
+   * @param deadline deadline in seconds, null or 0 for none
+   */
+  @DataBoundSetter
+  public void setDeadline(Integer deadline) {
+    this.deadline = deadline == null || deadline <= 0 ? null : deadline;
+  }
+
+  /**
+   * Gets what happens when the deadline is exceeded: fail, partial, cached.
+   *
+   * @return deadline policy
+   */
+  public String getDeadlinePolicy() {
+    return deadlinePolicy;
+  }
+
+  /**
+   * Sets what happens when the deadline is exceeded: <code>fail</code> the
+   * build, continue with the <code>partial</code> parameters fetched so far,
+   * or use the last complete fetch (<code>cached</code>), failing if there is
+   * none.
+   *
+   * @param deadlinePolicy deadline policy: fail, partial, cached
+   */
+  @DataBoundSetter
+  public void setDeadlinePolicy(String deadlinePolicy) {
+    this.deadlinePolicy = StringUtils.stripToNull(deadlinePolicy);
+  }
+
+  /**
+   * Gets the additional sources, fetched concurrently with this wrapper's own
+   * parameters.
+   *
+   * @return sources, never null
+   */
+  public List<AwsParameterStoreSource> getSources() {
+    return sources == null ? Collections.<AwsParameterStoreSource>emptyList() : sources;
+  }
+
+  /**
+   * Sets the additional sources. Later sources override variables of the same
+   * name from this wrapper and earlier sources.
+   *
+   * @param sources additional sources
+   */
+  @DataBoundSetter
+  public void setSources(List<AwsParameterStoreSource> sources) {
+    this.sources = sources == null || sources.isEmpty() ? null : new ArrayList<>(sources);
+  }
+
+  /**
+   * Creates a service for <code>credentialsId</code> and
+   * <code>regionName</code> with the settings of this wrapper.
+   */
+  AwsParameterStoreService createService(String credentialsId, String regionName, Job<?, ?> job)
+      throws AbortException {
+    AwsParameterStoreService awsParameterStoreService = new AwsParameterStoreService(credentialsId, regionName);
+    awsParameterStoreService.setDecryption(decryption, decryptNames);
+    awsParameterStoreService.setTenant(AwsParameterStoreThrottle.toTenant(job, credentialsId));
+    awsParameterStoreService.setStaleIfUnavailable(Boolean.TRUE.equals(staleIfUnavailable));
+    awsParameterStoreService.setExpandJson(Boolean.TRUE.equals(expandJson));
+    try {
+      awsParameterStoreService.setParameterFilters(parameterFilters);
+    } catch (IllegalArgumentException e) {
+      throw new AbortException(e.getMessage());
+    }
+    return awsParameterStoreService;
+  }
+
+  private void addSecrets(Run<?, ?> run, List<Parameter> params) {
     List<String> secrets = new LinkedList<>();
     for (Parameter param : params) {
       if (StringUtils.equals(SECURE_STRING_TYPE, param.getType())) {
         secrets.add(param.getValue());
       }
     }
-    getSecrets().addAll(secrets);
+    if (run != null) {
+      AwsParameterStoreMaskingRegistry.forRun(run).addAll(secrets);
+    }
   }
 
   @Override
   public void setUp(Context context, Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener,
       EnvVars initialEnvironment) throws IOException, InterruptedException {
-    AwsParameterStoreService awsParameterStoreService = new AwsParameterStoreService(credentialsId, regionName);
+    final long start = System.currentTimeMillis();
+    final List<AwsParameterStoreAgentCache.Result> results = new ArrayList<>();
+    try {
+      fetchParameters(context, run, workspace, listener, results);
+    } finally {
+      if (run != null) {
+        AwsParameterStoreBuildAction.forRun(run).add(System.currentTimeMillis() - start, results);
+      }
+    }
+  }
+
+  /**
+   * Fetches the parameters of this wrapper and its sources concurrently and
+   * adds them to <code>context</code>, collecting the fetch results in
+   * <code>results</code>.
+   */
+  private void fetchParameters(Context context, Run<?, ?> run, FilePath workspace, TaskListener listener,
+      List<AwsParameterStoreAgentCache.Result> results) throws IOException, InterruptedException {
+    final Job<?, ?> job = run == null ? null : run.getParent();
+    final AwsParameterStoreRunSnapshot runSnapshot = run == null || run instanceof AbstractBuild
+        || !AwsParameterStoreRunSnapshot.ENABLED ? null : AwsParameterStoreRunSnapshot.forRun(run);
+    final FilePath agentCacheDirectory = getAgentCacheDirectory(workspace);
+    final long deadlineAt = deadline == null ? 0 : System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(deadline);
+    AwsParameterStoreService awsParameterStoreService = createService(credentialsId, regionName, job);
+    awsParameterStoreService.setDeadline(deadlineAt, deadlinePolicy);
+    List<AwsParameterStoreService> sourceServices = new ArrayList<>();
+    List<Future<AwsParameterStoreAgentCache.Result>> sourceFetches = new ArrayList<>();
+    for (final AwsParameterStoreSource source : getSources()) {
+      final AwsParameterStoreService sourceService = createService(source.getCredentialsId(),
+          source.getRegionName(), job);
+      sourceService.setEnvPrefix(source.getEnvPrefix());
+      sourceService.setDeadline(deadlineAt, deadlinePolicy);
+      sourceServices.add(sourceService);
+      sourceFetches.add(AwsParameterStoreClients.getInstance().getFetchExecutor()
+          .submit(new Callable<AwsParameterStoreAgentCache.Result>() {
+            @Override
+            public AwsParameterStoreAgentCache.Result call() throws IOException, InterruptedException {
+              return fetch(job, runSnapshot, sourceService, agentCacheDirectory, source.getCredentialsId(),
+                  source.getRegionName(), source.getPath(), source.getRecursive(), source.getNamePrefixes(),
+                  source.getOption());
+            }
+          }));
+    }
+
     LOGGER.fine("Fetching Parameters");
-    List<Parameter> params = awsParameterStoreService.fetchParameters(path, recursive, namePrefixes, option);
+    AwsParameterStoreAgentCache.Result result;
+    try {
+      result = fetch(job, runSnapshot, awsParameterStoreService, agentCacheDirectory, credentialsId, regionName,
+          path, recursive, namePrefixes, option);
+    } catch (AwsParameterStoreUnavailableException e) {
+      cancel(sourceFetches);
+      throw new AbortException(e.getMessage());
+    } catch (IOException | InterruptedException e) {
+      cancel(sourceFetches);
+      throw e;
+    }
+    results.add(result);
+    LOGGER.fine(String.format("Fetched Parameters. Retrieved %d", result.getParameters().size()));
+    addParameters(context, run, listener, awsParameterStoreService, path, result);
+
+    for (int i = 0; i < sourceFetches.size(); i++) {
+      AwsParameterStoreSource source = getSources().get(i);
+      AwsParameterStoreAgentCache.Result sourceResult;
+      try {
+        sourceResult = sourceFetches.get(i).get();
+      } catch (InterruptedException e) {
+        cancel(sourceFetches);
+        throw e;
+      } catch (ExecutionException e) {
+        cancel(sourceFetches);
+        throw new AbortException(e.getCause().getMessage());
+      }
+      results.add(sourceResult);
+      LOGGER.fine(String.format("Fetched Parameters from source %d. Retrieved %d", i + 1,
+          sourceResult.getParameters().size()));
+      addParameters(context, run, listener, sourceServices.get(i), source.getPath(), sourceResult);
+    }
+  }
+
+  /**
+   * Gets the snapshot directory on the agent running the build if
+   * {@link #agentCache} is set and the build does not run on the controller.
+   */
+  private FilePath getAgentCacheDirectory(FilePath workspace) {
+    if (!Boolean.TRUE.equals(agentCache) || workspace == null || !workspace.isRemote()) {
+      return null;
+    }
+    Computer computer = workspace.toComputer();
+    Node node = computer == null ? null : computer.getNode();
+    FilePath rootPath = node == null ? null : node.getRootPath();
+    return rootPath == null ? null : rootPath.child(AwsParameterStoreAgentCache.DIRECTORY);
+  }
+
+  /**
+   * Fetches parameters from the snapshot of a pipeline run if
+   * <code>runSnapshot</code> is set, fetching and adding them to it if they
+   * are not there yet.
+   */
+  private AwsParameterStoreAgentCache.Result fetch(final Job<?, ?> job, AwsParameterStoreRunSnapshot runSnapshot,
+      final AwsParameterStoreService awsParameterStoreService, final FilePath agentCacheDirectory,
+      final String credentialsId, final String regionName, final String path, final Boolean recursive,
+      final String namePrefixes, final String option) throws IOException, InterruptedException {
+    if (runSnapshot == null) {
+      return fetch(job, awsParameterStoreService, agentCacheDirectory, credentialsId, regionName, path, recursive,
+          namePrefixes, option);
+    }
+    String key = AwsParameterStoreRunSnapshot.toKey(awsParameterStoreService.toFetchKey(path, recursive,
+        namePrefixes, option), decryption, decryptNames, parameterFilters);
+    return runSnapshot.fetch(key, new Callable<AwsParameterStoreAgentCache.Result>() {
+      @Override
+      public AwsParameterStoreAgentCache.Result call() throws IOException, InterruptedException {
+        return fetch(job, awsParameterStoreService, agentCacheDirectory, credentialsId, regionName, path, recursive,
+            namePrefixes, option);
+      }
+    });
+  }
+
+  /**
+   * Fetches parameters on the agent if <code>agentCacheDirectory</code> is set
+   * and the default credentials are used, and on the controller otherwise.
+   * The duration is recorded in the {@link AwsParameterStoreStatistics}.
+   */
+  private AwsParameterStoreAgentCache.Result fetch(Job<?, ?> job, AwsParameterStoreService awsParameterStoreService,
+      FilePath agentCacheDirectory, String credentialsId, String regionName, String path, Boolean recursive,
+      String namePrefixes, String option) throws IOException, InterruptedException {
+    long start = System.currentTimeMillis();
+    try {
+      if (agentCacheDirectory != null && credentialsId == null) {
+        final long deadlineAt = awsParameterStoreService.getDeadline();
+        final Computer computer = agentCacheDirectory.toComputer();
+        return agentCacheDirectory.act(new AwsParameterStoreAgentCache.FetchCallable(
+            computer == null ? "" : computer.getName(), regionName, decryption, decryptNames, parameterFilters,
+            Boolean.TRUE.equals(staleIfUnavailable), path, recursive, namePrefixes, option,
+            deadlineAt == 0 ? 0 : Math.max(1, deadlineAt - System.currentTimeMillis()), deadlinePolicy));
+      }
+      List<Parameter> params = awsParameterStoreService.fetchParameters(path, recursive, namePrefixes, option);
+      return new AwsParameterStoreAgentCache.Result(params, awsParameterStoreService.getStaleFetchedAt(),
+          awsParameterStoreService.getThrottleWaitMillis(), awsParameterStoreService.getMetrics(),
+          awsParameterStoreService.isFetchComplete(), awsParameterStoreService.isDeadlineExceeded());
+    } finally {
+      String fetch = AwsParameterStoreCache.toScope(credentialsId, StringUtils.defaultString(regionName,
+          AwsParameterStoreService.DEFAULT_REGION)) + " "
+          + (StringUtils.isEmpty(path) ? StringUtils.defaultString(namePrefixes, "*")
+              : path + (Boolean.TRUE.equals(recursive) ? " (recursive)" : ""));
+      AwsParameterStoreStatistics.getInstance().recordFetch(job == null ? "" : job.getFullName(), fetch,
+          System.currentTimeMillis() - start);
+    }
+  }
+
+  private void addParameters(Context context, Run<?, ?> run, TaskListener listener,
+      AwsParameterStoreService awsParameterStoreService, String path, AwsParameterStoreAgentCache.Result result) {
+    if (result.isDeadlineExceeded() && result.getStaleFetchedAt() > 0) {
+      listener.getLogger().println(String.format(
+          "WARNING: AWS Parameter Store deadline exceeded, using STALE parameters last fetched at %tc",
+          new Date(result.getStaleFetchedAt())));
+    } else if (result.isDeadlineExceeded()) {
+      listener.getLogger().println(String.format(
+          "WARNING: AWS Parameter Store deadline exceeded, using the %d parameters fetched so far",
+          result.getParameters().size()));
+    } else if (result.getStaleFetchedAt() > 0) {
+      listener.getLogger().println(String.format(
+          "WARNING: AWS Parameter Store is unavailable, using STALE parameters last fetched at %tc",
+          new Date(result.getStaleFetchedAt())));
+    }
+    List<Parameter> params = result.getParameters();
     if (hideSecureStrings) {
-      addSecrets(params);
+      addSecrets(run, params);
+    }
+    long throttleWaitMillis = result.getThrottleWaitMillis();
+    if (throttleWaitMillis > 0) {
+      listener.getLogger().println(String.format("AWS Parameter Store calls were queued for %d ms",
+          throttleWaitMillis));
     }
-    LOGGER.fine(String.format("Fetched Parameters. Retrieved %d", params.size()));
     awsParameterStoreService.buildEnvVars(context, path, naming, params);
+    if (hideSecureStrings && run != null) {
+      AwsParameterStoreMaskingRegistry.forRun(run).addAll(awsParameterStoreService.getExpandedSecureStrings());
+    }
+  }
+
+  private static void cancel(List<? extends Future<?>> fetches) {
+    for (Future<?> fetch : fetches) {
+      fetch.cancel(true);
+    }
   }
 
   @Override
   public ConsoleLogFilter createLoggerDecorator(Run<?, ?> build) {
-    return new FilterImpl(getSecrets());
+    return new FilterImpl(AwsParameterStoreMaskingRegistry.toKey(build),
+        AwsParameterStoreMaskingRegistry.forRun(build).getSecrets());
   }
 
+  /**
+   * Console filter redacting the secure strings of every wrapper in the run.
+   * If the log is already decorated by a filter of the same run (nested
+   * wrappers), it is reused instead of scanning each line again.
+   */
   private static final class FilterImpl extends ConsoleLogFilter implements Serializable {
 
     private static final long serialVersionUID = 1L;
+    private final String runKey;
     private final Set<String> secrets;
 
-    FilterImpl(Set<String> secrets) {
+    FilterImpl(String runKey, Set<String> secrets) {
+      this.runKey = runKey;
       this.secrets = secrets;
     }
 
     @Override
     public OutputStream decorateLogger(AbstractBuild _ignore, OutputStream logger)
         throws IOException, InterruptedException {
-      return new AwsParameterStoreOutputStream(logger, secrets);
+      if (runKey == null) {
+        return new AwsParameterStoreOutputStream(logger, secrets);
+      }
+      AwsParameterStoreMaskingRegistry registry = AwsParameterStoreMaskingRegistry.forKey(runKey, secrets);
+      if (logger instanceof AwsParameterStoreOutputStream
+          && ((AwsParameterStoreOutputStream) logger).getRegistry() == registry) {
+        return logger;
+      }
+      return new AwsParameterStoreOutputStream(logger, registry);
     }
   }
 
@@ -325,6 +744,9 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
   @Extension
   @Symbol("withAWSParameterStore")
   public static final class DescriptorImpl extends BuildWrapperDescriptor {
+    private static final int MAX_HIERARCHIES = 1000;
+    private static final int MAX_PREVIEW = 50;
+
     @Override
     public String getDisplayName() {
       return Messages.displayName();
@@ -373,6 +795,168 @@ public class AwsParameterStoreBuildWrapper extends SimpleBuildWrapper {
       return options;
     }
 
+    /**
+     * Returns a list of decryption policies: always, selected, never.
+     *
+     * @return {@link ListBoxModel} populated with decryption policies
+     */
+    public ListBoxModel doFillDecryptionItems() {
+      final ListBoxModel options = new ListBoxModel();
+      options.add(AwsParameterStoreService.DECRYPTION_ALWAYS);
+      options.add(AwsParameterStoreService.DECRYPTION_SELECTED);
+      options.add(AwsParameterStoreService.DECRYPTION_NEVER);
+      return options;
+    }
+
+    /**
+     * Returns a list of deadline policies: fail, partial, cached.
+     *
+     * @return {@link ListBoxModel} populated with deadline policies
+     */
+    public ListBoxModel doFillDeadlinePolicyItems() {
+      final ListBoxModel options = new ListBoxModel();
+      options.add(AwsParameterStoreService.DEADLINE_FAIL);
+      options.add(AwsParameterStoreService.DEADLINE_PARTIAL);
+      options.add(AwsParameterStoreService.DEADLINE_CACHED);
+      return options;
+    }
+
+    /**
+     * Reports how many parameters the path matches, from the
+     * {@link AwsParameterStoreIndex}.
+     *
+     * @param item          job being configured
+     * @param value         path
+     * @param credentialsId aws credentials id
+     * @param regionName    aws region name
+     * @param recursive     fetch all parameters within a hierarchy
+     * @return {@link FormValidation} result
+     */
+    public FormValidation doCheckPath(@AncestorInPath Item item, @QueryParameter String value,
+        @QueryParameter String credentialsId, @QueryParameter String regionName, @QueryParameter boolean recursive) {
+      if (StringUtils.isEmpty(value)) {
+        return FormValidation.ok();
+      }
+      if (!value.startsWith("/")) {
+        return FormValidation.error("Path must start with /");
+      }
+      if (!canLookup(item, credentialsId, regionName)) {
+        return FormValidation.ok();
+      }
+      String[] names = AwsParameterStoreIndex.getInstance().getNames(StringUtils.stripToNull(credentialsId),
+          regionName);
+      if (names == null) {
+        return FormValidation.ok("Indexing parameters...");
+      }
+      int count = AwsParameterStoreIndex.match(names, value, recursive, null, null).size();
+      return count == 0 ? FormValidation.warning("No parameters match this path")
+          : FormValidation.ok(String.format("Matches %d parameters", count));
+    }
+
+    /**
+     * Suggests the hierarchies of the selected credentials and region from
+     * the {@link AwsParameterStoreIndex}.
+     *
+     * @param item          job being configured
+     * @param credentialsId aws credentials id
+     * @param regionName    aws region name
+     * @return hierarchies, empty if the caller may not look them up
+     */
+    public ComboBoxModel doFillPathItems(@AncestorInPath Item item, @QueryParameter String credentialsId,
+        @QueryParameter String regionName) {
+      ComboBoxModel hierarchies = new ComboBoxModel();
+      if (canLookup(item, credentialsId, regionName)) {
+        String[] names = AwsParameterStoreIndex.getInstance().getNames(StringUtils.stripToNull(credentialsId),
+            regionName);
+        if (names != null) {
+          hierarchies.addAll(AwsParameterStoreIndex.hierarchies(names, MAX_HIERARCHIES));
+        }
+      }
+      return hierarchies;
+    }
+
+    /**
+     * Previews the parameters this configuration fetches, from the
+     * {@link AwsParameterStoreIndex}. No values are fetched.
+     *
+     * @param item          job being configured
+     * @param credentialsId aws credentials id
+     * @param regionName    aws region name
+     * @param path          hierarchy for the parameters
+     * @param recursive     fetch all parameters within a hierarchy
+     * @param namePrefixes  comma separated name prefixes
+     * @param option        option for filter operation
+     * @return {@link FormValidation} listing the matched names
+     */
+    public FormValidation doPreview(@AncestorInPath Item item, @QueryParameter String credentialsId,
+        @QueryParameter String regionName, @QueryParameter String path, @QueryParameter boolean recursive,
+        @QueryParameter String namePrefixes, @QueryParameter String option) {
+      if (!canLookup(item, credentialsId, regionName)) {
+        return FormValidation.error("Cannot look up parameters with these credentials");
+      }
+      String[] names = AwsParameterStoreIndex.getInstance().getNames(StringUtils.stripToNull(credentialsId),
+          regionName);
+      if (names == null) {
+        return FormValidation.ok("Indexing parameters, try again in a few seconds");
+      }
+      List<String> matches = AwsParameterStoreIndex.match(names, StringUtils.stripToNull(path), recursive,
+          StringUtils.stripToNull(namePrefixes), StringUtils.defaultIfEmpty(option, DEFAULT_OPTION));
+      StringBuilder preview = new StringBuilder(String.format("%d parameters", matches.size()));
+      for (int i = 0; i < matches.size() && i < MAX_PREVIEW; i++) {
+        preview.append("<br/>").append(Util.escape(matches.get(i)));
+      }
+      if (matches.size() > MAX_PREVIEW) {
+        preview.append("<br/>...");
+      }
+      return FormValidation.okWithMarkup(preview.toString());
+    }
+
+    private static boolean canConfigure(Item item) {
+      return item == null ? Jenkins.getActiveInstance().hasPermission(Jenkins.ADMINISTER)
+          : item.hasPermission(Item.CONFIGURE);
+    }
+
+    /**
+     * Checks that the caller may look up parameter names with the given
+     * credentials and region: they must be able to configure the item, the
+     * region must exist and the credentials must be available to the item as
+     * they are when it builds. Without credentials the job would fetch with
+     * the controller's own identity, which any configurer can use.
+     */
+    static boolean canLookup(Item item, String credentialsId, String regionName) {
+      if (!canConfigure(item)) {
+        return false;
+      }
+      if (StringUtils.isNotEmpty(regionName) && RegionUtils.getRegion(regionName) == null) {
+        return false;
+      }
+      String id = StringUtils.stripToNull(credentialsId);
+      if (id == null) {
+        return true;
+      }
+      List<AmazonWebServicesCredentials> available = item == null
+          ? CredentialsProvider.lookupCredentials(AmazonWebServicesCredentials.class, Jenkins.getActiveInstance(),
+              ACL.SYSTEM, Collections.<DomainRequirement>emptyList())
+          : CredentialsProvider.lookupCredentials(AmazonWebServicesCredentials.class, item, ACL.SYSTEM,
+              Collections.<DomainRequirement>emptyList());
+      return CredentialsMatchers.firstOrNull(available, CredentialsMatchers.withId(id)) != null;
+    }
+
+    /**
+     * Validates the parameter filters.
+     *
+     * @param value parameter filters
+     * @return {@link FormValidation} result
+     */
+    public FormValidation doCheckParameterFilters(@QueryParameter String value) {
+      try {
+        AwsParameterStoreService.parseParameterFilters(value);
+        return FormValidation.ok();
+      } catch (IllegalArgumentException e) {
+        return FormValidation.error(e.getMessage());
+      }
+    }
+
     @Override
     public boolean isApplicable(AbstractProject item) {
       return true;
@@ -0,0 +1,864 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-wide cache of fetched parameters, shared by all builds.
+ * Parameters are stored as {@link CompactParameter}s whose values are wiped
+ * when evicted.
+ * <p>
+ * Results are kept per credentials and region in a {@link ParameterPathTrie},
+ * so a request for any sub-path of a previously fetched recursive hierarchy
+ * is answered without calling AWS. Fetches by name prefixes are cached by
+ * their filter. Entries expire after
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCache.ttl</code>
+ * seconds. Caching is opt-in: the default of 0 fetches from AWS for every
+ * build, as releases before the cache did.
+ * <p>
+ * Entries read more than <code>refreshAheadRate</code> times a minute are
+ * refreshed in the background once they are older than
+ * <code>refreshAheadFactor</code> of the TTL. Readers keep getting the current
+ * entry until the refreshed one replaces it, so hot paths never expire.
+ * <p>
+ * Builds that opt in also keep the last complete fetch of each key, without
+ * expiry, to fall back on while AWS Parameter Store is unavailable, and the
+ * flattened form of the latest version of each JSON parameter they expand.
+ * Expansions expire with the TTL and are wiped when an entry that may hold
+ * their parameter is evicted, invalidated or refreshed with another value.
+ * <p>
+ * This is the in-JVM {@link AwsParameterStoreCacheBackend}. If
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCache.backend</code>
+ * names a Redis server, see {@link AwsParameterStoreRedisBackend}, fetches are
+ * also stored there and entries missing here are looked up there before
+ * calling AWS, so controllers sharing the server share one warm cache.
+ *
+ * @author agent
+ */
+public class AwsParameterStoreCache implements AwsParameterStoreCacheBackend {
+    static long TTL = Long.getLong(AwsParameterStoreCache.class.getName() + ".ttl", 0);
+    static int REFRESH_AHEAD_RATE = Integer.getInteger(AwsParameterStoreCache.class.getName() + ".refreshAheadRate", 6);
+    static double REFRESH_AHEAD_FACTOR = Double.parseDouble(
+            System.getProperty(AwsParameterStoreCache.class.getName() + ".refreshAheadFactor", "0.75"));
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreCache.class.getName());
+
+    private static final AwsParameterStoreCache INSTANCE = new AwsParameterStoreCache(
+            createBackend(System.getProperty(AwsParameterStoreCache.class.getName() + ".backend")));
+
+    private final ConcurrentMap<String, ParameterPathTrie> tries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ParameterCacheEntry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Future<List<Parameter>>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ParameterCacheEntry> lastKnownGood = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, JsonExpansion> jsonExpansions = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong sharedHits = new AtomicLong();
+    private final AwsParameterStoreCacheBackend shared;
+    private volatile long lastPruned;
+    private final Set<String> pendingRefreshes = Collections
+            .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private ExecutorService refreshExecutor;
+
+    /**
+     * Creates a new {@link AwsParameterStoreCache}.
+     *
+     * @param shared backend shared with other controllers, may be null
+     */
+    AwsParameterStoreCache(AwsParameterStoreCacheBackend shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Gets the cache shared by all builds.
+     *
+     * @return the cache
+     */
+    public static AwsParameterStoreCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates the shared backend for a server URI.
+     *
+     * @param uri server, see {@link AwsParameterStoreRedisBackend#create}
+     * @return backend, or <code>null</code> if no valid server is given
+     */
+    static AwsParameterStoreCacheBackend createBackend(String uri) {
+        if (StringUtils.isEmpty(uri)) {
+            return null;
+        }
+        try {
+            return AwsParameterStoreRedisBackend.create(uri, AwsParameterStoreRedisBackend.SECRET);
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Shared cache disabled: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the scope of cache entries fetched with the given credentials and
+     * region.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return cache scope
+     */
+    static String toScope(String credentialsId, String regionName) {
+        return (credentialsId == null ? "" : credentialsId) + "@" + regionName;
+    }
+
+    /**
+     * Gets cached parameters for <code>path</code>.
+     *
+     * @param scope     cache scope
+     * @param path      hierarchy for the parameters
+     * @param recursive whether the request is recursive
+     * @return parameters, or <code>null</code> if they are not cached
+     */
+    List<Parameter> getParametersByPath(String scope, String path, boolean recursive) {
+        String[] segments = ParameterPathTrie.toSegments(path);
+        if (TTL <= 0 || segments == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        ParameterPathTrie trie = tries.get(scope);
+        long now = System.currentTimeMillis();
+        ParameterCacheEntry entry = trie == null ? null
+                : trie.find(segments, recursive, now - TimeUnit.SECONDS.toMillis(TTL));
+        if (entry == null) {
+            entry = getShared(scope + "|" + path + "|" + recursive);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            putEntry(scope, segments, entry);
+        }
+        final List<Parameter> parameters = entry.select(segments, recursive);
+        if (parameters == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hit(entry, now);
+        return parameters;
+    }
+
+    /**
+     * Caches the parameters fetched for <code>path</code>.
+     *
+     * @param scope      cache scope
+     * @param path       hierarchy for the parameters
+     * @param recursive  whether the fetch was recursive
+     * @param parameters fetched parameters
+     * @param refresher  repeats the fetch and caches the result, may be null
+     */
+    void putParametersByPath(String scope, String path, boolean recursive, List<Parameter> parameters,
+            Runnable refresher) {
+        String[] segments = ParameterPathTrie.toSegments(path);
+        if (TTL <= 0 || segments == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        putEntry(scope, segments, new ParameterCacheEntry(parameters, recursive, now, refresher));
+        removeJsonExpansions(scope + "|" + path + "|" + recursive, parameters);
+        if (shared != null) {
+            shared.put(scope + "|" + path + "|" + recursive, parameters, now);
+        }
+    }
+
+    private void putEntry(String scope, String[] segments, ParameterCacheEntry entry) {
+        ParameterPathTrie trie = tries.get(scope);
+        if (trie == null) {
+            trie = new ParameterPathTrie();
+            ParameterPathTrie existing = tries.putIfAbsent(scope, trie);
+            if (existing != null) {
+                trie = existing;
+            }
+        }
+        trie.put(segments, entry);
+        prune(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets cached parameters fetched by name prefixes.
+     *
+     * @param key fetch key including the cache scope
+     * @return parameters, or <code>null</code> if they are not cached
+     */
+    List<Parameter> getParameters(String key) {
+        ParameterCacheEntry entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (TTL <= 0) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry == null || entry.getFetchedAt() < now - TimeUnit.SECONDS.toMillis(TTL)) {
+            entry = getShared(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            putEntry(key, entry);
+        }
+        final List<Parameter> parameters = entry.getParameters();
+        if (parameters == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hit(entry, now);
+        return parameters;
+    }
+
+    /**
+     * Caches parameters fetched by name prefixes.
+     *
+     * @param key        fetch key including the cache scope
+     * @param parameters fetched parameters
+     * @param refresher  repeats the fetch and caches the result, may be null
+     */
+    void putParameters(String key, List<Parameter> parameters, Runnable refresher) {
+        if (TTL <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        putEntry(key, new ParameterCacheEntry(parameters, false, now, refresher));
+        removeJsonExpansions(key, parameters);
+        if (shared != null) {
+            shared.put(key, parameters, now);
+        }
+    }
+
+    private void putEntry(String key, ParameterCacheEntry entry) {
+        ParameterCacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            previous.wipe();
+        }
+        prune(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets an entry from the shared backend.
+     */
+    private ParameterCacheEntry getShared(String key) {
+        final ParameterCacheEntry entry = shared == null ? null : shared.get(key);
+        if (entry != null) {
+            sharedHits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the entry stored for a fetch key, without looking at the shared
+     * backend. A path entry only answers its own path here.
+     *
+     * @param key fetch key including the cache scope
+     * @return entry, or <code>null</code> if there is none or it has expired
+     */
+    @Override
+    public ParameterCacheEntry get(String key) {
+        final String[] path = toPathKey(key);
+        final ParameterCacheEntry entry;
+        if (path == null) {
+            entry = entries.get(key);
+        } else {
+            final ParameterPathTrie trie = tries.get(path[0]);
+            entry = trie == null ? null : trie.getEntry(ParameterPathTrie.toSegments(path[1]),
+                    Boolean.parseBoolean(path[2]));
+        }
+        if (TTL <= 0 || entry == null
+                || entry.getFetchedAt() < System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(TTL)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores parameters for a fetch key, without a refresher and without
+     * storing them in the shared backend.
+     *
+     * @param key        fetch key including the cache scope
+     * @param parameters fetched parameters
+     * @param fetchedAt  time of the fetch
+     */
+    @Override
+    public void put(String key, List<Parameter> parameters, long fetchedAt) {
+        if (TTL <= 0) {
+            return;
+        }
+        final String[] path = toPathKey(key);
+        if (path == null) {
+            putEntry(key, new ParameterCacheEntry(parameters, false, fetchedAt, null));
+        } else {
+            final boolean recursive = Boolean.parseBoolean(path[2]);
+            putEntry(path[0], ParameterPathTrie.toSegments(path[1]),
+                    new ParameterCacheEntry(parameters, recursive, fetchedAt, null));
+        }
+    }
+
+    /**
+     * Gets the region of a cache scope or fetch key.
+     *
+     * @param scope cache scope or fetch key
+     * @return AWS region name
+     */
+    static String toRegion(String scope) {
+        final int end = scope.indexOf('|');
+        final String base = end < 0 ? scope : scope.substring(0, end);
+        return base.substring(base.lastIndexOf('@') + 1);
+    }
+
+    /**
+     * Drops the entries of all credentials in <code>regionName</code> that may
+     * contain the parameter <code>name</code>, because it was created, changed
+     * or deleted. Dropped entries that know how to refresh themselves are
+     * fetched again in the background.
+     *
+     * @param regionName AWS region name
+     * @param name       parameter name
+     * @return number of dropped entries
+     */
+    @Override
+    public int invalidate(String regionName, String name) {
+        final int sharedRemoved = shared == null ? 0 : shared.invalidate(regionName, name);
+        final Map<String, ParameterCacheEntry> removed = new LinkedHashMap<>();
+        final String[] segments = ParameterPathTrie.toSegments(name);
+        if (segments != null) {
+            for (Map.Entry<String, ParameterPathTrie> trie : tries.entrySet()) {
+                if (regionName.equals(toRegion(trie.getKey()))) {
+                    for (Map.Entry<String, ParameterCacheEntry> entry : trie.getValue().invalidate(segments)
+                            .entrySet()) {
+                        removed.put(trie.getKey() + "|" + entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+        for (Iterator<Map.Entry<String, ParameterCacheEntry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<String, ParameterCacheEntry> entry = it.next();
+            if (regionName.equals(toRegion(entry.getKey())) && matchesFetchKey(entry.getKey(), name)) {
+                it.remove();
+                removed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Iterator<Map.Entry<String, JsonExpansion>> it = jsonExpansions.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<String, JsonExpansion> expansion = it.next();
+            if (regionName.equals(toRegion(expansion.getKey())) && expansion.getKey().endsWith("|" + name)) {
+                it.remove();
+                expansion.getValue().wipe();
+            }
+        }
+        for (Map.Entry<String, ParameterCacheEntry> entry : removed.entrySet()) {
+            final Runnable refresher = entry.getValue().getRefresher();
+            entry.getValue().wipe();
+            if (refresher != null) {
+                refreshInvalidated(entry.getKey(), refresher);
+            }
+        }
+        return removed.size() + sharedRemoved;
+    }
+
+    /**
+     * Refreshes an invalidated entry in the background unless a refresh of
+     * its key is already queued. A burst of changes to a hierarchy thus
+     * causes one refresh, plus one more if changes arrive while it runs.
+     */
+    private void refreshInvalidated(final String key, final Runnable refresher) {
+        if (!pendingRefreshes.add(key)) {
+            return;
+        }
+        getRefreshExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                pendingRefreshes.remove(key);
+                try {
+                    refresher.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Cannot refresh parameters: " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks whether a fetch, keyed <code>scope|path|recursive</code> or
+     * <code>scope|option|prefixes</code>, may return <code>name</code>.
+     *
+     * @param key  fetch key including the cache scope
+     * @param name parameter name
+     * @return <code>true</code> if the fetch may return the parameter
+     */
+    static boolean mayContain(String key, String name) {
+        final String[] path = toPathKey(key);
+        if (path == null) {
+            return matchesFetchKey(key, name);
+        }
+        final String prefix = path[1].endsWith("/") ? path[1] : path[1] + "/";
+        return name.startsWith(prefix) && (Boolean.parseBoolean(path[2]) || name.indexOf('/', prefix.length()) < 0);
+    }
+
+    /**
+     * Checks whether a fetch by name prefixes, keyed
+     * <code>scope|option|prefixes</code>, may return <code>name</code>.
+     */
+    private static boolean matchesFetchKey(String key, String name) {
+        final int prefixesStart = key.lastIndexOf('|');
+        final int optionStart = key.lastIndexOf('|', prefixesStart - 1);
+        if (optionStart < 0) {
+            return true;
+        }
+        final String option = key.substring(optionStart + 1, prefixesStart);
+        final String prefixes = key.substring(prefixesStart + 1);
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : prefixes.split(",")) {
+            if ("Equals".equals(option) ? name.equals(prefix) : name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the last complete fetch for <code>key</code>, however old.
+     *
+     * @param key fetch key including the cache scope
+     * @return entry, or <code>null</code> if there is none
+     */
+    ParameterCacheEntry getLastKnownGood(String key) {
+        return lastKnownGood.get(key);
+    }
+
+    /**
+     * Keeps a complete fetch as the last known good parameters for
+     * <code>key</code>.
+     *
+     * @param key        fetch key including the cache scope
+     * @param parameters fetched parameters
+     */
+    void putLastKnownGood(String key, List<Parameter> parameters) {
+        ParameterCacheEntry previous = lastKnownGood.put(key,
+                new ParameterCacheEntry(parameters, false, System.currentTimeMillis(), null));
+        if (previous != null) {
+            previous.wipe();
+        }
+    }
+
+    /**
+     * Gets the expansion of the latest JSON value seen for a parameter.
+     *
+     * @param key cache scope and parameter name
+     * @return expansion, or <code>null</code> if there is none
+     */
+    JsonExpansion getJsonExpansion(String key) {
+        return jsonExpansions.get(key);
+    }
+
+    /**
+     * Keeps the expansion of a JSON value, replacing the expansion of any
+     * earlier version of the parameter.
+     *
+     * @param key       cache scope and parameter name
+     * @param expansion expansion of the parameter value
+     */
+    void putJsonExpansion(String key, JsonExpansion expansion) {
+        if (TTL <= 0) {
+            return;
+        }
+        final JsonExpansion previous = jsonExpansions.put(key, expansion);
+        if (previous != null && previous != expansion) {
+            previous.wipe();
+        }
+    }
+
+    /**
+     * Removes and wipes the expansions of the parameters a fetch may return,
+     * unless they are still current.
+     *
+     * @param key        fetch key including the cache scope
+     * @param parameters parameters the fetch returned, or <code>null</code> to
+     *                   remove all its expansions
+     */
+    private void removeJsonExpansions(String key, List<Parameter> parameters) {
+        if (jsonExpansions.isEmpty()) {
+            return;
+        }
+        final String[] path = toPathKey(key);
+        final String scope = path == null ? toFetchScope(key) : path[0];
+        final Map<String, Parameter> current = new HashMap<>();
+        if (parameters != null) {
+            for (Parameter parameter : parameters) {
+                current.put(parameter.getName(), parameter);
+            }
+        }
+        for (Iterator<Map.Entry<String, JsonExpansion>> it = jsonExpansions.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<String, JsonExpansion> expansion = it.next();
+            final int nameStart = expansion.getKey().lastIndexOf('|');
+            final String name = expansion.getKey().substring(nameStart + 1);
+            if (!expansion.getKey().substring(0, nameStart).equals(scope) || !mayContain(key, name)) {
+                continue;
+            }
+            final Parameter parameter = current.get(name);
+            if (parameter == null || parameter.getValue() == null
+                    || !expansion.getValue().matches(parameter.getValue(), parameter.getVersion())) {
+                it.remove();
+                expansion.getValue().wipe();
+            }
+        }
+    }
+
+    /**
+     * Gets the scope of a fetch key <code>scope|option|prefixes</code>.
+     */
+    private static String toFetchScope(String key) {
+        final int prefixesStart = key.lastIndexOf('|');
+        final int optionStart = key.lastIndexOf('|', prefixesStart - 1);
+        return optionStart < 0 ? key : key.substring(0, optionStart);
+    }
+
+    /**
+     * Gets the fetch in progress for <code>key</code>.
+     *
+     * @param key fetch key including the cache scope
+     * @return future of the fetch, or <code>null</code> if there is none
+     */
+    Future<List<Parameter>> getInFlight(String key) {
+        return inFlight.get(key);
+    }
+
+    /**
+     * Registers a fetch in progress for <code>key</code>.
+     *
+     * @param key    fetch key including the cache scope
+     * @param future future of the fetch
+     * @return <code>false</code> if another fetch is already registered
+     */
+    boolean putInFlight(String key, Future<List<Parameter>> future) {
+        return inFlight.putIfAbsent(key, future) == null;
+    }
+
+    /**
+     * Unregisters a completed fetch.
+     *
+     * @param key    fetch key including the cache scope
+     * @param future future of the fetch
+     */
+    void removeInFlight(String key, Future<List<Parameter>> future) {
+        inFlight.remove(key, future);
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return hits since the controller started
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups answered from the shared backend.
+     *
+     * @return shared hits since the controller started, included in the hits
+     */
+    public long getSharedHits() {
+        return sharedHits.get();
+    }
+
+    /**
+     * Gets the shared backend.
+     *
+     * @return description of the backend, or <code>null</code> if there is none
+     */
+    public String getSharedBackend() {
+        return shared == null ? null : shared.toString();
+    }
+
+    /**
+     * Gets the number of lookups not answered from the cache.
+     *
+     * @return misses since the controller started
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Describes all cached entries, including expired entries that were not
+     * pruned yet.
+     *
+     * @return entries ordered by key
+     */
+    public List<EntryInfo> getEntryInfos() {
+        final long now = System.currentTimeMillis();
+        final List<EntryInfo> infos = new ArrayList<>();
+        for (Map.Entry<String, ParameterPathTrie> trie : tries.entrySet()) {
+            final Map<String, ParameterCacheEntry> recursiveEntries = new HashMap<>();
+            final Map<String, ParameterCacheEntry> directEntries = new HashMap<>();
+            trie.getValue().collect(recursiveEntries, directEntries);
+            for (Map.Entry<String, ParameterCacheEntry> entry : recursiveEntries.entrySet()) {
+                infos.add(new EntryInfo(trie.getKey() + "|" + entry.getKey() + "|true", entry.getValue(), now));
+            }
+            for (Map.Entry<String, ParameterCacheEntry> entry : directEntries.entrySet()) {
+                infos.add(new EntryInfo(trie.getKey() + "|" + entry.getKey() + "|false", entry.getValue(), now));
+            }
+        }
+        for (Map.Entry<String, ParameterCacheEntry> entry : entries.entrySet()) {
+            infos.add(new EntryInfo(entry.getKey(), entry.getValue(), now));
+        }
+        Collections.sort(infos, new Comparator<EntryInfo>() {
+            @Override
+            public int compare(EntryInfo a, EntryInfo b) {
+                return a.getKey().compareTo(b.getKey());
+            }
+        });
+        return infos;
+    }
+
+    /**
+     * Removes and wipes an entry, also removing it from the shared backend.
+     *
+     * @param key key of the entry, see {@link EntryInfo#getKey}
+     * @return <code>false</code> if there is no such entry
+     */
+    @Override
+    public boolean evict(String key) {
+        final boolean sharedRemoved = shared != null && shared.evict(key);
+        ParameterCacheEntry entry = entries.remove(key);
+        if (entry == null) {
+            final String[] path = toPathKey(key);
+            final ParameterPathTrie trie = path == null ? null : tries.get(path[0]);
+            entry = trie == null ? null : trie.remove(ParameterPathTrie.toSegments(path[1]),
+                    Boolean.parseBoolean(path[2]));
+        }
+        if (entry == null) {
+            return sharedRemoved;
+        }
+        entry.wipe();
+        removeJsonExpansions(key, null);
+        return true;
+    }
+
+    /**
+     * Fetches an entry again in the background. The current entry is served
+     * until it is replaced.
+     *
+     * @param key key of the entry, see {@link EntryInfo#getKey}
+     * @return <code>false</code> if there is no such entry, it cannot be
+     *         refreshed or is already being refreshed
+     */
+    public boolean refresh(String key) {
+        ParameterCacheEntry entry = entries.get(key);
+        if (entry == null) {
+            final String[] path = toPathKey(key);
+            final ParameterPathTrie trie = path == null ? null : tries.get(path[0]);
+            entry = trie == null ? null : trie.getEntry(ParameterPathTrie.toSegments(path[1]),
+                    Boolean.parseBoolean(path[2]));
+        }
+        return entry != null && refresh(entry);
+    }
+
+    /**
+     * Splits a key <code>scope|path|recursive</code> of a path entry.
+     *
+     * @return scope, path and recursive flag, or <code>null</code>
+     */
+    static String[] toPathKey(String key) {
+        final int recursiveStart = key.lastIndexOf('|');
+        final int pathStart = key.lastIndexOf('|', recursiveStart - 1);
+        if (pathStart < 0 || ParameterPathTrie.toSegments(key.substring(pathStart + 1, recursiveStart)) == null) {
+            return null;
+        }
+        return new String[] {key.substring(0, pathStart), key.substring(pathStart + 1, recursiveStart),
+                key.substring(recursiveStart + 1)};
+    }
+
+    /**
+     * Removes all parameters cached in this JVM. Entries of the shared backend
+     * are kept until they expire.
+     */
+    public void clear() {
+        for (Iterator<ParameterPathTrie> it = tries.values().iterator(); it.hasNext();) {
+            it.next().prune(Long.MAX_VALUE);
+            it.remove();
+        }
+        for (Iterator<ParameterCacheEntry> it = entries.values().iterator(); it.hasNext();) {
+            it.next().wipe();
+            it.remove();
+        }
+        for (Iterator<ParameterCacheEntry> it = lastKnownGood.values().iterator(); it.hasNext();) {
+            it.next().wipe();
+            it.remove();
+        }
+        for (Iterator<JsonExpansion> it = jsonExpansions.values().iterator(); it.hasNext();) {
+            it.next().wipe();
+            it.remove();
+        }
+    }
+
+    private void prune(long now) {
+        long ttl = TimeUnit.SECONDS.toMillis(TTL);
+        if (now - lastPruned < ttl) {
+            return;
+        }
+        lastPruned = now;
+        for (Iterator<ParameterPathTrie> it = tries.values().iterator(); it.hasNext();) {
+            if (it.next().prune(now - ttl)) {
+                it.remove();
+            }
+        }
+        for (Iterator<ParameterCacheEntry> it = entries.values().iterator(); it.hasNext();) {
+            ParameterCacheEntry entry = it.next();
+            if (entry.getFetchedAt() < now - ttl) {
+                it.remove();
+                entry.wipe();
+            }
+        }
+        for (Iterator<JsonExpansion> it = jsonExpansions.values().iterator(); it.hasNext();) {
+            JsonExpansion expansion = it.next();
+            if (expansion.getParsedAt() < now - ttl) {
+                it.remove();
+                expansion.wipe();
+            }
+        }
+    }
+
+    /**
+     * Records a hit and refreshes the entry in the background if it is hot and
+     * close to expiry.
+     */
+    private void hit(final ParameterCacheEntry entry, long now) {
+        hits.incrementAndGet();
+        double rate = entry.hit(now);
+        if (REFRESH_AHEAD_RATE <= 0 || rate < REFRESH_AHEAD_RATE
+                || now - entry.getFetchedAt() < TimeUnit.SECONDS.toMillis(TTL) * REFRESH_AHEAD_FACTOR) {
+            return;
+        }
+        refresh(entry);
+    }
+
+    /**
+     * Refreshes an entry in the background unless it cannot be refreshed or
+     * is already being refreshed.
+     */
+    private boolean refresh(final ParameterCacheEntry entry) {
+        if (entry.getRefresher() == null || !entry.startRefresh()) {
+            return false;
+        }
+        getRefreshExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    entry.getRefresher().run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Cannot refresh parameters: " + e.getMessage(), e);
+                } finally {
+                    entry.endRefresh();
+                }
+            }
+        });
+        return true;
+    }
+
+    private synchronized ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            refreshExecutor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreCache refresh", 2);
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * Description of a cache entry.
+     */
+    public static final class EntryInfo {
+        private final String key;
+        private final int size;
+        private final long fetchedAt;
+        private final long age;
+        private final double hitRate;
+
+        EntryInfo(String key, ParameterCacheEntry entry, long now) {
+            this.key = key;
+            this.size = entry.size();
+            this.fetchedAt = entry.getFetchedAt();
+            this.age = now - entry.getFetchedAt();
+            this.hitRate = entry.getHitRate(now);
+        }
+
+        /**
+         * Gets the key: <code>scope|path|recursive</code> for paths and
+         * <code>scope|option|prefixes</code> for name prefixes.
+         *
+         * @return key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+
+        /**
+         * Gets the age of the entry.
+         *
+         * @return age in milliseconds
+         */
+        public long getAge() {
+            return age;
+        }
+
+        /**
+         * Gets the hits per minute since the entry was fetched.
+         *
+         * @return hit rate
+         */
+        public double getHitRate() {
+            return hitRate;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import java.util.List;
+
+/**
+ * Store of fetched parameters behind the parameter fetch path.
+ * <p>
+ * Entries are keyed by fetch key: <code>scope|path|recursive</code> for paths
+ * and <code>scope|option|prefixes</code> for name prefixes, see
+ * {@link AwsParameterStoreService#toFetchKey}. They expire
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCache.ttl</code>
+ * seconds after they were fetched. {@link AwsParameterStoreCache} is the
+ * in-JVM implementation; {@link AwsParameterStoreRedisBackend} is shared by
+ * all controllers connected to the same Redis server. Implementations treat
+ * an unreachable store as empty rather than failing the fetch.
+ *
+ * @author agent
+ */
+interface AwsParameterStoreCacheBackend {
+    /**
+     * Gets the entry for <code>key</code> unless it has expired.
+     *
+     * @param key fetch key including the cache scope
+     * @return entry, or <code>null</code> if there is none
+     */
+    ParameterCacheEntry get(String key);
+
+    /**
+     * Stores the parameters fetched for <code>key</code>.
+     *
+     * @param key        fetch key including the cache scope
+     * @param parameters fetched parameters
+     * @param fetchedAt  time of the fetch
+     */
+    void put(String key, List<Parameter> parameters, long fetchedAt);
+
+    /**
+     * Removes the entry for <code>key</code>.
+     *
+     * @param key fetch key including the cache scope
+     * @return <code>false</code> if there is no such entry
+     */
+    boolean evict(String key);
+
+    /**
+     * Removes the entries of all credentials in <code>regionName</code> that
+     * may contain the parameter <code>name</code>.
+     *
+     * @param regionName AWS region name
+     * @param name       parameter name
+     * @return number of removed entries
+     */
+    int invalidate(String regionName, String name);
+}
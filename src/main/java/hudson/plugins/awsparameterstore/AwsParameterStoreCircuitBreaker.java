@@ -0,0 +1,188 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.http.timers.client.ClientExecutionTimeoutException;
+import com.amazonaws.retry.RetryUtils;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker per credentials and region.
+ * <p>
+ * After
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCircuitBreaker.failureThreshold</code>
+ * consecutive outage errors (default 5: server errors, timeouts and
+ * connection failures) the breaker opens and calls fail immediately for
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCircuitBreaker.openDuration</code>
+ * seconds (default 30). Afterwards a single trial call is let through; it
+ * closes the breaker if it succeeds and keeps it open for another period
+ * otherwise. Errors caused by the request itself, such as access denied, do
+ * not count, and neither does throttling, which the SDK retries and the
+ * {@link AwsParameterStoreThrottle} paces.
+ *
+ * @author agent
+ */
+public class AwsParameterStoreCircuitBreaker {
+    static int FAILURE_THRESHOLD = Integer
+            .getInteger(AwsParameterStoreCircuitBreaker.class.getName() + ".failureThreshold", 5);
+    static long OPEN_DURATION = Long.getLong(AwsParameterStoreCircuitBreaker.class.getName() + ".openDuration", 30);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreCircuitBreaker.class.getName());
+
+    private static final ConcurrentMap<String, AwsParameterStoreCircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private final String scope;
+    private int failures;
+    private long openUntil;
+
+    private AwsParameterStoreCircuitBreaker(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Gets the breaker of a scope.
+     *
+     * @param scope scope, see {@link AwsParameterStoreCache#toScope}
+     * @return the breaker
+     */
+    public static AwsParameterStoreCircuitBreaker forScope(String scope) {
+        AwsParameterStoreCircuitBreaker breaker = BREAKERS.get(scope);
+        if (breaker == null) {
+            breaker = new AwsParameterStoreCircuitBreaker(scope);
+            AwsParameterStoreCircuitBreaker existing = BREAKERS.putIfAbsent(scope, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Closes all breakers.
+     */
+    public static void resetAll() {
+        BREAKERS.clear();
+    }
+
+    /**
+     * Checks whether a call may be made. Once the open period has passed this
+     * returns <code>true</code> for a single trial call.
+     *
+     * @return <code>false</code> if the call should fail immediately
+     */
+    public synchronized boolean allowRequest() {
+        if (openUntil == 0) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (now < openUntil) {
+            return false;
+        }
+        openUntil = now + TimeUnit.SECONDS.toMillis(OPEN_DURATION);
+        return true;
+    }
+
+    /**
+     * Gets whether the breaker is open.
+     *
+     * @return <code>true</code> if calls are failing fast
+     */
+    public synchronized boolean isOpen() {
+        return openUntil != 0;
+    }
+
+    /**
+     * Records a successful call and closes the breaker.
+     */
+    public synchronized void onSuccess() {
+        AwsParameterStoreStatistics.getInstance().recordCall(scope, false);
+        close();
+    }
+
+    private void close() {
+        if (openUntil != 0) {
+            LOGGER.info("AWS Parameter Store is available again for " + scope);
+        }
+        failures = 0;
+        openUntil = 0;
+    }
+
+    /**
+     * Records a failed call. Only outage errors count towards opening the
+     * breaker; any other error proves that AWS answered. Throttled calls and
+     * calls aborted at the deadline of a wrapper count as neither.
+     *
+     * @param error cause of the failure
+     */
+    public synchronized void onFailure(Throwable error) {
+        AwsParameterStoreStatistics.getInstance().recordCall(scope, isThrottling(error));
+        if (error instanceof ClientExecutionTimeoutException || isThrottling(error)) {
+            return;
+        }
+        if (!isOutage(error)) {
+            close();
+            return;
+        }
+        failures++;
+        if (FAILURE_THRESHOLD > 0 && failures >= FAILURE_THRESHOLD) {
+            if (openUntil == 0) {
+                LOGGER.warning("AWS Parameter Store is unavailable for " + scope + ", failing fast for "
+                        + OPEN_DURATION + " seconds: " + error.getMessage());
+            }
+            openUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(OPEN_DURATION);
+        }
+    }
+
+    private static boolean isThrottling(Throwable error) {
+        return error instanceof AmazonServiceException
+                && RetryUtils.isThrottlingException((AmazonServiceException) error);
+    }
+
+    /**
+     * Checks whether an error means AWS could not be reached or failed: a
+     * server error, or a client error caused by a connection failure or a
+     * timeout. Client errors such as missing credentials do not count.
+     */
+    static boolean isOutage(Throwable error) {
+        if (error instanceof AmazonServiceException) {
+            return ((AmazonServiceException) error).getStatusCode() >= 500;
+        }
+        if (!(error instanceof AmazonClientException)) {
+            return false;
+        }
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,462 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.client.builder.ExecutorFactory;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
+import com.amazonaws.services.securitytoken.model.GetCallerIdentityRequest;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsyncClientBuilder;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementClient;
+import hudson.ProxyConfiguration;
+import jenkins.model.Jenkins;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-wide pool of AWS Simple Systems Management clients, one per
+ * credentials and region.
+ * <p>
+ * Asynchronous clients share a single executor of
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreClients.asyncThreads</code>
+ * threads (default 16). Additional sources and path shards are fetched on
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreClients.fetchThreads</code>
+ * shared threads (default 8).
+ * <p>
+ * Clients are leased: {@link #clear} only drops them from the pool, and a
+ * client is shut down once the last build using it returns its lease.
+ * <p>
+ * The AWS account of each credentials and region is looked up once with
+ * <code>GetCallerIdentity</code>. A failed lookup is retried after
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreClients.accountRetry</code>
+ * seconds (default 300).
+ *
+ * @author agent
+ */
+public class AwsParameterStoreClients {
+    static int ASYNC_THREADS = Integer.getInteger(AwsParameterStoreClients.class.getName() + ".asyncThreads", 16);
+    static int FETCH_THREADS = Integer.getInteger(AwsParameterStoreClients.class.getName() + ".fetchThreads", 8);
+    static long ACCOUNT_RETRY = Long.getLong(AwsParameterStoreClients.class.getName() + ".accountRetry", 300);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreClients.class.getName());
+
+    private static final AwsParameterStoreClients INSTANCE = new AwsParameterStoreClients();
+
+    private final Map<String, AWSSimpleSystemsManagement> clients = new HashMap<>();
+    private final Map<String, AWSSimpleSystemsManagementAsync> asyncClients = new HashMap<>();
+    private final Map<AWSSimpleSystemsManagement, PooledClient> leases = new IdentityHashMap<>();
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private ExecutorService asyncExecutor;
+    private ExecutorService fetchExecutor;
+
+    /**
+     * Gets the pool shared by all builds.
+     *
+     * @return the pool
+     */
+    public static AwsParameterStoreClients getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Leases an {@link AWSSimpleSystemsManagement}. Each lease has to be
+     * returned with {@link #release} once its calls are done.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return client shared by all users of <code>credentialsId</code> and
+     *         <code>regionName</code>
+     */
+    public AWSSimpleSystemsManagement acquireClient(String credentialsId, String regionName) {
+        String key = AwsParameterStoreCache.toScope(credentialsId, regionName);
+        AWSSimpleSystemsManagement client = lease(clients, key);
+        if (client == null) {
+            AWSCredentialsProvider credentials = AwsParameterStoreCredentialsCache.getInstance()
+                    .getCredentialsProvider(credentialsId);
+            if (credentials == null) {
+                client = AWSSimpleSystemsManagementClient.builder().withClientConfiguration(getClientConfiguration())
+                        .withRegion(regionName).build();
+            } else {
+                client = AWSSimpleSystemsManagementClient.builder().withCredentials(credentials)
+                        .withClientConfiguration(getClientConfiguration()).withRegion(regionName).build();
+            }
+            client = pool(clients, key, client);
+        }
+        return client;
+    }
+
+    /**
+     * Leases an {@link AWSSimpleSystemsManagementAsync}. Each lease has to be
+     * returned with {@link #release} once its calls are done.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return asynchronous client shared by all users of
+     *         <code>credentialsId</code> and <code>regionName</code>
+     */
+    public AWSSimpleSystemsManagementAsync acquireAsyncClient(String credentialsId, String regionName) {
+        String key = AwsParameterStoreCache.toScope(credentialsId, regionName);
+        AWSSimpleSystemsManagementAsync client = lease(asyncClients, key);
+        if (client == null) {
+            AWSCredentialsProvider credentials = AwsParameterStoreCredentialsCache.getInstance()
+                    .getCredentialsProvider(credentialsId);
+            AWSSimpleSystemsManagementAsyncClientBuilder builder = AWSSimpleSystemsManagementAsyncClientBuilder
+                    .standard().withClientConfiguration(getClientConfiguration()).withRegion(regionName)
+                    .withExecutorFactory(new ExecutorFactory() {
+                        @Override
+                        public ExecutorService newExecutor() {
+                            return new SharedExecutor(getAsyncExecutor());
+                        }
+                    });
+            if (credentials != null) {
+                builder = builder.withCredentials(credentials);
+            }
+            client = pool(asyncClients, key, builder.build());
+        }
+        return client;
+    }
+
+    /**
+     * Returns a lease taken with {@link #acquireClient} or
+     * {@link #acquireAsyncClient}. A client dropped by {@link #clear} is shut
+     * down when its last lease is returned.
+     *
+     * @param client leased client, may be <code>null</code>
+     */
+    public void release(AWSSimpleSystemsManagement client) {
+        if (client == null) {
+            return;
+        }
+        synchronized (this) {
+            PooledClient pooled = leases.get(client);
+            if (pooled == null || --pooled.users > 0 || !pooled.retired) {
+                return;
+            }
+            leases.remove(client);
+        }
+        client.shutdown();
+    }
+
+    /**
+     * Gets the AWS account of <code>credentialsId</code>, looking it up with
+     * <code>GetCallerIdentity</code> on first use.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return account identifier, or <code>null</code> if it cannot be looked
+     *         up
+     */
+    public String getAccountId(String credentialsId, String regionName) {
+        final String key = AwsParameterStoreCache.toScope(credentialsId, regionName);
+        final long now = System.currentTimeMillis();
+        Account account = accounts.get(key);
+        if (account == null || (account.id == null
+                && now - account.resolvedAt >= TimeUnit.SECONDS.toMillis(ACCOUNT_RETRY))) {
+            account = new Account(lookupAccountId(credentialsId, regionName), now);
+            accounts.put(key, account);
+        }
+        return account.id;
+    }
+
+    /**
+     * Gets the account a scope was resolved to by {@link #getAccountId},
+     * without looking it up.
+     *
+     * @param scope scope, see {@link AwsParameterStoreCache#toScope}
+     * @return account identifier, or <code>null</code> if it is not known
+     */
+    public String getKnownAccountId(String scope) {
+        final Account account = accounts.get(scope);
+        return account == null ? null : account.id;
+    }
+
+    private String lookupAccountId(String credentialsId, String regionName) {
+        AWSSecurityTokenService sts = null;
+        try {
+            AWSCredentialsProvider credentials = AwsParameterStoreCredentialsCache.getInstance()
+                    .getCredentialsProvider(credentialsId);
+            AWSSecurityTokenServiceClientBuilder builder = AWSSecurityTokenServiceClientBuilder.standard()
+                    .withClientConfiguration(getClientConfiguration()).withRegion(regionName);
+            if (credentials != null) {
+                builder = builder.withCredentials(credentials);
+            }
+            sts = builder.build();
+            return sts.getCallerIdentity(new GetCallerIdentityRequest()).getAccount();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot look up the AWS account of " + credentialsId + " in " + regionName, e);
+            return null;
+        } finally {
+            if (sts != null) {
+                sts.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Records the account of a credentials and region, for tests.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @param accountId     account identifier, or <code>null</code> for a
+     *                      failed lookup
+     */
+    void putAccountId(String credentialsId, String regionName, String accountId) {
+        accounts.put(AwsParameterStoreCache.toScope(credentialsId, regionName),
+                new Account(accountId, System.currentTimeMillis()));
+    }
+
+    /**
+     * Pools a client built elsewhere, for tests.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @param client        client to use for <code>credentialsId</code> and
+     *                      <code>regionName</code>
+     */
+    synchronized void putClient(String credentialsId, String regionName, AWSSimpleSystemsManagement client) {
+        put(clients, AwsParameterStoreCache.toScope(credentialsId, regionName), client);
+    }
+
+    /**
+     * Pools an asynchronous client built elsewhere, for tests.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @param client        client to use for <code>credentialsId</code> and
+     *                      <code>regionName</code>
+     */
+    synchronized void putAsyncClient(String credentialsId, String regionName,
+            AWSSimpleSystemsManagementAsync client) {
+        put(asyncClients, AwsParameterStoreCache.toScope(credentialsId, regionName), client);
+    }
+
+    /**
+     * Gets the scopes with a pooled synchronous client.
+     *
+     * @return scopes, see {@link AwsParameterStoreCache#toScope}
+     */
+    public synchronized Set<String> getClientScopes() {
+        return new TreeSet<>(clients.keySet());
+    }
+
+    /**
+     * Gets the scopes with a pooled asynchronous client.
+     *
+     * @return scopes, see {@link AwsParameterStoreCache#toScope}
+     */
+    public synchronized Set<String> getAsyncClientScopes() {
+        return new TreeSet<>(asyncClients.keySet());
+    }
+
+    /**
+     * Drops all pooled clients so that they are rebuilt with current
+     * credentials and proxy settings, and forgets the accounts looked up.
+     * Clients without leases are shut down to release their connections;
+     * leased clients keep serving the calls in flight and are shut down when
+     * their last lease is returned.
+     */
+    public void clear() {
+        accounts.clear();
+        final List<AWSSimpleSystemsManagement> idle = new ArrayList<>();
+        synchronized (this) {
+            retire(clients, idle);
+            retire(asyncClients, idle);
+        }
+        for (AWSSimpleSystemsManagement client : idle) {
+            client.shutdown();
+        }
+    }
+
+    private synchronized <T extends AWSSimpleSystemsManagement> T lease(Map<String, T> pool, String key) {
+        T client = pool.get(key);
+        if (client != null) {
+            leases.get(client).users++;
+        }
+        return client;
+    }
+
+    /**
+     * Pools and leases a newly built client, unless another thread pooled one
+     * for the same key meanwhile.
+     */
+    private <T extends AWSSimpleSystemsManagement> T pool(Map<String, T> pool, String key, T client) {
+        T existing;
+        synchronized (this) {
+            existing = lease(pool, key);
+            if (existing == null) {
+                put(pool, key, client).users++;
+                return client;
+            }
+        }
+        client.shutdown();
+        return existing;
+    }
+
+    private <T extends AWSSimpleSystemsManagement> PooledClient put(Map<String, T> pool, String key, T client) {
+        T previous = pool.put(key, client);
+        if (previous != null && previous != client) {
+            final List<AWSSimpleSystemsManagement> idle = new ArrayList<>();
+            retire(previous, idle);
+            for (AWSSimpleSystemsManagement replaced : idle) {
+                replaced.shutdown();
+            }
+        }
+        PooledClient pooled = new PooledClient();
+        leases.put(client, pooled);
+        return pooled;
+    }
+
+    private void retire(Map<String, ? extends AWSSimpleSystemsManagement> pool,
+            List<AWSSimpleSystemsManagement> idle) {
+        for (AWSSimpleSystemsManagement client : pool.values()) {
+            retire(client, idle);
+        }
+        pool.clear();
+    }
+
+    private void retire(AWSSimpleSystemsManagement client, List<AWSSimpleSystemsManagement> idle) {
+        PooledClient pooled = leases.get(client);
+        pooled.retired = true;
+        if (pooled.users == 0) {
+            leases.remove(client);
+            idle.add(client);
+        }
+    }
+
+    private ClientConfiguration getClientConfiguration() {
+        ClientConfiguration clientConfiguration = new ClientConfiguration();
+        Jenkins jenkins = Jenkins.getInstance();
+        if (jenkins != null) {
+            ProxyConfiguration proxy = jenkins.proxy;
+            if (proxy != null) {
+                clientConfiguration.setProxyHost(proxy.name);
+                clientConfiguration.setProxyPort(proxy.port);
+                clientConfiguration.setProxyUsername(proxy.getUserName());
+                clientConfiguration.setProxyPassword(proxy.getPassword());
+            }
+        }
+        return clientConfiguration;
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreClients async", ASYNC_THREADS);
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Gets the executor fetching sources and path shards concurrently.
+     *
+     * @return shared executor
+     */
+    synchronized ExecutorService getFetchExecutor() {
+        if (fetchExecutor == null) {
+            fetchExecutor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreClients fetch", FETCH_THREADS);
+        }
+        return fetchExecutor;
+    }
+
+    /**
+     * Lease count of a client, which is shut down once it has been dropped
+     * from the pool and its last lease is returned.
+     */
+    private static final class PooledClient {
+        private int users;
+        private boolean retired;
+    }
+
+    /**
+     * Result of an account lookup.
+     */
+    private static final class Account {
+        private final String id;
+        private final long resolvedAt;
+
+        private Account(String id, long resolvedAt) {
+            this.id = id;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    /**
+     * View of the shared asynchronous executor handed to each asynchronous
+     * client, which shuts its executor down with it. Shutting down the view
+     * leaves the shared executor running for the other clients.
+     */
+    private static final class SharedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        private SharedExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
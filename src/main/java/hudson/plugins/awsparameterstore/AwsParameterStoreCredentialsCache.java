@@ -0,0 +1,270 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSSessionCredentials;
+import com.cloudbees.jenkins.plugins.awscredentials.AWSCredentialsHelper;
+import com.cloudbees.jenkins.plugins.awscredentials.AmazonWebServicesCredentials;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import jenkins.model.Jenkins;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-wide cache of resolved AWS credentials.
+ * <p>
+ * Looking up a Jenkins credential and, for credentials with an IAM role,
+ * assuming that role costs a round-trip per build. The cache keeps the
+ * resolved credential per <code>credentialsId</code> and reuses session
+ * credentials until shortly before they expire. The expiration is read from
+ * the session credentials when they carry one; otherwise the session is
+ * taken to last for
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreCredentialsCache.sessionDuration</code>
+ * seconds (default 3000) from when it was requested, and never longer than
+ * the one hour role session of the AWS credentials plugin. Sessions are
+ * renewed in the background once 80% of their lifetime has passed. All
+ * entries are dropped when the global credentials are saved.
+ *
+ * @author agent
+ */
+public class AwsParameterStoreCredentialsCache {
+    static long SESSION_DURATION = Long
+            .getLong(AwsParameterStoreCredentialsCache.class.getName() + ".sessionDuration", 3000);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreCredentialsCache.class.getName());
+    private static final double REFRESH_FACTOR = 0.8;
+    private static final long ROLE_SESSION_DURATION = TimeUnit.HOURS.toMillis(1);
+    private static final long EXPIRY_MARGIN = TimeUnit.MINUTES.toMillis(1);
+
+    private static final AwsParameterStoreCredentialsCache INSTANCE = new AwsParameterStoreCredentialsCache();
+
+    private final ConcurrentMap<String, CachedCredentialsProvider> providers = new ConcurrentHashMap<>();
+    private ExecutorService refreshExecutor;
+
+    /**
+     * Gets the cache shared by all builds.
+     *
+     * @return the cache
+     */
+    public static AwsParameterStoreCredentialsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a caching credentials provider for <code>credentialsId</code>.
+     * Unknown identifiers are not cached, so credentials added later are found.
+     *
+     * @param credentialsId Jenkins credentials identifier
+     * @return provider, or <code>null</code> if there are no such credentials and
+     *         the default provider chain should be used
+     */
+    public AWSCredentialsProvider getCredentialsProvider(String credentialsId) {
+        if (credentialsId == null) {
+            return null;
+        }
+        CachedCredentialsProvider provider = providers.get(credentialsId);
+        if (provider == null) {
+            AmazonWebServicesCredentials credentials = AWSCredentialsHelper.getCredentials(credentialsId,
+                    Jenkins.getActiveInstance());
+            if (credentials == null) {
+                return null;
+            }
+            provider = new CachedCredentialsProvider(credentials);
+            CachedCredentialsProvider existing = providers.putIfAbsent(credentialsId, provider);
+            if (existing != null) {
+                provider = existing;
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Drops all cached credentials.
+     */
+    public void invalidateAll() {
+        providers.clear();
+        AwsParameterStoreClients.getInstance().clear();
+    }
+
+    private synchronized ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            refreshExecutor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreCredentialsCache refresh", 1);
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * Gets when credentials requested at <code>requestedAt</code> expire.
+     *
+     * @param credentials resolved credentials
+     * @param requestedAt time the credentials were requested
+     * @return expiration time, or {@link Long#MAX_VALUE} if they do not expire
+     */
+    static long getExpiration(AWSCredentials credentials, long requestedAt) {
+        if (!(credentials instanceof AWSSessionCredentials)) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            Object expiration = credentials.getClass().getMethod("getExpiration").invoke(credentials);
+            if (expiration instanceof Date) {
+                return ((Date) expiration).getTime();
+            }
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.FINEST, "Session credentials without expiration", e);
+        }
+        return requestedAt + Math.min(TimeUnit.SECONDS.toMillis(SESSION_DURATION), ROLE_SESSION_DURATION);
+    }
+
+    /**
+     * Resolved credentials with the times to renew them.
+     */
+    private static final class Session {
+        private final AWSCredentials credentials;
+        private final long refreshAt;
+        private final long expiresAt;
+
+        private Session(AWSCredentials credentials, long requestedAt) {
+            this.credentials = credentials;
+            long expiration = getExpiration(credentials, requestedAt);
+            if (expiration == Long.MAX_VALUE) {
+                this.refreshAt = Long.MAX_VALUE;
+                this.expiresAt = Long.MAX_VALUE;
+            } else {
+                this.refreshAt = requestedAt + (long) ((expiration - requestedAt) * REFRESH_FACTOR);
+                this.expiresAt = Math.max(requestedAt, expiration - EXPIRY_MARGIN);
+            }
+        }
+    }
+
+    /**
+     * Credentials provider reusing the credentials of its delegate until they
+     * are about to expire. Concurrent callers share a single resolution, which
+     * is made without holding a lock.
+     */
+    private final class CachedCredentialsProvider implements AWSCredentialsProvider {
+        private final AmazonWebServicesCredentials delegate;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicReference<FutureTask<Session>> resolving = new AtomicReference<>();
+        private volatile Session session;
+
+        private CachedCredentialsProvider(AmazonWebServicesCredentials delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public AWSCredentials getCredentials() {
+            Session current = session;
+            long now = System.currentTimeMillis();
+            if (current == null || now >= current.expiresAt) {
+                return resolve().credentials;
+            }
+            if (now >= current.refreshAt && refreshing.compareAndSet(false, true)) {
+                getRefreshExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            resolve();
+                        } catch (RuntimeException e) {
+                            LOGGER.log(Level.WARNING, "Cannot refresh AWS credentials: " + e.getMessage(), e);
+                        } finally {
+                            refreshing.set(false);
+                        }
+                    }
+                });
+            }
+            return current.credentials;
+        }
+
+        @Override
+        public void refresh() {
+            session = null;
+        }
+
+        private Session resolve() {
+            FutureTask<Session> task = resolving.get();
+            while (task == null) {
+                FutureTask<Session> created = new FutureTask<>(new Callable<Session>() {
+                    @Override
+                    public Session call() {
+                        Session resolved = new Session(delegate.getCredentials(), System.currentTimeMillis());
+                        session = resolved;
+                        return resolved;
+                    }
+                });
+                if (resolving.compareAndSet(null, created)) {
+                    try {
+                        created.run();
+                    } finally {
+                        resolving.compareAndSet(created, null);
+                    }
+                    task = created;
+                } else {
+                    task = resolving.get();
+                }
+            }
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmazonClientException("Interrupted while resolving AWS credentials", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new AmazonClientException("Cannot resolve AWS credentials", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Drops cached credentials when the global credentials are edited.
+     */
+    @Extension
+    public static final class SaveableListenerImpl extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof SystemCredentialsProvider) {
+                INSTANCE.invalidateAll();
+            }
+        }
+    }
+}
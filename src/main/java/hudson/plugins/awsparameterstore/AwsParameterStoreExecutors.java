@@ -0,0 +1,111 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the executors of the plugin, which mostly wait on AWS calls.
+ * <p>
+ * On Java 21 and later each task runs on its own virtual thread, so waiting
+ * costs next to nothing and the number of calls in flight is only limited by
+ * the {@link AwsParameterStoreThrottle}. On older JVMs, or with
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreExecutors.virtualThreads=false</code>,
+ * a pool of daemon threads is used that grows up to its size on demand and
+ * lets idle threads expire. Virtual threads are created reflectively because
+ * the plugin is compiled for older Java versions.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreExecutors {
+    static boolean VIRTUAL_THREADS = Boolean.parseBoolean(
+            System.getProperty(AwsParameterStoreExecutors.class.getName() + ".virtualThreads", "true"));
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreExecutors.class.getName());
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private AwsParameterStoreExecutors() {
+    }
+
+    /**
+     * Creates an executor.
+     *
+     * @param name    thread name prefix
+     * @param threads pool size when virtual threads are not used
+     * @return executor
+     */
+    public static ExecutorService newExecutor(String name, int threads) {
+        if (VIRTUAL_THREADS && getJavaVersion() >= VIRTUAL_THREADS_JAVA_VERSION) {
+            try {
+                return newVirtualThreadExecutor(name);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Cannot create virtual threads, using a thread pool: " + e.getMessage(), e);
+            }
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new NamingThreadFactory(new DaemonThreadFactory(), name));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Calls
+     * <code>Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory())</code>.
+     */
+    private static ExecutorService newVirtualThreadExecutor(String name) throws ReflectiveOperationException {
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+        ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+    }
+
+    /**
+     * Gets the feature version of the running JVM, e.g. 8 for
+     * <code>1.8</code> and 21 for <code>21</code>.
+     */
+    static int getJavaVersion() {
+        String version = System.getProperty("java.specification.version", "");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
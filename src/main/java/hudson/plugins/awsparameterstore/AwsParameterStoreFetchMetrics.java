@@ -0,0 +1,224 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonWebServiceRequest;
+
+/**
+ * AWS calls and cache lookups made by an {@link AwsParameterStoreService},
+ * reported per build by the {@link AwsParameterStoreBuildAction}.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreFetchMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String REQUEST_SUFFIX = "Request";
+    private static final String DESCRIBE_PARAMETERS = "DescribeParameters";
+    private static final String GET_PARAMETERS_BY_PATH = "GetParametersByPath";
+
+    private final TreeMap<String, ApiCalls> calls = new TreeMap<>();
+    private int cacheHits;
+    private int cacheMisses;
+    private int pages;
+
+    /**
+     * Records a completed AWS call.
+     *
+     * @param request the request
+     * @param nanos   latency in nanoseconds, including retries
+     */
+    synchronized void recordCall(AmazonWebServiceRequest request, long nanos) {
+        final String api = toApi(request);
+        ApiCalls apiCalls = calls.get(api);
+        if (apiCalls == null) {
+            apiCalls = new ApiCalls(api);
+            calls.put(api, apiCalls);
+        }
+        apiCalls.add(nanos);
+        if (DESCRIBE_PARAMETERS.equals(api) || GET_PARAMETERS_BY_PATH.equals(api)) {
+            pages++;
+        }
+    }
+
+    /**
+     * Records a fetch answered by a cache.
+     */
+    synchronized void recordCacheHit() {
+        cacheHits++;
+    }
+
+    /**
+     * Records a fetch that was not cached.
+     */
+    synchronized void recordCacheMiss() {
+        cacheMisses++;
+    }
+
+    /**
+     * Adds the calls and lookups of <code>other</code> to these metrics.
+     *
+     * @param other metrics of another fetch
+     */
+    void addAll(AwsParameterStoreFetchMetrics other) {
+        final List<ApiCalls> otherCalls;
+        final int otherHits;
+        final int otherMisses;
+        final int otherPages;
+        synchronized (other) {
+            otherCalls = new ArrayList<>();
+            for (ApiCalls apiCalls : other.calls.values()) {
+                otherCalls.add(apiCalls.copy());
+            }
+            otherHits = other.cacheHits;
+            otherMisses = other.cacheMisses;
+            otherPages = other.pages;
+        }
+        synchronized (this) {
+            for (ApiCalls apiCalls : otherCalls) {
+                final ApiCalls existing = calls.get(apiCalls.api);
+                if (existing == null) {
+                    calls.put(apiCalls.api, apiCalls);
+                } else {
+                    existing.addAll(apiCalls);
+                }
+            }
+            cacheHits += otherHits;
+            cacheMisses += otherMisses;
+            pages += otherPages;
+        }
+    }
+
+    /**
+     * Gets the calls per API, by API name.
+     *
+     * @return snapshot of the calls
+     */
+    public synchronized List<ApiCalls> getCalls() {
+        final List<ApiCalls> snapshot = new ArrayList<>();
+        for (ApiCalls apiCalls : calls.values()) {
+            snapshot.add(apiCalls.copy());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of fetches answered by a cache.
+     *
+     * @return cache hits
+     */
+    public synchronized int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets the number of fetches that were not cached.
+     *
+     * @return cache misses
+     */
+    public synchronized int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Gets the number of <code>DescribeParameters</code> and
+     * <code>GetParametersByPath</code> pages fetched.
+     *
+     * @return pages
+     */
+    public synchronized int getPages() {
+        return pages;
+    }
+
+    /**
+     * Gets the API name of <code>request</code>, e.g.
+     * <code>GetParametersByPath</code>.
+     *
+     * @param request the request
+     * @return API name
+     */
+    static String toApi(AmazonWebServiceRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith(REQUEST_SUFFIX) ? name.substring(0, name.length() - REQUEST_SUFFIX.length()) : name;
+    }
+
+    /**
+     * Calls of one API.
+     */
+    public static final class ApiCalls implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String api;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        ApiCalls(String api) {
+            this.api = api;
+        }
+
+        void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        void addAll(ApiCalls other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+        }
+
+        ApiCalls copy() {
+            final ApiCalls copy = new ApiCalls(api);
+            copy.addAll(this);
+            return copy;
+        }
+
+        public String getApi() {
+            return api;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+        }
+
+        public long getAverageMillis() {
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-wide index of parameter names per credentials and region, used
+ * by the job configuration page.
+ * <p>
+ * The index only holds names, loaded with <code>DescribeParameters</code>, so
+ * no values are fetched or kept. It is loaded in the background on first use
+ * and reloaded in the background once it is older than
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreIndex.refreshInterval</code>
+ * seconds (default 300). Queries never call AWS; they answer from the current
+ * index, or with nothing while the first load is still running. At most
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreIndex.maxIndexes</code>
+ * credentials and regions are indexed (default 64); the least recently used
+ * index is dropped to make room for another.
+ *
+ * @author agent
+ */
+public class AwsParameterStoreIndex {
+    static long REFRESH_INTERVAL = Long.getLong(AwsParameterStoreIndex.class.getName() + ".refreshInterval", 300);
+    static int MAX_INDEXES = Integer.getInteger(AwsParameterStoreIndex.class.getName() + ".maxIndexes", 64);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreIndex.class.getName());
+    private static final String OPTION_EQUALS = "Equals";
+
+    private static final AwsParameterStoreIndex INSTANCE = new AwsParameterStoreIndex();
+
+    private final ConcurrentMap<String, Names> indexes = new ConcurrentHashMap<>();
+    private ExecutorService loadExecutor;
+
+    /**
+     * Gets the index shared by all users.
+     *
+     * @return the index
+     */
+    public static AwsParameterStoreIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the sorted parameter names for a credentials id and region,
+     * starting a background load if they are missing or old.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return sorted names, or <code>null</code> while the first load runs
+     */
+    String[] getNames(String credentialsId, String regionName) {
+        return load(credentialsId, regionName).names;
+    }
+
+    private static boolean isFresh(Names names) {
+        return names.loadedAt >= System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(REFRESH_INTERVAL);
+    }
+
+    private Names load(final String credentialsId, String regionName) {
+        final String region = StringUtils.defaultIfEmpty(regionName, AwsParameterStoreService.DEFAULT_REGION);
+        final String scope = AwsParameterStoreCache.toScope(credentialsId, region);
+        Names names = indexes.get(scope);
+        if (names == null) {
+            names = new Names();
+            Names existing = indexes.putIfAbsent(scope, names);
+            if (existing != null) {
+                names = existing;
+            } else {
+                evictLeastRecentlyUsed(scope);
+            }
+        }
+        names.usedAt = System.currentTimeMillis();
+        final Names index = names;
+        if (!isFresh(index) && index.loading.compareAndSet(false, true)) {
+            getLoadExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        List<String> loaded = new AwsParameterStoreService(credentialsId, region)
+                                .describeParameterNames();
+                        String[] sorted = loaded.toArray(new String[loaded.size()]);
+                        Arrays.sort(sorted);
+                        index.names = sorted;
+                        index.loadedAt = System.currentTimeMillis();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Cannot index parameters: " + e.getMessage(), e);
+                    } finally {
+                        index.loading.set(false);
+                    }
+                }
+            });
+        }
+        return index;
+    }
+
+    /**
+     * Drops the least recently used indexes other than <code>scope</code>
+     * while there are more than <code>MAX_INDEXES</code>.
+     */
+    private void evictLeastRecentlyUsed(String scope) {
+        while (indexes.size() > Math.max(1, MAX_INDEXES)) {
+            Map.Entry<String, Names> oldest = null;
+            for (Map.Entry<String, Names> index : indexes.entrySet()) {
+                if (!index.getKey().equals(scope)
+                        && (oldest == null || index.getValue().usedAt < oldest.getValue().usedAt)) {
+                    oldest = index;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            indexes.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    /**
+     * Gets the number of credentials and regions indexed.
+     *
+     * @return number of indexes
+     */
+    int size() {
+        return indexes.size();
+    }
+
+    /**
+     * Marks the indexes of a region as outdated, so that they are reloaded in
+     * the background on next use.
+     *
+     * @param regionName AWS region name
+     */
+    void invalidate(String regionName) {
+        for (Map.Entry<String, Names> index : indexes.entrySet()) {
+            if (regionName.equals(AwsParameterStoreCache.toRegion(index.getKey()))) {
+                index.getValue().loadedAt = 0;
+            }
+        }
+    }
+
+    /**
+     * Drops all indexes.
+     */
+    public void clear() {
+        indexes.clear();
+    }
+
+    /**
+     * Lists the hierarchies containing parameters, e.g. <code>/app</code>
+     * and <code>/app/prod</code> for <code>/app/prod/db</code>.
+     *
+     * @param names sorted parameter names
+     * @param limit maximum number of hierarchies
+     * @return hierarchies in sorted order
+     */
+    static List<String> hierarchies(String[] names, int limit) {
+        final TreeSet<String> hierarchies = new TreeSet<>();
+        for (String name : names) {
+            for (int end = name.indexOf('/', 1); end > 0; end = name.indexOf('/', end + 1)) {
+                hierarchies.add(name.substring(0, end));
+            }
+        }
+        final List<String> sorted = new ArrayList<>(hierarchies);
+        return sorted.size() > limit ? sorted.subList(0, limit) : sorted;
+    }
+
+    /**
+     * Lists the child hierarchies directly below <code>path</code>, e.g.
+     * <code>/app/prod</code> and <code>/app/dev</code> for <code>/app</code>.
+     *
+     * @param names sorted parameter names
+     * @param path  hierarchy
+     * @return child hierarchies in sorted order
+     */
+    static List<String> childPaths(String[] names, String path) {
+        final String prefix = path.endsWith("/") ? path : path + "/";
+        final List<String> children = new ArrayList<>();
+        for (int i = lowerBound(names, prefix); i < names.length && names[i].startsWith(prefix); i++) {
+            final int end = names[i].indexOf('/', prefix.length());
+            if (end > 0) {
+                final String child = names[i].substring(0, end);
+                if (children.isEmpty() || !children.get(children.size() - 1).equals(child)) {
+                    children.add(child);
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Selects the names a wrapper with these settings would fetch.
+     *
+     * @param names        sorted parameter names
+     * @param path         hierarchy for the parameters
+     * @param recursive    fetch all parameters within a hierarchy
+     * @param namePrefixes comma separated name prefixes, used without a path
+     * @param option       option of the name filter
+     * @return matching names in sorted order
+     */
+    static List<String> match(String[] names, String path, boolean recursive, String namePrefixes, String option) {
+        final List<String> matches = new ArrayList<>();
+        if (!StringUtils.isEmpty(path)) {
+            final String prefix = path.endsWith("/") ? path : path + "/";
+            for (int i = lowerBound(names, prefix); i < names.length && names[i].startsWith(prefix); i++) {
+                if (recursive || names[i].indexOf('/', prefix.length()) < 0) {
+                    matches.add(names[i]);
+                }
+            }
+        } else if (StringUtils.isEmpty(namePrefixes)) {
+            matches.addAll(Arrays.asList(names));
+        } else {
+            final Collection<String> found = new TreeSet<>();
+            for (String namePrefix : namePrefixes.split(",")) {
+                final String prefix = namePrefix.trim();
+                for (int i = lowerBound(names, prefix); i < names.length && names[i].startsWith(prefix); i++) {
+                    if (!OPTION_EQUALS.equals(option) || names[i].equals(prefix)) {
+                        found.add(names[i]);
+                    }
+                }
+            }
+            matches.addAll(found);
+        }
+        return matches;
+    }
+
+    private static int lowerBound(String[] names, String prefix) {
+        final int index = Arrays.binarySearch(names, prefix);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private synchronized ExecutorService getLoadExecutor() {
+        if (loadExecutor == null) {
+            loadExecutor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreIndex load", 1);
+        }
+        return loadExecutor;
+    }
+
+    /**
+     * Names of one credentials id and region.
+     */
+    private static final class Names {
+        private volatile String[] names;
+        private volatile long loadedAt;
+        private volatile long usedAt;
+        private final AtomicBoolean loading = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Dashboard under <code>Manage Jenkins</code> showing the state of the plugin
+ * on the controller: cached entries, pooled clients with their call rates and
+ * throttling, console redaction time per job and the slowest fetches of the
+ * last hour. Cache entries can be evicted or refreshed individually.
+ *
+ * @author agent
+ */
+@Extension
+public class AwsParameterStoreManagementLink extends ManagementLink {
+    private static final int MAX_FETCHES = 20;
+    private static final int RATE_MINUTES = 5;
+
+    @Override
+    public String getIconFileName() {
+        return "notepad.png";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "aws-parameter-store";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.managementLinkDisplayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.managementLinkDescription();
+    }
+
+    /**
+     * Gets the cache.
+     *
+     * @return the cache shared by all builds
+     */
+    public AwsParameterStoreCache getCache() {
+        return AwsParameterStoreCache.getInstance();
+    }
+
+    /**
+     * Gets the fraction of cache lookups answered from the cache.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        final AwsParameterStoreCache cache = getCache();
+        final long lookups = cache.getHits() + cache.getMisses();
+        return lookups == 0 ? 0 : (double) cache.getHits() / lookups;
+    }
+
+    /**
+     * Describes every credentials and region with a pooled client or recent
+     * calls.
+     *
+     * @return scopes ordered by name
+     */
+    public List<ScopeInfo> getScopes() {
+        final AwsParameterStoreClients clients = AwsParameterStoreClients.getInstance();
+        final Set<String> clientScopes = clients.getClientScopes();
+        final Set<String> asyncClientScopes = clients.getAsyncClientScopes();
+        final Set<String> scopes = new TreeSet<>(clientScopes);
+        scopes.addAll(asyncClientScopes);
+        scopes.addAll(AwsParameterStoreStatistics.getInstance().getScopes());
+        final List<ScopeInfo> infos = new ArrayList<>();
+        for (String scope : scopes) {
+            infos.add(new ScopeInfo(scope, clientScopes.contains(scope), asyncClientScopes.contains(scope)));
+        }
+        return infos;
+    }
+
+    /**
+     * Gets the time spent redacting console output per job.
+     *
+     * @return milliseconds by full job name, most expensive first
+     */
+    public Map<String, Long> getMaskingMillis() {
+        return AwsParameterStoreStatistics.getInstance().getMaskingMillis();
+    }
+
+    /**
+     * Gets the percentage of console lines of a job let through by the secret
+     * prefilter that did not contain a secret.
+     *
+     * @param job full job name
+     * @return formatted percentage, or <code>-</code> if no line was let
+     *         through
+     */
+    public String getPrefilterFalsePositives(String job) {
+        final double rate = AwsParameterStoreStatistics.getInstance().getPrefilterFalsePositiveRate(job);
+        return rate < 0 ? "-" : String.format("%.1f", rate * 100);
+    }
+
+    /**
+     * Gets the slowest fetches of the last hour.
+     *
+     * @return fetches, slowest first
+     */
+    public List<AwsParameterStoreStatistics.Fetch> getSlowestFetches() {
+        return AwsParameterStoreStatistics.getInstance().getSlowestFetches(MAX_FETCHES);
+    }
+
+    /**
+     * Evicts a cache entry.
+     *
+     * @param key key of the entry
+     * @return redirect to the dashboard
+     */
+    @RequirePOST
+    public HttpResponse doEvict(@QueryParameter String key) {
+        Jenkins.getActiveInstance().checkPermission(Jenkins.ADMINISTER);
+        if (key != null) {
+            getCache().evict(key);
+        }
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Refreshes a cache entry in the background.
+     *
+     * @param key key of the entry
+     * @return redirect to the dashboard
+     */
+    @RequirePOST
+    public HttpResponse doRefresh(@QueryParameter String key) {
+        Jenkins.getActiveInstance().checkPermission(Jenkins.ADMINISTER);
+        if (key != null) {
+            getCache().refresh(key);
+        }
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * State of one credentials and region.
+     */
+    public static final class ScopeInfo {
+        private final String scope;
+        private final boolean client;
+        private final boolean asyncClient;
+
+        ScopeInfo(String scope, boolean client, boolean asyncClient) {
+            this.scope = scope;
+            this.client = client;
+            this.asyncClient = asyncClient;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public boolean isClient() {
+            return client;
+        }
+
+        public boolean isAsyncClient() {
+            return asyncClient;
+        }
+
+        /**
+         * Gets the average calls per minute over the last few minutes.
+         *
+         * @return call rate
+         */
+        public double getCallRate() {
+            return (double) AwsParameterStoreStatistics.getInstance().getCalls(scope, RATE_MINUTES) / RATE_MINUTES;
+        }
+
+        public long getCallsLastHour() {
+            return AwsParameterStoreStatistics.getInstance().getCalls(scope, 60);
+        }
+
+        public long getThrottledLastHour() {
+            return AwsParameterStoreStatistics.getInstance().getThrottled(scope);
+        }
+
+        /**
+         * Gets the calls running in the throttle scope of this scope, shared
+         * by all credentials of its AWS account.
+         *
+         * @return running calls
+         */
+        public int getRunning() {
+            return AwsParameterStoreThrottle.getInstance().getRunning(getThrottleScope());
+        }
+
+        /**
+         * Gets the calls queued in the throttle scope of this scope.
+         *
+         * @return queued calls
+         */
+        public int getQueued() {
+            return AwsParameterStoreThrottle.getInstance().getQueued(getThrottleScope());
+        }
+
+        private String getThrottleScope() {
+            final String accountId = AwsParameterStoreClients.getInstance().getKnownAccountId(scope);
+            return accountId == null ? scope : accountId + scope.substring(scope.lastIndexOf('@'));
+        }
+
+        public boolean isCircuitOpen() {
+            return AwsParameterStoreCircuitBreaker.forScope(scope).isOpen();
+        }
+    }
+}
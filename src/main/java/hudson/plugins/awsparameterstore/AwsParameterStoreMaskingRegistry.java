@@ -0,0 +1,249 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Secure strings to redact from the console of a single run.
+ * <p>
+ * Every {@link AwsParameterStoreBuildWrapper} used by a run contributes its
+ * secrets to the same registry, so nested wrappers share one compiled
+ * matcher and only the outermost console filter scans each line. Besides
+ * the secrets themselves, their {@link SecretEncoding encoded forms} listed
+ * in <code>hudson.plugins.awsparameterstore.AwsParameterStoreMaskingRegistry.encodings</code>
+ * (default <code>url,base64,json,shell</code>) are redacted.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreMaskingRegistry {
+    static String ENCODINGS = System.getProperty(AwsParameterStoreMaskingRegistry.class.getName() + ".encodings",
+            "url,base64,json,shell");
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreMaskingRegistry.class.getName());
+
+    private static final ConcurrentMap<String, AwsParameterStoreMaskingRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final Set<String> secrets;
+    private final String job;
+    private final AtomicLong maskingNanos = new AtomicLong();
+    private volatile Masker masker;
+
+    /**
+     * Creates a new {@link AwsParameterStoreMaskingRegistry}.
+     *
+     * @param secrets backing set of secure strings
+     */
+    AwsParameterStoreMaskingRegistry(Set<String> secrets) {
+        this(secrets, null);
+    }
+
+    private AwsParameterStoreMaskingRegistry(Set<String> secrets, String job) {
+        this.secrets = secrets;
+        this.job = job;
+    }
+
+    /**
+     * Gets the registry for <code>run</code>, creating it if necessary.
+     *
+     * @param run the build
+     * @return registry shared by all wrappers of the run
+     */
+    static AwsParameterStoreMaskingRegistry forRun(Run<?, ?> run) {
+        return forKey(toKey(run), null);
+    }
+
+    /**
+     * Gets the registry for <code>key</code>, creating it if necessary. When a
+     * console filter is restored after a restart, its <code>secrets</code> are
+     * merged back into the registry.
+     *
+     * @param key     run key
+     * @param secrets previously registered secure strings, may be null
+     * @return registry for the key
+     */
+    static AwsParameterStoreMaskingRegistry forKey(String key, Set<String> secrets) {
+        AwsParameterStoreMaskingRegistry registry = REGISTRIES.get(key);
+        if (registry == null) {
+            registry = new AwsParameterStoreMaskingRegistry(
+                    secrets != null ? secrets : new CopyOnWriteArraySet<String>(), toJob(key));
+            AwsParameterStoreMaskingRegistry existing = REGISTRIES.putIfAbsent(key, registry);
+            if (existing != null) {
+                registry = existing;
+            }
+        }
+        if (secrets != null && secrets != registry.secrets) {
+            registry.secrets.addAll(secrets);
+        }
+        return registry;
+    }
+
+    /**
+     * Gets the key identifying <code>run</code>.
+     *
+     * @param run the build
+     * @return full job name and build number
+     */
+    static String toKey(Run<?, ?> run) {
+        return run.getParent().getFullName() + "#" + run.getNumber();
+    }
+
+    private static String toJob(String key) {
+        final int number = key.lastIndexOf('#');
+        return number < 0 ? key : key.substring(0, number);
+    }
+
+    /**
+     * Gets the full name of the job whose run uses this registry.
+     *
+     * @return full job name, or <code>null</code> if the registry is not
+     *         shared by a run
+     */
+    String getJob() {
+        return job;
+    }
+
+    /**
+     * Gets the counter accumulating the nanoseconds spent redacting the
+     * console output of the run.
+     *
+     * @return counter
+     */
+    AtomicLong getMaskingNanos() {
+        return maskingNanos;
+    }
+
+    /**
+     * Gets the registered secure strings.
+     *
+     * @return live set of secure strings
+     */
+    Set<String> getSecrets() {
+        return secrets;
+    }
+
+    /**
+     * Registers secure strings for redaction.
+     *
+     * @param values secure strings
+     */
+    void addAll(Collection<String> values) {
+        secrets.addAll(values);
+    }
+
+    /**
+     * Gets the masker for the currently registered secure strings.
+     *
+     * @return masker, or <code>null</code> if there is nothing to redact
+     */
+    Masker getMasker() {
+        Masker current = masker;
+        int size = secrets.size();
+        if (current == null ? size > 0 : current.count != size) {
+            synchronized (this) {
+                current = masker;
+                if (current == null ? size > 0 : current.count != size) {
+                    current = buildMasker();
+                    masker = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Masker buildMasker() {
+        int numSecureStrings = 0;
+        Set<SecretEncoding> encodings = SecretEncoding.getEncodings(ENCODINGS);
+        Set<String> literals = new LinkedHashSet<>();
+        for (String secureString : secrets) {
+            if (StringUtils.isNotEmpty(secureString)) {
+                SecretEncoding.addLiterals(secureString, encodings, literals);
+            }
+            numSecureStrings++;
+        }
+        LOGGER.info(String.format("Building secure pattern. %d -> %d (%d literals)",
+                masker == null ? 0 : masker.count, numSecureStrings, literals.size()));
+        if (literals.isEmpty()) {
+            return new Masker(numSecureStrings, null, null);
+        }
+        return new Masker(numSecureStrings, new SecretMatcher(literals), new SecretPrefilter(literals));
+    }
+
+    /**
+     * Compiled matcher and prefilter for a snapshot of the secrets and their
+     * encoded forms.
+     */
+    static final class Masker {
+        final int count;
+        final SecretMatcher matcher;
+        final SecretPrefilter prefilter;
+
+        Masker(int count, SecretMatcher matcher, SecretPrefilter prefilter) {
+            this.count = count;
+            this.matcher = matcher;
+            this.prefilter = prefilter;
+        }
+    }
+
+    /**
+     * Records the redaction time of a run in its
+     * {@link AwsParameterStoreBuildAction} and drops the registry once the run
+     * can no longer write to the console.
+     */
+    @Extension
+    public static final class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, TaskListener listener) {
+            final AwsParameterStoreMaskingRegistry registry = REGISTRIES.get(toKey(run));
+            final AwsParameterStoreBuildAction action = run.getAction(AwsParameterStoreBuildAction.class);
+            if (registry != null && action != null) {
+                action.setMaskingNanos(registry.maskingNanos.get());
+            }
+        }
+
+        @Override
+        public void onFinalized(Run<?, ?> run) {
+            REGISTRIES.remove(toKey(run));
+        }
+
+        @Override
+        public void onDeleted(Run<?, ?> run) {
+            REGISTRIES.remove(toKey(run));
+        }
+    }
+}
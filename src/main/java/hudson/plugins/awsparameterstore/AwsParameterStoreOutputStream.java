@@ -2,13 +2,9 @@ package hudson.plugins.awsparameterstore;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
-
-import org.apache.commons.lang.StringUtils;
 
 import hudson.console.LineTransformationOutputStream;
 
@@ -18,65 +14,89 @@ public class AwsParameterStoreOutputStream extends LineTransformationOutputStrea
     private static final String MASKED_PASSWORD = "********";
 
     private final OutputStream logger;
-    private Pattern secureStringsAsPattern;
-    private final Set<String> secureStrings;
-    private int lastCount;
+    private final AwsParameterStoreMaskingRegistry registry;
+    private final AtomicLong maskingNanos;
+    private final AwsParameterStoreStatistics.PrefilterCounter prefilterCounter;
+    private AwsParameterStoreMaskingRegistry.Masker lastMasker;
+    private long linesScanned;
+    private long linesSkipped;
+    private long falsePositives;
 
     public AwsParameterStoreOutputStream(OutputStream logger, Set<String> secureStrings) {
-        this.logger = logger;
-        this.secureStrings = secureStrings;
-        this.lastCount = 0;
+        this(logger, new AwsParameterStoreMaskingRegistry(secureStrings));
     }
 
-    private Pattern getSecureStringsAsPattern(OutputStream logger) {
-        if (secureStrings.size() != lastCount) {
-            LOGGER.info(String.format("Building secure pattern. %d -> %d", lastCount, secureStrings.size()));
-            int numSecureStrings = 0;
-            StringBuilder regex = new StringBuilder().append('(');
+    AwsParameterStoreOutputStream(OutputStream logger, AwsParameterStoreMaskingRegistry registry) {
+        this.logger = logger;
+        this.registry = registry;
+        this.maskingNanos = registry.getJob() == null ? null
+                : AwsParameterStoreStatistics.getInstance().getMaskingCounter(registry.getJob());
+        this.prefilterCounter = registry.getJob() == null ? null
+                : AwsParameterStoreStatistics.getInstance().getPrefilterCounter(registry.getJob());
+    }
 
-            if (secureStrings.size() > 0) {
-                for (String secureString : secureStrings) {
-                    if (StringUtils.isNotEmpty(secureString)) {
-                        regex.append(Pattern.quote(secureString));
-                        regex.append('|');
-                        try {
-                            String encodedSecureString = URLEncoder.encode(secureString, "UTF-8");
-                            if (!encodedSecureString.equals(secureString)) {
-                                regex.append(Pattern.quote(encodedSecureString));
-                                regex.append('|');
-                            }
-                        } catch (UnsupportedEncodingException e) {
+    /**
+     * Gets the registry supplying the secure strings.
+     *
+     * @return masking registry
+     */
+    AwsParameterStoreMaskingRegistry getRegistry() {
+        return registry;
+    }
 
-                        }
-                    }
-                    numSecureStrings++;
-                }
-                regex.deleteCharAt(regex.length() - 1);
-                regex.append(')');
-                secureStringsAsPattern = Pattern.compile(regex.toString());
-                lastCount = numSecureStrings;
+    private AwsParameterStoreMaskingRegistry.Masker getMasker(OutputStream logger) {
+        AwsParameterStoreMaskingRegistry.Masker masker = registry.getMasker();
+        if (masker != lastMasker) {
+            lastMasker = masker;
+            if (masker != null && masker.matcher != null) {
                 try {
-                    logger.write(String.format("----- Now Redacting %d Secrets -----%n", secureStrings.size())
-                            .getBytes());
+                    logger.write(String.format("----- Now Redacting %d Secrets -----%n", masker.count).getBytes());
                 } catch (IOException e) {
                 }
-            } else {
-                secureStringsAsPattern = null;
             }
         }
-        return secureStringsAsPattern;
+        return masker;
     }
 
     @Override
     protected void eol(byte[] bytes, int len) throws IOException {
         String line = new String(bytes, 0, len);
-        Pattern secureStringsAsPattern = getSecureStringsAsPattern(logger);
-        if (secureStringsAsPattern != null) {
-            line = secureStringsAsPattern.matcher(line).replaceAll(MASKED_PASSWORD);
+        AwsParameterStoreMaskingRegistry.Masker masker = getMasker(logger);
+        if (masker != null && masker.matcher != null) {
+            long start = System.nanoTime();
+            linesScanned++;
+            if (masker.prefilter.mightContain(line)) {
+                String redacted = masker.matcher.replace(line, MASKED_PASSWORD);
+                if (redacted == line) {
+                    falsePositives++;
+                }
+                if (prefilterCounter != null) {
+                    prefilterCounter.record(redacted == line);
+                }
+                line = redacted;
+            } else {
+                linesSkipped++;
+            }
+            final long elapsed = System.nanoTime() - start;
+            registry.getMaskingNanos().addAndGet(elapsed);
+            if (maskingNanos != null) {
+                maskingNanos.addAndGet(elapsed);
+            }
         }
         logger.write(line.getBytes());
     }
 
+    /**
+     * Gets the fraction of lines let through by the prefilter that did not
+     * contain a secret.
+     *
+     * @return prefilter false positive rate between 0 and 1
+     */
+    public double getPrefilterFalsePositiveRate() {
+        long matched = linesScanned - linesSkipped;
+        return matched == 0 ? 0 : (double) falsePositives / matched;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -85,6 +105,10 @@ public class AwsParameterStoreOutputStream extends LineTransformationOutputStrea
     @Override
     public void close() throws IOException {
         super.close();
+        if (linesScanned > 0) {
+            LOGGER.fine(String.format("Secret prefilter: %d lines, %d skipped, %d false positives (%.2f%%)",
+                    linesScanned, linesSkipped, falsePositives, getPrefilterFalsePositiveRate() * 100));
+        }
         logger.close();
     }
 
@@ -0,0 +1,141 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.AbstractProject;
+import hudson.model.BuildableItemWithBuildWrappers;
+import hudson.model.Queue;
+import hudson.model.queue.QueueListener;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Starts fetching parameters into the {@link AwsParameterStoreCache} while a
+ * build waits in the queue for an executor, so that
+ * {@link AwsParameterStoreBuildWrapper#setUp} only has to look them up.
+ * <p>
+ * Only projects with a configured {@link AwsParameterStoreBuildWrapper} are
+ * prefetched; pipeline steps are resolved when the step runs. Fetches without
+ * AWS credentials and wrappers caching on the agent are not prefetched, as the
+ * build does not fetch them with the controller's identity, or not at all on
+ * the controller. Prefetches are cancelled if the item is removed from the
+ * queue without building.
+ *
+ * @author agent
+ */
+@Extension
+public class AwsParameterStorePrefetcher extends QueueListener {
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStorePrefetcher.class.getName());
+
+    static int THREADS = Integer.getInteger(AwsParameterStorePrefetcher.class.getName() + ".threads", 4);
+
+    private final ConcurrentMap<Long, List<Future<?>>> prefetches = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new {@link AwsParameterStorePrefetcher}.
+     */
+    public AwsParameterStorePrefetcher() {
+        this.executor = AwsParameterStoreExecutors.newExecutor("AwsParameterStorePrefetcher", THREADS);
+    }
+
+    @Override
+    public void onEnterBuildable(Queue.BuildableItem item) {
+        if (AwsParameterStoreCache.TTL <= 0 || prefetches.containsKey(item.getId())
+                || !(item.task instanceof BuildableItemWithBuildWrappers)) {
+            return;
+        }
+        final AbstractProject<?, ?> project = ((BuildableItemWithBuildWrappers) item.task).asProject();
+        List<AwsParameterStoreBuildWrapper> wrappers = ((BuildableItemWithBuildWrappers) item.task)
+                .getBuildWrappersList().getAll(AwsParameterStoreBuildWrapper.class);
+        if (wrappers.isEmpty()) {
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (AwsParameterStoreBuildWrapper wrapper : wrappers) {
+            if (shouldPrefetch(wrapper, wrapper.getCredentialsId())) {
+                futures.add(prefetch(wrapper, project, wrapper.getCredentialsId(), wrapper.getRegionName(),
+                        wrapper.getPath(), wrapper.getRecursive(), wrapper.getNamePrefixes(), wrapper.getOption()));
+            }
+            for (AwsParameterStoreSource source : wrapper.getSources()) {
+                if (shouldPrefetch(wrapper, source.getCredentialsId())) {
+                    futures.add(prefetch(wrapper, project, source.getCredentialsId(), source.getRegionName(),
+                            source.getPath(), source.getRecursive(), source.getNamePrefixes(),
+                            source.getOption()));
+                }
+            }
+        }
+        if (!futures.isEmpty()) {
+            prefetches.put(item.getId(), futures);
+        }
+    }
+
+    /**
+     * Checks whether a fetch of a wrapper is prefetched on the controller.
+     *
+     * @param wrapper       wrapper the fetch belongs to
+     * @param credentialsId AWS credentials identifier of the fetch
+     * @return <code>false</code> if the fetch uses no AWS credentials or the
+     *         wrapper caches on the agent
+     */
+    static boolean shouldPrefetch(AwsParameterStoreBuildWrapper wrapper, String credentialsId) {
+        return !Boolean.TRUE.equals(wrapper.getAgentCache()) && StringUtils.isNotBlank(credentialsId);
+    }
+
+    private Future<?> prefetch(final AwsParameterStoreBuildWrapper wrapper, final AbstractProject<?, ?> project,
+            final String credentialsId, final String regionName, final String path, final Boolean recursive,
+            final String namePrefixes, final String option) {
+        return executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    wrapper.createService(credentialsId, regionName, project).prefetchParameters(path, recursive,
+                            namePrefixes, option);
+                } catch (AbortException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Cannot prefetch parameters: " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onLeft(Queue.LeftItem item) {
+        List<Future<?>> futures = prefetches.remove(item.getId());
+        if (futures != null && item.isCancelled()) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.awt.Color;
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.CategoryAxis;
+import org.jfree.chart.axis.CategoryLabelPositions;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.category.CategoryDataset;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.util.ChartUtil;
+import hudson.util.DataSetBuilder;
+import hudson.util.Graph;
+import hudson.util.ShiftedCategoryAxis;
+
+/**
+ * Trend of the {@link AwsParameterStoreBuildAction fetch time} of the recent
+ * builds of a job, shown on the job page.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreProjectAction implements Action {
+    private static final int TREND_BUILDS = 50;
+    private static final int WIDTH = 500;
+    private static final int HEIGHT = 200;
+
+    private final Job<?, ?> job;
+
+    /**
+     * Creates a new {@link AwsParameterStoreProjectAction}.
+     *
+     * @param job the job
+     */
+    AwsParameterStoreProjectAction(Job<?, ?> job) {
+        this.job = job;
+    }
+
+    /**
+     * Gets the job.
+     *
+     * @return the job
+     */
+    public Job<?, ?> getJob() {
+        return job;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.buildActionDisplayName();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "aws-parameter-store";
+    }
+
+    /**
+     * Renders the fetch time and throttle queue wait of the recent completed
+     * builds as a PNG chart.
+     *
+     * @param req request
+     * @param rsp response
+     * @throws IOException if the chart cannot be written
+     */
+    public void doTrend(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        if (ChartUtil.awtProblemCause != null) {
+            rsp.sendRedirect2(req.getContextPath() + "/images/headless.png");
+            return;
+        }
+        final Run<?, ?> lastBuild = job.getLastCompletedBuild();
+        if (lastBuild == null) {
+            rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        new Graph(lastBuild.getTimestamp(), WIDTH, HEIGHT) {
+            @Override
+            protected JFreeChart createGraph() {
+                return createChart(buildDataSet());
+            }
+        }.doPng(req, rsp);
+    }
+
+    private CategoryDataset buildDataSet() {
+        final DataSetBuilder<String, ChartUtil.NumberOnlyBuildLabel> dataSet = new DataSetBuilder<>();
+        int builds = 0;
+        for (Run<?, ?> run = job.getLastCompletedBuild(); run != null && builds < TREND_BUILDS;
+                run = run.getPreviousCompletedBuild()) {
+            final AwsParameterStoreBuildAction action = run.getAction(AwsParameterStoreBuildAction.class);
+            if (action != null) {
+                final ChartUtil.NumberOnlyBuildLabel label = new ChartUtil.NumberOnlyBuildLabel(run);
+                dataSet.add(action.getFetchMillis(), Messages.trendFetchMillis(), label);
+                dataSet.add(action.getThrottleWaitMillis(), Messages.trendThrottleWaitMillis(), label);
+                builds++;
+            }
+        }
+        return dataSet.build();
+    }
+
+    private static JFreeChart createChart(CategoryDataset dataSet) {
+        final JFreeChart chart = ChartFactory.createLineChart(null, null, "ms", dataSet, PlotOrientation.VERTICAL,
+                true, true, false);
+        chart.setBackgroundPaint(Color.WHITE);
+        final CategoryPlot plot = chart.getCategoryPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setOutlinePaint(null);
+        plot.setRangeGridlinesVisible(true);
+        plot.setRangeGridlinePaint(Color.BLACK);
+        final CategoryAxis domainAxis = new ShiftedCategoryAxis(null);
+        domainAxis.setCategoryLabelPositions(CategoryLabelPositions.UP_90);
+        domainAxis.setLowerMargin(0.0);
+        domainAxis.setUpperMargin(0.0);
+        domainAxis.setCategoryMargin(0.0);
+        plot.setDomainAxis(domainAxis);
+        ((NumberAxis) plot.getRangeAxis()).setStandardTickUnits(NumberAxis.createIntegerTickUnits());
+        return chart;
+    }
+}
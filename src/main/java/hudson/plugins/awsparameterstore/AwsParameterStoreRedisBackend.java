@@ -0,0 +1,439 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.apache.commons.lang.StringUtils;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache backend storing fetched parameters in a Redis server, or any server
+ * speaking the Redis protocol, so that controllers sharing it share one warm
+ * cache.
+ * <p>
+ * Each entry is a string under <code>aws-parameter-store:</code> followed by
+ * its fetch key, holding the fetch time and the parameters encrypted with
+ * AES-GCM under a key derived from the shared secret
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreRedisBackend.secret</code>.
+ * Entries expire in Redis when their TTL runs out. Every controller sharing
+ * the server needs the same secret, and must use the same credentials ids for
+ * the same AWS accounts.
+ * <p>
+ * Requests time out after
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreRedisBackend.timeout</code>
+ * milliseconds (default 1000). When the server cannot be reached the backend
+ * answers nothing for
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreRedisBackend.retryInterval</code>
+ * seconds (default 30), so fetches go to AWS without waiting for it.
+ *
+ * @author agent
+ */
+final class AwsParameterStoreRedisBackend implements AwsParameterStoreCacheBackend {
+    static String SECRET = System.getProperty(AwsParameterStoreRedisBackend.class.getName() + ".secret");
+    static int TIMEOUT = Integer.getInteger(AwsParameterStoreRedisBackend.class.getName() + ".timeout", 1000);
+    static long RETRY_INTERVAL = Long.getLong(AwsParameterStoreRedisBackend.class.getName() + ".retryInterval", 30);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreRedisBackend.class.getName());
+    private static final String PREFIX = "aws-parameter-store:";
+    private static final int DEFAULT_PORT = 6379;
+    private static final int MAX_IDLE = 8;
+    private static final int SCAN_COUNT = 1000;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final String host;
+    private final int port;
+    private final boolean ssl;
+    private final String user;
+    private final String password;
+    private final int database;
+    private final byte[] key;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private volatile long unavailableUntil;
+
+    private AwsParameterStoreRedisBackend(String host, int port, boolean ssl, String user, String password,
+            int database, byte[] key) {
+        this.host = host;
+        this.port = port;
+        this.ssl = ssl;
+        this.user = user;
+        this.password = password;
+        this.database = database;
+        this.key = key;
+    }
+
+    /**
+     * Creates a backend for a server given as
+     * <code>redis://[[user]:password@]host[:port][/database]</code>, or
+     * <code>rediss://</code> for TLS.
+     *
+     * @param uri    server
+     * @param secret secret the entries are encrypted with
+     * @return backend
+     * @throws IllegalArgumentException if the server or the secret is invalid
+     */
+    static AwsParameterStoreRedisBackend create(String uri, String secret) {
+        if (StringUtils.isEmpty(secret)) {
+            throw new IllegalArgumentException(AwsParameterStoreRedisBackend.class.getName() + ".secret is not set");
+        }
+        final URI parsed;
+        try {
+            parsed = new URI(uri);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid Redis URI: " + e.getMessage(), e);
+        }
+        final boolean ssl = "rediss".equals(parsed.getScheme());
+        if (!ssl && !"redis".equals(parsed.getScheme()) || StringUtils.isEmpty(parsed.getHost())) {
+            throw new IllegalArgumentException("Invalid Redis URI: " + uri);
+        }
+        String user = null;
+        String password = null;
+        final String userInfo = parsed.getUserInfo();
+        if (userInfo != null) {
+            final int colon = userInfo.indexOf(':');
+            user = colon < 0 ? null : StringUtils.trimToNull(userInfo.substring(0, colon));
+            password = colon < 0 ? userInfo : userInfo.substring(colon + 1);
+        }
+        final String path = StringUtils.removeStart(StringUtils.defaultString(parsed.getPath()), "/");
+        final int database;
+        try {
+            database = path.isEmpty() ? 0 : Integer.parseInt(path);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Redis database: " + path, e);
+        }
+        final byte[] key;
+        try {
+            key = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        return new AwsParameterStoreRedisBackend(parsed.getHost(), parsed.getPort() < 0 ? DEFAULT_PORT
+                : parsed.getPort(), ssl, user, password, database, key);
+    }
+
+    @Override
+    public ParameterCacheEntry get(String key) {
+        if (!isAvailable()) {
+            return null;
+        }
+        final Object reply;
+        try {
+            reply = execute(toBytes("GET"), toBytes(PREFIX + key));
+        } catch (IOException e) {
+            onUnavailable(e);
+            return null;
+        }
+        if (!(reply instanceof byte[]) || ((byte[]) reply).length < 8) {
+            return null;
+        }
+        final byte[] value = (byte[]) reply;
+        final long fetchedAt = ByteBuffer.wrap(value).getLong();
+        if (fetchedAt < System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(AwsParameterStoreCache.TTL)) {
+            return null;
+        }
+        final byte[] plain = ParameterSnapshotCodec.decrypt(this.key, toAad(key, fetchedAt),
+                Arrays.copyOfRange(value, 8, value.length));
+        if (plain == null) {
+            LOGGER.fine("Cannot decrypt shared cache entry " + key);
+            return null;
+        }
+        try {
+            final String[] path = AwsParameterStoreCache.toPathKey(key);
+            return new ParameterCacheEntry(ParameterSnapshotCodec.decode(plain),
+                    path != null && Boolean.parseBoolean(path[2]), fetchedAt, null);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot read shared cache entry " + key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, List<Parameter> parameters, long fetchedAt) {
+        final long ttl = TimeUnit.SECONDS.toMillis(AwsParameterStoreCache.TTL)
+                - (System.currentTimeMillis() - fetchedAt);
+        if (ttl <= 0 || !isAvailable()) {
+            return;
+        }
+        try {
+            final byte[] encrypted = ParameterSnapshotCodec.encrypt(this.key, toAad(key, fetchedAt),
+                    ParameterSnapshotCodec.encode(parameters));
+            final byte[] value = ByteBuffer.allocate(8 + encrypted.length).putLong(fetchedAt).put(encrypted).array();
+            execute(toBytes("SET"), toBytes(PREFIX + key), value, toBytes("PX"), toBytes(Long.toString(ttl)));
+        } catch (IOException e) {
+            onUnavailable(e);
+        }
+    }
+
+    @Override
+    public boolean evict(String key) {
+        if (!isAvailable()) {
+            return false;
+        }
+        try {
+            return (Long) execute(toBytes("DEL"), toBytes(PREFIX + key)) > 0;
+        } catch (IOException e) {
+            onUnavailable(e);
+            return false;
+        }
+    }
+
+    @Override
+    public int invalidate(String regionName, String name) {
+        if (!isAvailable()) {
+            return 0;
+        }
+        try {
+            final List<byte[]> command = new ArrayList<>();
+            command.add(toBytes("DEL"));
+            String cursor = "0";
+            do {
+                final List<?> reply = (List<?>) execute(toBytes("SCAN"), toBytes(cursor), toBytes("MATCH"),
+                        toBytes(PREFIX + "*@" + regionName + "|*"), toBytes("COUNT"),
+                        toBytes(Integer.toString(SCAN_COUNT)));
+                cursor = fromBytes((byte[]) reply.get(0));
+                for (Object redisKey : (List<?>) reply.get(1)) {
+                    final String fetchKey = fromBytes((byte[]) redisKey).substring(PREFIX.length());
+                    if (regionName.equals(AwsParameterStoreCache.toRegion(fetchKey))
+                            && AwsParameterStoreCache.mayContain(fetchKey, name)) {
+                        command.add((byte[]) redisKey);
+                    }
+                }
+            } while (!"0".equals(cursor));
+            if (command.size() == 1) {
+                return 0;
+            }
+            return ((Long) execute(command.toArray(new byte[command.size()][]))).intValue();
+        } catch (IOException e) {
+            onUnavailable(e);
+            return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (ssl ? "rediss://" : "redis://") + host + ":" + port + "/" + database;
+    }
+
+    private boolean isAvailable() {
+        return System.currentTimeMillis() >= unavailableUntil;
+    }
+
+    private void onUnavailable(IOException e) {
+        unavailableUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_INTERVAL);
+        LOGGER.log(Level.WARNING, "Shared cache " + this + " is unavailable: " + e.getMessage(), e);
+    }
+
+    /**
+     * Runs a command on an idle connection, or on a new one if there is none.
+     * Connections are only reused after a successful reply.
+     */
+    private Object execute(byte[]... command) throws IOException {
+        Connection connection = idle.poll();
+        if (connection == null) {
+            connection = connect();
+        }
+        final Object reply;
+        try {
+            reply = connection.execute(command);
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        } catch (RuntimeException e) {
+            connection.close();
+            throw new IOException("Invalid Redis reply: " + e.getMessage(), e);
+        }
+        if (idle.size() < MAX_IDLE) {
+            idle.offer(connection);
+        } else {
+            connection.close();
+        }
+        return reply;
+    }
+
+    private Connection connect() throws IOException {
+        final Socket socket = ssl ? SSLSocketFactory.getDefault().createSocket() : new Socket();
+        final Connection connection;
+        try {
+            if (socket instanceof SSLSocket) {
+                final SSLParameters parameters = ((SSLSocket) socket).getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                ((SSLSocket) socket).setSSLParameters(parameters);
+            }
+            socket.connect(new InetSocketAddress(host, port), TIMEOUT);
+            socket.setSoTimeout(TIMEOUT);
+            connection = new Connection(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        try {
+            if (password != null && user != null) {
+                connection.execute(toBytes("AUTH"), toBytes(user), toBytes(password));
+            } else if (password != null) {
+                connection.execute(toBytes("AUTH"), toBytes(password));
+            }
+            if (database != 0) {
+                connection.execute(toBytes("SELECT"), toBytes(Integer.toString(database)));
+            }
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private static byte[] toAad(String key, long fetchedAt) {
+        return toBytes(key + "|" + fetchedAt);
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String fromBytes(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Connection speaking RESP, the Redis serialization protocol.
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        /**
+         * Sends a command as an array of bulk strings and reads the reply.
+         *
+         * @return status text, integer, bulk string bytes, list of replies or
+         *         <code>null</code>
+         * @throws IOException if the connection fails or the server replies
+         *         with an error
+         */
+        Object execute(byte[]... command) throws IOException {
+            out.write(toBytes("*" + command.length));
+            out.write(CRLF);
+            for (byte[] argument : command) {
+                out.write(toBytes("$" + argument.length));
+                out.write(CRLF);
+                out.write(argument);
+                out.write(CRLF);
+            }
+            out.flush();
+            return read();
+        }
+
+        private Object read() throws IOException {
+            final int type = in.read();
+            if (type < 0) {
+                throw new EOFException("Connection closed by Redis");
+            }
+            final String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new IOException("Redis error: " + line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$':
+                    final int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    final byte[] data = new byte[length];
+                    in.readFully(data);
+                    in.readFully(new byte[CRLF.length]);
+                    return data;
+                case '*':
+                    final int count = Integer.parseInt(line);
+                    if (count < 0) {
+                        return null;
+                    }
+                    final List<Object> items = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        items.add(read());
+                    }
+                    return items;
+                default:
+                    throw new IOException("Unexpected Redis reply type " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int previous = -1;
+            while (true) {
+                final int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Connection closed by Redis");
+                }
+                if (previous == '\r' && b == '\n') {
+                    final byte[] bytes = line.toByteArray();
+                    return new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_8);
+                }
+                line.write(b);
+                previous = b;
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Cannot close Redis connection", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Cause;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import jenkins.model.RunAction2;
+import jenkins.security.HexStringConfidentialKey;
+import jenkins.util.Timer;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parameters fetched by the wrappers of a pipeline run, shared by its
+ * parallel branches and by runs restarted from one of its stages.
+ * <p>
+ * Each complete fetch is stored once per run under a digest of its
+ * arguments. It is encrypted with AES-GCM under a key held by the controller
+ * and saved with the run, so a run restarted from a stage starts with the
+ * snapshots of the original run. Wrappers fetching the same arguments while
+ * a fetch is in flight wait for it instead of calling AWS themselves.
+ * <p>
+ * Once the run has finished, the snapshots are only kept for
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreRunSnapshot.restartRetention</code>
+ * seconds (default 3600), the time in which a restart from a stage reuses
+ * them, and are then dropped from the run. A value of 0 drops them as soon as
+ * the run finishes.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreRunSnapshot implements RunAction2 {
+    static boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty(AwsParameterStoreRunSnapshot.class.getName() + ".enabled", "true"));
+    static long RESTART_RETENTION = Long
+            .getLong(AwsParameterStoreRunSnapshot.class.getName() + ".restartRetention", 3600);
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreRunSnapshot.class.getName());
+    private static final HexStringConfidentialKey KEY = new HexStringConfidentialKey(
+            AwsParameterStoreRunSnapshot.class, "key", 32);
+    private static final String RESTART_CAUSE = "RestartDeclarativePipelineCause";
+    private static final Object LOCK = new Object();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long expiresAt;
+    private transient Map<String, FutureTask<AwsParameterStoreAgentCache.Result>> inFlight;
+    private transient Run<?, ?> run;
+    private transient byte[] key;
+
+    /**
+     * Creates a new {@link AwsParameterStoreRunSnapshot}.
+     *
+     * @param key AES key, or <code>null</code> for the controller's key
+     */
+    AwsParameterStoreRunSnapshot(byte[] key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the snapshot of <code>run</code>, adding it if necessary. A run
+     * restarted from a stage starts with the entries of the original run.
+     *
+     * @param run the build
+     * @return snapshot shared by all wrappers of the run
+     */
+    static AwsParameterStoreRunSnapshot forRun(Run<?, ?> run) {
+        return forRun(run, null);
+    }
+
+    /**
+     * Gets the snapshot of <code>run</code>, adding one encrypted under
+     * <code>key</code> if necessary.
+     *
+     * @param run the build
+     * @param key AES key, or <code>null</code> for the controller's key
+     * @return snapshot shared by all wrappers of the run
+     */
+    static AwsParameterStoreRunSnapshot forRun(Run<?, ?> run, byte[] key) {
+        synchronized (LOCK) {
+            AwsParameterStoreRunSnapshot snapshot = run.getAction(AwsParameterStoreRunSnapshot.class);
+            if (snapshot == null) {
+                snapshot = new AwsParameterStoreRunSnapshot(key);
+                final Run<?, ?> original = getRestartedFrom(run);
+                final AwsParameterStoreRunSnapshot originalSnapshot = original == null ? null
+                        : original.getAction(AwsParameterStoreRunSnapshot.class);
+                if (originalSnapshot != null) {
+                    synchronized (originalSnapshot) {
+                        if (!originalSnapshot.isExpired(System.currentTimeMillis())) {
+                            snapshot.entries.putAll(originalSnapshot.entries);
+                        }
+                    }
+                }
+                run.addAction(snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Gets the key of a fetch: a digest of everything that decides which
+     * parameters it returns.
+     *
+     * @param fetchKey         scope and arguments, see
+     *                         {@link AwsParameterStoreService#toFetchKey}
+     * @param decryption       decryption policy
+     * @param decryptNames     SecureString names to decrypt
+     * @param parameterFilters server-side filters
+     * @return key
+     */
+    static String toKey(String fetchKey, String decryption, String decryptNames, String parameterFilters) {
+        final String arguments = fetchKey + "|" + StringUtils.defaultString(decryption) + "|"
+                + StringUtils.defaultString(decryptNames) + "|" + StringUtils.defaultString(parameterFilters);
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Util.toHexString(digest.digest(arguments.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the parameters of the snapshot for <code>key</code>, or fetches
+     * them. Only the first of concurrent callers for a key fetches; the
+     * others use its parameters if the fetch was complete, and fetch
+     * themselves otherwise. Complete fetches are added to the snapshot and
+     * the run is saved.
+     *
+     * @param key   key of the fetch, see {@link #toKey}
+     * @param fetch fetches the parameters
+     * @return fetch result
+     * @throws IOException          if the fetch failed
+     * @throws InterruptedException if interrupted while fetching
+     */
+    AwsParameterStoreAgentCache.Result fetch(String key, Callable<AwsParameterStoreAgentCache.Result> fetch)
+            throws IOException, InterruptedException {
+        final FutureTask<AwsParameterStoreAgentCache.Result> task;
+        final boolean owner;
+        synchronized (this) {
+            final List<Parameter> parameters = read(key);
+            if (parameters != null) {
+                LOGGER.fine("Using run parameter snapshot");
+                return toResult(parameters);
+            }
+            if (inFlight == null) {
+                inFlight = new HashMap<>();
+            }
+            final FutureTask<AwsParameterStoreAgentCache.Result> current = inFlight.get(key);
+            owner = current == null;
+            task = owner ? new FutureTask<>(fetch) : current;
+            if (owner) {
+                inFlight.put(key, task);
+            }
+        }
+        if (!owner) {
+            try {
+                final AwsParameterStoreAgentCache.Result result = task.get();
+                if (result.isComplete()) {
+                    return toResult(result.getParameters());
+                }
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.FINE, "Shared fetch failed, fetching again", e.getCause());
+            }
+            return call(fetch);
+        }
+        try {
+            task.run();
+            final AwsParameterStoreAgentCache.Result result = task.get();
+            if (result.isComplete()) {
+                write(key, result.getParameters());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            synchronized (this) {
+                inFlight.remove(key);
+            }
+        }
+    }
+
+    private List<Parameter> read(String key) {
+        final Entry entry = entries.get(key);
+        if (entry == null || isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        final byte[] plain = ParameterSnapshotCodec.decrypt(getKey(), toAad(key, entry.fetchedAt),
+                Util.fromHexString(entry.data));
+        if (plain == null) {
+            LOGGER.fine("Cannot decrypt run parameter snapshot " + key);
+            return null;
+        }
+        try {
+            return ParameterSnapshotCodec.decode(plain);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot read run parameter snapshot " + key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, List<Parameter> parameters) throws IOException {
+        final long fetchedAt = System.currentTimeMillis();
+        final byte[] encrypted = ParameterSnapshotCodec.encrypt(getKey(), toAad(key, fetchedAt),
+                ParameterSnapshotCodec.encode(parameters));
+        synchronized (this) {
+            entries.put(key, new Entry(fetchedAt, Util.toHexString(encrypted)));
+        }
+        if (run != null) {
+            run.save();
+        }
+    }
+
+    private synchronized byte[] getKey() {
+        if (key == null) {
+            key = Util.fromHexString(KEY.get());
+        }
+        return key;
+    }
+
+    private synchronized boolean isExpired(long now) {
+        return expiresAt > 0 && now >= expiresAt;
+    }
+
+    /**
+     * Starts the retention period once the run has finished, dropping the
+     * entries right away if there is none.
+     *
+     * @param retention milliseconds to keep the entries for restarts
+     */
+    void onCompleted(long retention) {
+        synchronized (this) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            if (retention > 0) {
+                expiresAt = System.currentTimeMillis() + retention;
+            } else {
+                entries.clear();
+            }
+        }
+        save();
+        if (retention > 0) {
+            Timer.get().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    dropExpired();
+                }
+            }, retention, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the entries if their retention has passed.
+     *
+     * @return <code>true</code> if entries were dropped
+     */
+    boolean dropExpired() {
+        synchronized (this) {
+            if (entries.isEmpty() || !isExpired(System.currentTimeMillis())) {
+                return false;
+            }
+            entries.clear();
+        }
+        save();
+        return true;
+    }
+
+    private void save() {
+        if (run != null) {
+            try {
+                run.save();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot save run parameter snapshot of " + run, e);
+            }
+        }
+    }
+
+    private static byte[] toAad(String key, long fetchedAt) {
+        return (key + "|" + fetchedAt).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static AwsParameterStoreAgentCache.Result toResult(List<Parameter> parameters) {
+        final AwsParameterStoreFetchMetrics metrics = new AwsParameterStoreFetchMetrics();
+        metrics.recordCacheHit();
+        return new AwsParameterStoreAgentCache.Result(parameters, 0, 0, metrics, true, false);
+    }
+
+    private static AwsParameterStoreAgentCache.Result call(Callable<AwsParameterStoreAgentCache.Result> fetch)
+            throws IOException, InterruptedException {
+        try {
+            return fetch.call();
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) throws InterruptedException {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof InterruptedException) {
+            throw (InterruptedException) cause;
+        } else if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Gets the run a run was restarted from with "Restart from Stage". The
+     * cause comes from the Declarative Pipeline plugin, which this plugin does
+     * not depend on, so it is looked up by name.
+     */
+    private static Run<?, ?> getRestartedFrom(Run<?, ?> run) {
+        for (Cause cause : run.getCauses()) {
+            if (cause.getClass().getSimpleName().equals(RESTART_CAUSE)) {
+                try {
+                    final Object original = cause.getClass().getMethod("getOriginal").invoke(cause);
+                    if (original instanceof Run) {
+                        return (Run<?, ?>) original;
+                    }
+                } catch (ReflectiveOperationException e) {
+                    LOGGER.log(Level.FINE, "Cannot get the restarted run", e);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+        if (isExpired(System.currentTimeMillis())) {
+            Timer.get().submit(new Runnable() {
+                @Override
+                public void run() {
+                    dropExpired();
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts the retention of the snapshot when a run finishes.
+     */
+    @Extension
+    public static final class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onFinalized(Run<?, ?> run) {
+            final AwsParameterStoreRunSnapshot snapshot = run.getAction(AwsParameterStoreRunSnapshot.class);
+            if (snapshot != null) {
+                snapshot.onCompleted(TimeUnit.SECONDS.toMillis(RESTART_RETENTION));
+            }
+        }
+    }
+
+    /**
+     * Encrypted parameters of a fetch.
+     */
+    private static final class Entry {
+        private final long fetchedAt;
+        private final String data;
+
+        Entry(long fetchedAt, String data) {
+            this.fetchedAt = fetchedAt;
+            this.data = data;
+        }
+    }
+}
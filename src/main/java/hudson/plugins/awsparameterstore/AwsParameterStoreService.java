@@ -23,26 +23,46 @@
  */
 package hudson.plugins.awsparameterstore;
 
-import com.amazonaws.ClientConfiguration;
+import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
-import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementClient;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
 import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
-import com.amazonaws.services.simplesystemsmanagement.model.GetParameterRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterStringFilter;
-import com.cloudbees.jenkins.plugins.awscredentials.AWSCredentialsHelper;
-import com.cloudbees.jenkins.plugins.awscredentials.AmazonWebServicesCredentials;
-import hudson.ProxyConfiguration;
-import jenkins.model.Jenkins;
+import com.google.common.util.concurrent.ListenableFuture;
+import hudson.Util;
 import jenkins.tasks.SimpleBuildWrapper;
 import org.apache.commons.lang.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -56,13 +76,47 @@ public class AwsParameterStoreService {
     public static final String NAMING_BASENAME = "basename";
     public static final String NAMING_RELATIVE = "relative";
     public static final String NAMING_ABSOLUTE = "absolute";
+    public static final String DECRYPTION_ALWAYS = "always";
+    public static final String DECRYPTION_SELECTED = "selected";
+    public static final String DECRYPTION_NEVER = "never";
+    public static final String DEADLINE_FAIL = "fail";
+    public static final String DEADLINE_PARTIAL = "partial";
+    public static final String DEADLINE_CACHED = "cached";
+
+    private static final String SECURE_STRING_TYPE = "SecureString";
+    private static final int DECRYPT_BATCH_SIZE = 10;
+    private static final int DESCRIBE_PAGE_SIZE = 50;
+    private static final String FILTER_OPTION_EQUALS = "Equals";
 
     private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreService.class.getName());
 
+    static int FETCH_CONCURRENCY = Integer
+            .getInteger(AwsParameterStoreService.class.getName() + ".fetchConcurrency", 0);
+    static int SHARD_PARALLELISM = Integer
+            .getInteger(AwsParameterStoreService.class.getName() + ".shardParallelism", 0);
+
     private AWSSimpleSystemsManagement client;
+    private AWSSimpleSystemsManagementAsync asyncClient;
+    private AwsParameterStoreAsyncFetcher asyncFetcher;
+    private int clientUsers;
 
     private String credentialsId;
     private String regionName;
+    private String decryption = DECRYPTION_ALWAYS;
+    private Set<String> decryptNames = Collections.emptySet();
+    private List<ParameterStringFilter> parameterFilters = Collections.emptyList();
+    private String tenant = "";
+    private final AtomicLong throttleWaitMillis = new AtomicLong();
+    private boolean staleIfUnavailable;
+    private String envPrefix = "";
+    private long staleFetchedAt;
+    private boolean fetchComplete;
+    private boolean expandJson;
+    private final List<String> expandedSecureStrings = new ArrayList<>();
+    private final AwsParameterStoreFetchMetrics metrics = new AwsParameterStoreFetchMetrics();
+    private long deadline;
+    private String deadlinePolicy = DEADLINE_FAIL;
+    private volatile boolean deadlineExceeded;
 
     /**
      * Creates a new {@link AwsParameterStoreService}.
@@ -76,46 +130,384 @@ public class AwsParameterStoreService {
     }
 
     /**
-     * Returns an {@link AWSSimpleSystemsManagement}.
+     * Sets which SecureString parameters are decrypted. With
+     * <code>always</code> every parameter is fetched decrypted. With
+     * <code>selected</code> parameters are fetched without decryption and only
+     * the SecureStrings named in <code>decryptNames</code> are decrypted, in
+     * batches; other SecureStrings are skipped. With <code>never</code> no
+     * SecureStrings are returned.
      *
-     * @return {@link AWSSimpleSystemsManagement} singleton using the
-     *         <code>credentialsId</code> and <code>regionName</code>
+     * @param decryption   decryption policy: always, selected, never
+     * @param decryptNames comma separated names or basenames of the
+     *                     SecureStrings to decrypt
      */
-    private synchronized AWSSimpleSystemsManagement getAWSSimpleSystemsManagement() {
-        if (client == null) {
-            ClientConfiguration clientConfiguration = new ClientConfiguration();
-            Jenkins jenkins = Jenkins.getInstance();
-            if (jenkins != null) {
-                ProxyConfiguration proxy = jenkins.proxy;
-                if (proxy != null) {
-                    clientConfiguration.setProxyHost(proxy.name);
-                    clientConfiguration.setProxyPort(proxy.port);
-                    clientConfiguration.setProxyUsername(proxy.getUserName());
-                    clientConfiguration.setProxyPassword(proxy.getPassword());
+    public void setDecryption(String decryption, String decryptNames) {
+        this.decryption = StringUtils.defaultIfEmpty(decryption, DECRYPTION_ALWAYS);
+        this.decryptNames = new TreeSet<>();
+        if (decryptNames != null) {
+            for (String name : decryptNames.split(",")) {
+                if (StringUtils.isNotBlank(name)) {
+                    this.decryptNames.add(name.trim());
                 }
             }
+        }
+    }
 
-            AmazonWebServicesCredentials credentials = getAWSCredentials(credentialsId);
-            if (credentials == null) {
-                client = AWSSimpleSystemsManagementClient.builder().withClientConfiguration(clientConfiguration)
-                        .withRegion(regionName).build();
+    /**
+     * Sets additional server-side filters, one per line, in the form
+     * <code>Key [Option] Value1,Value2</code>, e.g.
+     * <code>Type Equals SecureString</code> or <code>tag:team payments</code>.
+     * The option defaults to <code>Equals</code>. Filters are passed to both
+     * <code>DescribeParameters</code> and <code>GetParametersByPath</code>.
+     *
+     * @param parameterFilters filter specification
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public void setParameterFilters(String parameterFilters) {
+        this.parameterFilters = parseParameterFilters(parameterFilters);
+    }
+
+    /**
+     * Parses a filter specification.
+     *
+     * @param parameterFilters filter specification, one filter per line
+     * @return parsed filters
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    static List<ParameterStringFilter> parseParameterFilters(String parameterFilters) {
+        final List<ParameterStringFilter> filters = new ArrayList<>();
+        if (parameterFilters == null) {
+            return filters;
+        }
+        for (String line : parameterFilters.split("\\r?\\n")) {
+            final String[] tokens = StringUtils.split(line);
+            if (tokens.length == 0) {
+                continue;
+            } else if (tokens.length == 2) {
+                filters.add(new ParameterStringFilter().withKey(tokens[0]).withOption(FILTER_OPTION_EQUALS)
+                        .withValues(tokens[1].split(",")));
+            } else if (tokens.length == 3) {
+                filters.add(new ParameterStringFilter().withKey(tokens[0]).withOption(tokens[1])
+                        .withValues(tokens[2].split(",")));
             } else {
-                client = AWSSimpleSystemsManagementClient.builder().withCredentials(credentials)
-                        .withClientConfiguration(clientConfiguration).withRegion(regionName).build();
+                throw new IllegalArgumentException("Invalid parameter filter: \"" + line.trim() + "\"");
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Sets the tenant whose queue this service waits in for
+     * {@link AwsParameterStoreThrottle} permits.
+     *
+     * @param tenant tenant, see {@link AwsParameterStoreThrottle#toTenant}
+     */
+    public void setTenant(String tenant) {
+        this.tenant = StringUtils.defaultString(tenant);
+    }
+
+    /**
+     * Gets how long the calls of this service were queued by the
+     * {@link AwsParameterStoreThrottle}.
+     *
+     * @return queue wait in milliseconds
+     */
+    public synchronized long getThrottleWaitMillis() {
+        long waitMillis = throttleWaitMillis.get();
+        if (asyncFetcher != null) {
+            waitMillis += asyncFetcher.getThrottleWaitMillis();
+        }
+        return waitMillis;
+    }
+
+    /**
+     * Starts a call that may lease pooled clients. The leases are returned
+     * when the outermost call ends with {@link #endClientUse}, so that
+     * {@link AwsParameterStoreClients#clear} cannot shut down a client while
+     * this service is using it.
+     */
+    private synchronized void beginClientUse() {
+        clientUsers++;
+    }
+
+    /**
+     * Ends a call started with {@link #beginClientUse}, returning the leased
+     * clients if no other call of this service is running.
+     */
+    private void endClientUse() {
+        final AWSSimpleSystemsManagement leasedClient;
+        final AWSSimpleSystemsManagementAsync leasedAsyncClient;
+        synchronized (this) {
+            if (--clientUsers > 0) {
+                return;
+            }
+            leasedClient = client;
+            leasedAsyncClient = asyncClient;
+            client = null;
+            asyncClient = null;
+            if (asyncFetcher != null) {
+                throttleWaitMillis.addAndGet(asyncFetcher.getThrottleWaitMillis());
+                asyncFetcher = null;
             }
         }
+        AwsParameterStoreClients.getInstance().release(leasedClient);
+        AwsParameterStoreClients.getInstance().release(leasedAsyncClient);
+    }
+
+    /**
+     * Sets whether the last complete fetch may be used while AWS Parameter
+     * Store is unavailable. Otherwise {@link #fetchParameters} fails fast once
+     * the {@link AwsParameterStoreCircuitBreaker} is open.
+     *
+     * @param staleIfUnavailable use last known good parameters during outages
+     */
+    public void setStaleIfUnavailable(boolean staleIfUnavailable) {
+        this.staleIfUnavailable = staleIfUnavailable;
+    }
+
+    /**
+     * Gets when the parameters returned by {@link #fetchParameters} were
+     * fetched if they are a stale last known good snapshot.
+     *
+     * @return fetch time in milliseconds, or 0 if the parameters are current
+     */
+    public long getStaleFetchedAt() {
+        return staleFetchedAt;
+    }
+
+    /**
+     * Gets whether the parameters returned by the last call to
+     * {@link #fetchParameters} are complete and current, so they may be
+     * cached elsewhere.
+     *
+     * @return <code>true</code> if every request succeeded or the parameters
+     *         came from the cache
+     */
+    boolean isFetchComplete() {
+        return fetchComplete;
+    }
+
+    /**
+     * Sets when {@link #fetchParameters} has to return. Calls still running
+     * at the deadline are aborted and no further calls are made; the policy
+     * then decides the outcome: <code>fail</code> throws an
+     * {@link AwsParameterStoreDeadlineException}, <code>partial</code> returns
+     * the parameters fetched so far and <code>cached</code> returns the last
+     * complete fetch, failing if there is none.
+     *
+     * @param deadline       deadline in milliseconds since the epoch, or 0 for
+     *                       none
+     * @param deadlinePolicy deadline policy: fail, partial, cached
+     */
+    public void setDeadline(long deadline, String deadlinePolicy) {
+        this.deadline = deadline;
+        this.deadlinePolicy = StringUtils.defaultIfEmpty(deadlinePolicy, DEADLINE_FAIL);
+    }
+
+    /**
+     * Gets the deadline set by {@link #setDeadline}.
+     *
+     * @return deadline in milliseconds since the epoch, or 0 for none
+     */
+    long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets whether the deadline cut the last call to {@link #fetchParameters}
+     * short, so that its parameters are partial or stale.
+     *
+     * @return <code>true</code> if the deadline was exceeded
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    /**
+     * Sets a prefix for the names of the environment variables added by
+     * {@link #buildEnvVars}.
+     *
+     * @param envPrefix environment variable prefix, may be null
+     */
+    public void setEnvPrefix(String envPrefix) {
+        this.envPrefix = StringUtils.defaultString(envPrefix);
+    }
+
+    /**
+     * Sets whether parameters holding a JSON object also add a variable for
+     * each leaf, named after the parameter's variable and the keys leading to
+     * the leaf, e.g. <code>DB_HOST</code> for <code>{"host": ...}</code> in
+     * <code>DB</code>.
+     *
+     * @param expandJson expand JSON object values
+     */
+    public void setExpandJson(boolean expandJson) {
+        this.expandJson = expandJson;
+    }
+
+    /**
+     * Gets the leaves expanded from SecureString JSON values by
+     * {@link #buildEnvVars}, which need to be redacted like the values
+     * themselves. Numbers and booleans are included, as their literal text is
+     * just as secret.
+     *
+     * @return non-empty leaves of SecureStrings
+     */
+    public List<String> getExpandedSecureStrings() {
+        return expandedSecureStrings;
+    }
+
+    /**
+     * Gets the AWS calls and cache lookups made by this service.
+     *
+     * @return live metrics
+     */
+    public AwsParameterStoreFetchMetrics getMetrics() {
+        return metrics;
+    }
+
+    private AwsParameterStoreCircuitBreaker getCircuitBreaker() {
+        return AwsParameterStoreCircuitBreaker.forScope(AwsParameterStoreCache.toScope(credentialsId, regionName));
+    }
+
+    /**
+     * Waits for an {@link AwsParameterStoreThrottle} permit for the account
+     * and region of this service's credentials, failing fast while its circuit breaker is open.
+     * With a deadline, the wait is bounded by it and <code>request</code> is
+     * limited to the time left, retries included.
+     *
+     * @param request the request about to be made
+     * @return permit, to be released once the call finished
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private AwsParameterStoreThrottle.Permit acquirePermit(AmazonWebServiceRequest request)
+            throws InterruptedException {
+        if (!getCircuitBreaker().allowRequest()) {
+            throw unavailable();
+        }
+        final String scope = AwsParameterStoreThrottle.toScope(credentialsId, regionName);
+        if (deadline <= 0) {
+            final AwsParameterStoreThrottle.Permit permit = AwsParameterStoreThrottle.getInstance()
+                    .acquire(scope, tenant);
+            throttleWaitMillis.addAndGet(permit.getWaitMillis());
+            return permit;
+        }
+        final long waitMillis = getRemainingMillis();
+        final AwsParameterStoreThrottle.Permit permit = waitMillis <= 0 ? null
+                : AwsParameterStoreThrottle.getInstance().acquire(scope, tenant, waitMillis);
+        if (permit == null) {
+            throw deadlineExceeded();
+        }
+        throttleWaitMillis.addAndGet(permit.getWaitMillis());
+        final long remaining = getRemainingMillis();
+        if (remaining <= 0) {
+            permit.release();
+            throw deadlineExceeded();
+        }
+        request.setSdkClientExecutionTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+        return permit;
+    }
+
+    private long getRemainingMillis() {
+        return deadline - System.currentTimeMillis();
+    }
+
+    private AwsParameterStoreDeadlineException deadlineExceeded() {
+        deadlineExceeded = true;
+        return new AwsParameterStoreDeadlineException("Fetching parameters from AWS Parameter Store for "
+                + (credentialsId == null ? "default credentials" : credentialsId) + " in " + regionName
+                + " exceeded the deadline");
+    }
+
+    /**
+     * Waits for <code>future</code>, cancelling it at the deadline.
+     *
+     * @throws AwsParameterStoreDeadlineException if the deadline passed first
+     */
+    private <T> T await(Future<T> future) throws InterruptedException, ExecutionException {
+        if (deadline <= 0) {
+            return future.get();
+        }
+        try {
+            return future.get(Math.max(0, getRemainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw deadlineExceeded();
+        }
+    }
+
+    private boolean isDecryptAll() {
+        return !DECRYPTION_SELECTED.equals(decryption) && !DECRYPTION_NEVER.equals(decryption);
+    }
+
+    private boolean isDecrypted(String name) {
+        if (isDecryptAll()) {
+            return true;
+        } else if (DECRYPTION_NEVER.equals(decryption)) {
+            return false;
+        }
+        return decryptNames.contains(name) || decryptNames.contains(name.substring(name.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Gets the cache scope of this service. Fetches with a selective decryption
+     * policy or server-side filters return different parameters and are cached
+     * separately, under a digest of the policy and filters so that their
+     * values cannot be mistaken for the separators of the cache key.
+     *
+     * @return cache scope
+     */
+    private String getScope() {
+        final String scope = AwsParameterStoreCache.toScope(credentialsId, regionName);
+        final StringBuilder variant = new StringBuilder();
+        if (!isDecryptAll()) {
+            variant.append(decryption).append(':').append(StringUtils.join(decryptNames, ",")).append('\n');
+        }
+        for (ParameterStringFilter filter : parameterFilters) {
+            variant.append(filter.getKey()).append(' ').append(filter.getOption()).append(' ')
+                    .append(StringUtils.join(filter.getValues(), ",")).append('\n');
+        }
+        if (variant.length() == 0) {
+            return scope;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return scope + "|"
+                    + Util.toHexString(digest.digest(variant.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns an {@link AWSSimpleSystemsManagement}, leased until the current
+     * call ends.
+     *
+     * @return {@link AWSSimpleSystemsManagement} singleton using the
+     *         <code>credentialsId</code> and <code>regionName</code>
+     */
+    private synchronized AWSSimpleSystemsManagement getAWSSimpleSystemsManagement() {
+        if (client == null) {
+            client = AwsParameterStoreClients.getInstance().acquireClient(credentialsId, regionName);
+        }
         return client;
     }
 
     /**
-     * Gets AWS credentials.
+     * Returns an {@link AwsParameterStoreAsyncFetcher} limited to
+     * <code>FETCH_CONCURRENCY</code> requests in flight.
      *
-     * @param credentialsId Jenkins credentials identifier
-     * @return AWS credentials for <code>credentialsId</code> that can be used for
-     *         AWS calls
+     * @return fetcher using the <code>credentialsId</code> and
+     *         <code>regionName</code>
      */
-    private AmazonWebServicesCredentials getAWSCredentials(String credentialsId) {
-        return AWSCredentialsHelper.getCredentials(credentialsId, Jenkins.getActiveInstance());
+    private synchronized AwsParameterStoreAsyncFetcher getAsyncFetcher() {
+        if (asyncFetcher == null) {
+            asyncClient = AwsParameterStoreClients.getInstance().acquireAsyncClient(credentialsId, regionName);
+            asyncFetcher = new AwsParameterStoreAsyncFetcher(asyncClient, FETCH_CONCURRENCY,
+                    AwsParameterStoreCache.toScope(credentialsId, regionName),
+                    AwsParameterStoreThrottle.toScope(credentialsId, regionName), tenant, metrics, deadline);
+        }
+        return asyncFetcher;
     }
 
     /**
@@ -134,49 +526,440 @@ public class AwsParameterStoreService {
         }
     }
 
+    /**
+     * Fetches parameters from the cache, an in-flight prefetch or AWS.
+     *
+     * @param path         hierarchy for the parameter
+     * @param recursive    fetch all parameters within a hierarchy
+     * @param namePrefixes filter parameters by Name with beginsWith filter
+     * @param option       option for filter operation
+     * @return fetched parameters
+     * @throws AwsParameterStoreUnavailableException if AWS Parameter Store is
+     *         unavailable and no last known good parameters may be used
+     * @throws AwsParameterStoreDeadlineException if the deadline passed and its
+     *         policy does not allow partial or cached parameters
+     */
     public List<Parameter> fetchParameters(String path, Boolean recursive, String namePrefixes, String option) {
+        deadlineExceeded = false;
+        List<Parameter> parameters = getCachedParameters(path, recursive, namePrefixes, option);
+        if (parameters == null) {
+            parameters = awaitPrefetch(toFetchKey(path, recursive, namePrefixes, option));
+        }
+        if (parameters != null) {
+            LOGGER.fine("Using cached parameters");
+            metrics.recordCacheHit();
+            fetchComplete = true;
+            return parameters;
+        }
+        metrics.recordCacheMiss();
+        parameters = new ArrayList<>();
+        fetchComplete = loadParameters(path, recursive, namePrefixes, option, parameters);
+        if (!fetchComplete && deadline > 0 && (deadlineExceeded || getRemainingMillis() <= 0)) {
+            deadlineExceeded = true;
+            return onDeadlineExceeded(toFetchKey(path, recursive, namePrefixes, option), parameters);
+        }
+        if (!fetchComplete && getCircuitBreaker().isOpen()) {
+            return getLastKnownGood(toFetchKey(path, recursive, namePrefixes, option));
+        }
+        return parameters;
+    }
+
+    private List<Parameter> getLastKnownGood(String key) {
+        if (staleIfUnavailable) {
+            final ParameterCacheEntry entry = AwsParameterStoreCache.getInstance().getLastKnownGood(key);
+            final List<Parameter> parameters = entry == null ? null : entry.getParameters();
+            if (parameters != null) {
+                staleFetchedAt = entry.getFetchedAt();
+                return parameters;
+            }
+        }
+        throw unavailable();
+    }
+
+    private List<Parameter> onDeadlineExceeded(String key, List<Parameter> parameters) {
+        if (DEADLINE_PARTIAL.equals(deadlinePolicy)) {
+            return parameters;
+        }
+        if (DEADLINE_CACHED.equals(deadlinePolicy)) {
+            final ParameterCacheEntry entry = AwsParameterStoreCache.getInstance().getLastKnownGood(key);
+            final List<Parameter> lastKnownGood = entry == null ? null : entry.getParameters();
+            if (lastKnownGood != null) {
+                staleFetchedAt = entry.getFetchedAt();
+                return lastKnownGood;
+            }
+        }
+        throw deadlineExceeded();
+    }
+
+    private AwsParameterStoreUnavailableException unavailable() {
+        return new AwsParameterStoreUnavailableException("AWS Parameter Store is unavailable for "
+                + (credentialsId == null ? "default credentials" : credentialsId) + " in " + regionName);
+    }
+
+    /**
+     * Fetches parameters into the cache unless they are already cached or
+     * being fetched. Builds calling {@link #fetchParameters} for the same
+     * arguments meanwhile wait for this fetch instead of starting their own.
+     *
+     * @param path         hierarchy for the parameter
+     * @param recursive    fetch all parameters within a hierarchy
+     * @param namePrefixes filter parameters by Name with beginsWith filter
+     * @param option       option for filter operation
+     */
+    void prefetchParameters(final String path, final Boolean recursive, final String namePrefixes,
+            final String option) {
+        if (getCachedParameters(path, recursive, namePrefixes, option) != null) {
+            return;
+        }
+        final AwsParameterStoreCache cache = AwsParameterStoreCache.getInstance();
+        final String key = toFetchKey(path, recursive, namePrefixes, option);
+        final FutureTask<List<Parameter>> task = new FutureTask<>(new Callable<List<Parameter>>() {
+            @Override
+            public List<Parameter> call() {
+                List<Parameter> parameters = new ArrayList<>();
+                return loadParameters(path, recursive, namePrefixes, option, parameters) ? parameters : null;
+            }
+        });
+        if (cache.putInFlight(key, task)) {
+            try {
+                task.run();
+            } finally {
+                cache.removeInFlight(key, task);
+            }
+        }
+    }
+
+    /**
+     * Gets the key identifying a fetch by this service's scope and arguments.
+     */
+    String toFetchKey(String path, Boolean recursive, String namePrefixes, String option) {
+        final String scope = getScope();
+        if (StringUtils.isEmpty(path)) {
+            return scope + "|" + option + "|" + StringUtils.defaultString(namePrefixes);
+        } else {
+            return scope + "|" + path + "|" + Boolean.TRUE.equals(recursive);
+        }
+    }
+
+    private List<Parameter> getCachedParameters(String path, Boolean recursive, String namePrefixes, String option) {
+        final AwsParameterStoreCache cache = AwsParameterStoreCache.getInstance();
+        if (StringUtils.isEmpty(path)) {
+            return cache.getParameters(toFetchKey(path, recursive, namePrefixes, option));
+        } else {
+            return cache.getParametersByPath(getScope(), path,
+                    Boolean.TRUE.equals(recursive));
+        }
+    }
+
+    private List<Parameter> awaitPrefetch(String key) {
+        final Future<List<Parameter>> prefetch = AwsParameterStoreCache.getInstance().getInFlight(key);
+        if (prefetch == null) {
+            return null;
+        }
+        try {
+            return deadline <= 0 ? prefetch.get()
+                    : prefetch.get(Math.max(0, getRemainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOGGER.fine("Prefetch did not complete before the deadline");
+        } catch (CancellationException | ExecutionException e) {
+            LOGGER.log(Level.FINE, "Prefetch failed: " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Fetches parameters from AWS into <code>parameters</code> and caches them if
+     * the fetch was complete.
+     *
+     * @return <code>true</code> if every request succeeded
+     */
+    private boolean loadParameters(final String path, final Boolean recursive, final String namePrefixes,
+            final String option, List<Parameter> parameters) {
+        beginClientUse();
+        try {
+            return loadParametersWithClients(path, recursive, namePrefixes, option, parameters);
+        } finally {
+            endClientUse();
+        }
+    }
+
+    private boolean loadParametersWithClients(final String path, final Boolean recursive, final String namePrefixes,
+            final String option, List<Parameter> parameters) {
+        final AwsParameterStoreCache cache = AwsParameterStoreCache.getInstance();
+        final AwsParameterStoreService refreshService = deadline > 0 ? withoutDeadline() : this;
+        final Runnable refresher = new Runnable() {
+            @Override
+            public void run() {
+                refreshService.loadParameters(path, recursive, namePrefixes, option, new ArrayList<Parameter>());
+            }
+        };
+        final boolean complete;
+        if (FETCH_CONCURRENCY > 0) {
+            complete = fetchEnvVarsAsync(path, recursive, namePrefixes, option, parameters);
+        } else if (StringUtils.isEmpty(path)) {
+            complete = fetchEnvVarsWithParameters(namePrefixes, option, parameters);
+        } else {
+            complete = fetchEnvVarsWithParametersByPath(path, recursive, parameters);
+        }
+        if (complete && (staleIfUnavailable || DEADLINE_CACHED.equals(deadlinePolicy))) {
+            cache.putLastKnownGood(toFetchKey(path, recursive, namePrefixes, option), parameters);
+        }
+        if (complete) {
+            if (StringUtils.isEmpty(path)) {
+                cache.putParameters(toFetchKey(path, recursive, namePrefixes, option), parameters, refresher);
+            } else {
+                cache.putParametersByPath(getScope(), path,
+                        Boolean.TRUE.equals(recursive), parameters, refresher);
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Copies this service without its deadline, for refreshes that outlive the
+     * build.
+     */
+    private AwsParameterStoreService withoutDeadline() {
+        final AwsParameterStoreService service = new AwsParameterStoreService(credentialsId, regionName);
+        service.decryption = decryption;
+        service.decryptNames = decryptNames;
+        service.parameterFilters = parameterFilters;
+        service.tenant = tenant;
+        service.staleIfUnavailable = staleIfUnavailable;
+        service.deadlinePolicy = deadlinePolicy;
+        return service;
+    }
+
+    /**
+     * Fetches parameters with the non-blocking engine and waits for the result.
+     *
+     * @return <code>true</code> if every request succeeded
+     */
+    private boolean fetchEnvVarsAsync(String path, Boolean recursive, String namePrefixes, String option,
+            List<Parameter> parameters) {
+        final ListenableFuture<List<Parameter>> future;
         if (StringUtils.isEmpty(path)) {
-            return fetchEnvVarsWithParameters(namePrefixes, option);
+            future = getAsyncFetcher().fetchParameters(namePrefixes, option, isDecryptAll(), parameterFilters);
         } else {
-            return fetchEnvVarsWithParametersByPath(path, recursive);
+            final List<String> shards = Boolean.TRUE.equals(recursive) ? getShards(path) : null;
+            if (shards == null) {
+                future = getAsyncFetcher().fetchParametersByPath(path, recursive, isDecryptAll(), parameterFilters);
+            } else {
+                future = getAsyncFetcher().fetchShards(path, shards, isDecryptAll(), parameterFilters);
+            }
+        }
+        try {
+            parameters.addAll(await(future));
+            return isDecryptAll() || decryptSelected(parameters);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (AwsParameterStoreDeadlineException e) {
+            LOGGER.warning(e.getMessage());
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Cannot fetch parameters: " + e.getCause().getMessage(), e.getCause());
+        }
+        return false;
+    }
+
+    /**
+     * Describes the names of all parameters visible to the credentials,
+     * without fetching any values.
+     *
+     * @return parameter names
+     * @throws InterruptedException if interrupted while throttled
+     */
+    List<String> describeParameterNames() throws InterruptedException {
+        return describeParameterNames(null);
+    }
+
+    /**
+     * Describes the names of the parameters within a hierarchy, or of all
+     * parameters visible to the credentials, without fetching any values.
+     *
+     * @param path hierarchy, or <code>null</code> for all parameters
+     * @return parameter names
+     * @throws InterruptedException if interrupted while throttled
+     */
+    List<String> describeParameterNames(String path) throws InterruptedException {
+        beginClientUse();
+        try {
+            return describeParameterNamesWithClient(path);
+        } finally {
+            endClientUse();
+        }
+    }
+
+    private List<String> describeParameterNamesWithClient(String path) throws InterruptedException {
+        final AWSSimpleSystemsManagement client = getAWSSimpleSystemsManagement();
+        final List<String> names = new ArrayList<>();
+        final DescribeParametersRequest describeParametersRequest = new DescribeParametersRequest()
+                .withMaxResults(DESCRIBE_PAGE_SIZE);
+        if (path != null) {
+            final String value = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+            describeParametersRequest.setParameterFilters(Collections.singletonList(new ParameterStringFilter()
+                    .withKey("Path").withOption("Recursive").withValues(value)));
         }
+        do {
+            final DescribeParametersResult describeParametersResult;
+            final AwsParameterStoreThrottle.Permit permit = acquirePermit(describeParametersRequest);
+            final long start = System.nanoTime();
+            try {
+                describeParametersResult = client.describeParameters(describeParametersRequest);
+                getCircuitBreaker().onSuccess();
+            } catch (RuntimeException e) {
+                getCircuitBreaker().onFailure(e);
+                throw e;
+            } finally {
+                permit.release();
+                metrics.recordCall(describeParametersRequest, System.nanoTime() - start);
+            }
+            for (ParameterMetadata metadata : describeParametersResult.getParameters()) {
+                names.add(metadata.getName());
+            }
+            describeParametersRequest.setNextToken(describeParametersResult.getNextToken());
+        } while (describeParametersRequest.getNextToken() != null);
+        return names;
     }
 
-    private List<Parameter> fetchEnvVarsWithParameters(String namePrefixes, String option) {
+    private boolean fetchEnvVarsWithParameters(String namePrefixes, String option, List<Parameter> parameters) {
         final AWSSimpleSystemsManagement client = getAWSSimpleSystemsManagement();
-        final List<String> names = new ArrayList<String>();
-        final List<Parameter> parameters = new ArrayList<>();
+        final List<ParameterMetadata> metadataList = new ArrayList<>();
+        boolean complete = true;
 
         try {
-            DescribeParametersRequest describeParametersRequest = new DescribeParametersRequest().withMaxResults(1);
+            final DescribeParametersRequest describeParametersRequest = new DescribeParametersRequest()
+                    .withMaxResults(1);
+            final List<ParameterStringFilter> filters = new ArrayList<>(parameterFilters);
             if (!StringUtils.isEmpty(namePrefixes)) {
-                describeParametersRequest = describeParametersRequest.withParameterFilters(new ParameterStringFilter()
-                        .withKey("Name").withOption(option).withValues(namePrefixes.split(",")));
+                filters.add(new ParameterStringFilter().withKey("Name").withOption(option)
+                        .withValues(namePrefixes.split(",")));
+            }
+            if (!filters.isEmpty()) {
+                describeParametersRequest.setParameterFilters(filters);
             }
 
             do {
-                final DescribeParametersResult describeParametersResult = client
-                        .describeParameters(describeParametersRequest);
-                for (ParameterMetadata metadata : describeParametersResult.getParameters()) {
-                    names.add(metadata.getName());
+                final DescribeParametersResult describeParametersResult;
+                final AwsParameterStoreThrottle.Permit permit = acquirePermit(describeParametersRequest);
+                final long start = System.nanoTime();
+                try {
+                    describeParametersResult = client.describeParameters(describeParametersRequest);
+                    getCircuitBreaker().onSuccess();
+                } catch (RuntimeException e) {
+                    getCircuitBreaker().onFailure(e);
+                    throw e;
+                } finally {
+                    permit.release();
+                    metrics.recordCall(describeParametersRequest, System.nanoTime() - start);
                 }
+                metadataList.addAll(describeParametersResult.getParameters());
                 describeParametersRequest.setNextToken(describeParametersResult.getNextToken());
             } while (describeParametersRequest.getNextToken() != null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (AwsParameterStoreUnavailableException e) {
+            LOGGER.warning(e.getMessage());
+            return false;
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Cannot fetch parameters: " + e.getMessage(), e);
+            complete = false;
         }
 
-        final GetParameterRequest getParameterRequest = new GetParameterRequest().withWithDecryption(true);
-        for (String name : names) {
-            getParameterRequest.setName(name);
+        final List<String> decryptedNames = new ArrayList<>();
+        final List<String> plainNames = new ArrayList<>();
+        for (ParameterMetadata metadata : metadataList) {
+            final String name = metadata.getName();
+            if (isDecrypted(name)) {
+                decryptedNames.add(name);
+            } else if (!SECURE_STRING_TYPE.equals(metadata.getType())) {
+                plainNames.add(name);
+            }
+        }
+
+        final Map<String, Parameter> fetched = new HashMap<>();
+        try {
+            complete &= getParametersByName(client, plainNames, false, fetched);
+            complete &= getParametersByName(client, decryptedNames, true, fetched);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (AwsParameterStoreUnavailableException e) {
+            LOGGER.warning(e.getMessage());
+            return false;
+        }
+        for (ParameterMetadata metadata : metadataList) {
+            final Parameter parameter = fetched.get(metadata.getName());
+            if (parameter != null) {
+                parameters.add(parameter);
+            } else if (isDecrypted(metadata.getName()) || !SECURE_STRING_TYPE.equals(metadata.getType())) {
+                LOGGER.warning("Cannot fetch parameter: \"" + metadata.getName() + "\"");
+                complete = false;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Gets the values of <code>names</code> with <code>GetParameters</code>,
+     * <code>DECRYPT_BATCH_SIZE</code> names per call.
+     *
+     * @param client     client to call
+     * @param names      parameter names
+     * @param decryption whether SecureString values are decrypted
+     * @param fetched    receives the parameters by name
+     * @return <code>false</code> if a batch could not be fetched
+     * @throws InterruptedException if interrupted while throttled
+     */
+    private boolean getParametersByName(AWSSimpleSystemsManagement client, List<String> names, boolean decryption,
+            Map<String, Parameter> fetched) throws InterruptedException {
+        if (names.isEmpty()) {
+            return true;
+        }
+        if (FETCH_CONCURRENCY > 0) {
             try {
-                Parameter param = client.getParameter(getParameterRequest).getParameter();
-                parameters.add(param);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Cannot fetch parameter: \"" + name + "\"", e);
+                for (Parameter parameter : await(getAsyncFetcher().fetchParametersByName(names, decryption))) {
+                    fetched.put(parameter.getName(), parameter);
+                }
+                return true;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof AwsParameterStoreUnavailableException) {
+                    throw (AwsParameterStoreUnavailableException) e.getCause();
+                }
+                LOGGER.log(Level.WARNING, "Cannot fetch parameters: " + e.getCause().getMessage(), e.getCause());
+                return false;
             }
         }
-        return parameters;
+        boolean complete = true;
+        for (int i = 0; i < names.size(); i += DECRYPT_BATCH_SIZE) {
+            final GetParametersRequest request = new GetParametersRequest().withWithDecryption(decryption)
+                    .withNames(names.subList(i, Math.min(i + DECRYPT_BATCH_SIZE, names.size())));
+            try {
+                final AwsParameterStoreThrottle.Permit permit = acquirePermit(request);
+                final long start = System.nanoTime();
+                try {
+                    for (Parameter parameter : client.getParameters(request).getParameters()) {
+                        fetched.put(parameter.getName(), parameter);
+                    }
+                    getCircuitBreaker().onSuccess();
+                } catch (RuntimeException e) {
+                    getCircuitBreaker().onFailure(e);
+                    throw e;
+                } finally {
+                    permit.release();
+                    metrics.recordCall(request, System.nanoTime() - start);
+                }
+            } catch (AwsParameterStoreUnavailableException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Cannot fetch parameters: " + request.getNames(), e);
+                complete = false;
+            }
+        }
+        return complete;
     }
 
     /**
@@ -188,30 +971,237 @@ public class AwsParameterStoreService {
     private void buildEnvVarsWithParameters(SimpleBuildWrapper.Context context, List<Parameter> parameters) {
         for (Parameter param : parameters) {
             try {
-                context.env(toEnvironmentVariable(param.getName()), param.getValue());
+                addEnvVar(context, envPrefix + toEnvironmentVariable(param.getName()), param);
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Cannot load parameter: \"" + param.getName() + "\"", e);
             }
         }
     }
 
-    private List<Parameter> fetchEnvVarsWithParametersByPath(String path, Boolean recursive) {
+    private boolean fetchEnvVarsWithParametersByPath(String path, Boolean recursive, List<Parameter> parameters) {
+        final List<String> shards = Boolean.TRUE.equals(recursive) ? getShards(path) : null;
+        boolean complete;
+        if (shards == null) {
+            complete = pageParametersByPath(path, recursive, parameters);
+        } else {
+            complete = fetchShards(path, shards, parameters);
+        }
+        if (!isDecryptAll()) {
+            complete &= decryptSelected(parameters);
+        }
+        return complete;
+    }
+
+    /**
+     * Gets the child hierarchies of <code>path</code> to fetch as separate
+     * shards. The children are listed live with <code>DescribeParameters</code>
+     * on the hierarchy, which returns names only and larger pages, so that a
+     * hierarchy created since the name index was loaded is not missed. If they
+     * cannot be listed the fetch is not sharded.
+     *
+     * @param path hierarchy for the parameters
+     * @return sorted child paths, or <code>null</code> if the fetch should not
+     *         be sharded
+     */
+    private List<String> getShards(String path) {
+        if (SHARD_PARALLELISM <= 1) {
+            return null;
+        }
+        final List<String> described;
+        try {
+            described = describeParameterNames(path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot list child hierarchies, fetching unsharded: " + e.getMessage(), e);
+            return null;
+        }
+        final String[] names = described.toArray(new String[described.size()]);
+        Arrays.sort(names);
+        final List<String> shards = AwsParameterStoreIndex.childPaths(names, path);
+        return shards.size() < 2 ? null : shards;
+    }
+
+    /**
+     * Fetches the parameters directly in <code>path</code> and each child
+     * hierarchy recursively, up to <code>SHARD_PARALLELISM</code> at a time.
+     * The calling thread fetches shards too, so the fetch completes even when
+     * the shared executor is busy. Results are merged in shard order.
+     *
+     * @return <code>true</code> if every shard was fetched completely
+     */
+    private boolean fetchShards(final String path, final List<String> shards, List<Parameter> parameters) {
+        final int count = shards.size() + 1;
+        final AtomicReferenceArray<List<Parameter>> results = new AtomicReferenceArray<>(count);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean complete = new AtomicBoolean(true);
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    final List<Parameter> shard = new ArrayList<>();
+                    final boolean shardComplete = i == 0 ? pageParametersByPath(path, false, shard)
+                            : pageParametersByPath(shards.get(i - 1), true, shard);
+                    if (!shardComplete) {
+                        complete.set(false);
+                    }
+                    results.set(i, shard);
+                }
+            }
+        };
+        final List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < Math.min(SHARD_PARALLELISM, count); i++) {
+            helpers.add(AwsParameterStoreClients.getInstance().getFetchExecutor().submit(worker));
+        }
+        worker.run();
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                for (Future<?> other : helpers) {
+                    other.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Cannot fetch parameters by path: " + e.getCause().getMessage(),
+                        e.getCause());
+                complete.set(false);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (results.get(i) == null) {
+                complete.set(false);
+            } else {
+                parameters.addAll(results.get(i));
+            }
+        }
+        return complete.get();
+    }
+
+    /**
+     * Fetches all pages of <code>GetParametersByPath</code>.
+     *
+     * @return <code>true</code> if every page was fetched
+     */
+    private boolean pageParametersByPath(String path, Boolean recursive, List<Parameter> parameters) {
         final AWSSimpleSystemsManagement client = getAWSSimpleSystemsManagement();
-        List<Parameter> parameters = new ArrayList<>();
+        boolean complete = true;
 
         try {
             final GetParametersByPathRequest getParametersByPathRequest = new GetParametersByPathRequest()
-                    .withPath(path).withRecursive(recursive).withWithDecryption(true);
+                    .withPath(path).withRecursive(recursive).withWithDecryption(isDecryptAll());
+            if (!parameterFilters.isEmpty()) {
+                getParametersByPathRequest.setParameterFilters(parameterFilters);
+            }
             do {
-                final GetParametersByPathResult getParametersByPathResult = client
-                        .getParametersByPath(getParametersByPathRequest);
+                final GetParametersByPathResult getParametersByPathResult;
+                final AwsParameterStoreThrottle.Permit permit = acquirePermit(getParametersByPathRequest);
+                final long start = System.nanoTime();
+                try {
+                    getParametersByPathResult = client.getParametersByPath(getParametersByPathRequest);
+                    getCircuitBreaker().onSuccess();
+                } catch (RuntimeException e) {
+                    getCircuitBreaker().onFailure(e);
+                    throw e;
+                } finally {
+                    permit.release();
+                    metrics.recordCall(getParametersByPathRequest, System.nanoTime() - start);
+                }
                 parameters.addAll(getParametersByPathResult.getParameters());
                 getParametersByPathRequest.setNextToken(getParametersByPathResult.getNextToken());
             } while (getParametersByPathRequest.getNextToken() != null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (AwsParameterStoreUnavailableException e) {
+            LOGGER.warning(e.getMessage());
+            return false;
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Cannot fetch parameters by path: " + e.getMessage(), e);
+            complete = false;
         }
-        return parameters;
+        return complete;
+    }
+
+    /**
+     * Applies a selective decryption policy to parameters fetched without
+     * decryption: SecureStrings that are not selected are removed and the
+     * selected ones are replaced by their decrypted values, fetched in batches.
+     * SecureStrings that cannot be decrypted are removed too.
+     *
+     * @param parameters parameters fetched without decryption
+     * @return <code>true</code> if every selected SecureString was decrypted
+     */
+    private boolean decryptSelected(List<Parameter> parameters) {
+        final List<String> names = new ArrayList<>();
+        for (Iterator<Parameter> it = parameters.iterator(); it.hasNext();) {
+            Parameter parameter = it.next();
+            if (SECURE_STRING_TYPE.equals(parameter.getType())) {
+                if (isDecrypted(parameter.getName())) {
+                    names.add(parameter.getName());
+                } else {
+                    it.remove();
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return true;
+        }
+
+        final Map<String, Parameter> decrypted = new HashMap<>();
+        boolean complete = true;
+        try {
+            if (FETCH_CONCURRENCY > 0) {
+                for (Parameter parameter : await(getAsyncFetcher().fetchParametersByName(names, true))) {
+                    decrypted.put(parameter.getName(), parameter);
+                }
+            } else {
+                final AWSSimpleSystemsManagement client = getAWSSimpleSystemsManagement();
+                for (int i = 0; i < names.size(); i += DECRYPT_BATCH_SIZE) {
+                    GetParametersRequest request = new GetParametersRequest().withWithDecryption(true)
+                            .withNames(names.subList(i, Math.min(i + DECRYPT_BATCH_SIZE, names.size())));
+                    final AwsParameterStoreThrottle.Permit permit = acquirePermit(request);
+                    final long start = System.nanoTime();
+                    try {
+                        for (Parameter parameter : client.getParameters(request).getParameters()) {
+                            decrypted.put(parameter.getName(), parameter);
+                        }
+                        getCircuitBreaker().onSuccess();
+                    } catch (RuntimeException e) {
+                        getCircuitBreaker().onFailure(e);
+                        throw e;
+                    } finally {
+                        permit.release();
+                        metrics.recordCall(request, System.nanoTime() - start);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete = false;
+        } catch (AwsParameterStoreUnavailableException e) {
+            LOGGER.warning(e.getMessage());
+            complete = false;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Cannot decrypt parameters: " + e.getMessage(), e);
+            complete = false;
+        }
+
+        for (ListIterator<Parameter> it = parameters.listIterator(); it.hasNext();) {
+            Parameter parameter = it.next();
+            if (SECURE_STRING_TYPE.equals(parameter.getType())) {
+                Parameter value = decrypted.get(parameter.getName());
+                if (value == null) {
+                    complete = false;
+                    it.remove();
+                } else {
+                    it.set(value);
+                }
+            }
+        }
+        return complete;
     }
 
     /**
@@ -226,13 +1216,60 @@ public class AwsParameterStoreService {
             List<Parameter> parameters) {
         for (Parameter parameter : parameters) {
             try {
-                context.env(toEnvironmentVariable(parameter.getName(), path, naming), parameter.getValue());
+                addEnvVar(context, envPrefix + toEnvironmentVariable(parameter.getName(), path, naming), parameter);
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Cannot add parameter to environment: " + e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * Adds the variable for <code>parameter</code> and, when JSON expansion is
+     * enabled and the value is a JSON object, a variable for each leaf.
+     */
+    private void addEnvVar(SimpleBuildWrapper.Context context, String name, Parameter parameter) {
+        context.env(name, parameter.getValue());
+        if (!expandJson || !JsonExpansion.isObject(parameter.getValue())) {
+            return;
+        }
+        JsonExpansion expansion = getJsonExpansion(parameter);
+        String[] values = expansion == null ? null : expansion.getValues();
+        if (expansion != null && values == null) {
+            expansion = JsonExpansion.parse(parameter.getValue(), parameter.getVersion());
+            values = expansion.getValues();
+        }
+        if (expansion == null) {
+            LOGGER.fine("Cannot expand parameter, it is not valid JSON: \"" + parameter.getName() + "\"");
+            return;
+        }
+        final boolean secure = SECURE_STRING_TYPE.equals(parameter.getType());
+        for (int i = 0; i < expansion.size(); i++) {
+            final String value = values[i];
+            context.env(name + expansion.getSuffix(i), value);
+            if (secure && !value.isEmpty()) {
+                expandedSecureStrings.add(value);
+            }
+        }
+    }
+
+    /**
+     * Gets the expansion of a JSON parameter, parsing the value only if the
+     * cached expansion is for another version.
+     */
+    private JsonExpansion getJsonExpansion(Parameter parameter) {
+        final AwsParameterStoreCache cache = AwsParameterStoreCache.getInstance();
+        final String key = getScope() + "|" + parameter.getName();
+        JsonExpansion expansion = cache.getJsonExpansion(key);
+        if (expansion != null && expansion.matches(parameter.getValue(), parameter.getVersion())) {
+            return expansion;
+        }
+        expansion = JsonExpansion.parse(parameter.getValue(), parameter.getVersion());
+        if (expansion != null && parameter.getVersion() != null) {
+            cache.putJsonExpansion(key, expansion);
+        }
+        return expansion;
+    }
+
     /**
      * Converts <code>name</code> to uppercase. All non alphanumeric characters are
      * converted to underscores.
@@ -272,6 +1309,24 @@ public class AwsParameterStoreService {
         if (name.charAt(start) == '/') {
             start++;
         }
+        appendEnvironmentVariable(environmentVariable, name, start);
+        return environmentVariable.toString();
+    }
+
+    /**
+     * Converts <code>key</code> to a part of an environment variable name with
+     * the same rules as parameter names.
+     *
+     * @param key JSON key
+     * @return name segment
+     */
+    static String toEnvironmentVariableSegment(String key) {
+        StringBuffer segment = new StringBuffer();
+        appendEnvironmentVariable(segment, key, 0);
+        return segment.toString();
+    }
+
+    private static void appendEnvironmentVariable(StringBuffer environmentVariable, String name, int start) {
         for (int i = start; i < name.length(); i++) {
             char c = name.charAt(i);
             if (Character.isLetter(c)) {
@@ -282,6 +1337,5 @@ public class AwsParameterStoreService {
                 environmentVariable.append('_');
             }
         }
-        return environmentVariable.toString();
     }
 }
@@ -0,0 +1,261 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.model.Item;
+import hudson.util.ComboBoxModel;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+/**
+ * An additional set of parameters fetched by an
+ * {@link AwsParameterStoreBuildWrapper}, typically from another AWS account.
+ * Sources are fetched concurrently and applied in order, so a later source
+ * overrides variables of the same name from the wrapper and from earlier
+ * sources.
+ *
+ * @author agent
+ */
+public class AwsParameterStoreSource extends AbstractDescribableImpl<AwsParameterStoreSource> {
+    private String credentialsId;
+    private String regionName;
+    private String path;
+    private Boolean recursive;
+    private String namePrefixes;
+    private String option;
+    private String envPrefix;
+
+    /**
+     * Creates a new {@link AwsParameterStoreSource}.
+     */
+    @DataBoundConstructor
+    public AwsParameterStoreSource() {
+    }
+
+    /**
+     * Gets AWS credentials identifier.
+     *
+     * @return AWS credentials identifier
+     */
+    public String getCredentialsId() {
+        return credentialsId;
+    }
+
+    /**
+     * Sets the AWS credentials identifier.
+     *
+     * @param credentialsId aws credentials id
+     */
+    @DataBoundSetter
+    public void setCredentialsId(String credentialsId) {
+        this.credentialsId = StringUtils.stripToNull(credentialsId);
+    }
+
+    /**
+     * Gets AWS region name.
+     *
+     * @return aws region name
+     */
+    public String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * Sets the AWS region name.
+     *
+     * @param regionName aws region name
+     */
+    @DataBoundSetter
+    public void setRegionName(String regionName) {
+        this.regionName = StringUtils.stripToNull(regionName);
+    }
+
+    /**
+     * Gets path.
+     *
+     * @return path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the path.
+     *
+     * @param path hierarchy for the parameters
+     */
+    @DataBoundSetter
+    public void setPath(String path) {
+        this.path = StringUtils.stripToNull(path);
+    }
+
+    /**
+     * Gets recursive flag.
+     *
+     * @return recursive
+     */
+    public Boolean getRecursive() {
+        return recursive;
+    }
+
+    /**
+     * Sets the recursive flag.
+     *
+     * @param recursive fetch all parameters within a hierarchy
+     */
+    @DataBoundSetter
+    public void setRecursive(Boolean recursive) {
+        this.recursive = recursive;
+    }
+
+    /**
+     * Gets namePrefixes.
+     *
+     * @return namePrefixes
+     */
+    public String getNamePrefixes() {
+        return namePrefixes;
+    }
+
+    /**
+     * Sets the name prefixes filter.
+     *
+     * @param namePrefixes comma separated name prefixes
+     */
+    @DataBoundSetter
+    public void setNamePrefixes(String namePrefixes) {
+        this.namePrefixes = StringUtils.stripToNull(namePrefixes);
+    }
+
+    /**
+     * Gets the name filter option (defaults to <code>BeginsWith</code>).
+     *
+     * @return option
+     */
+    public String getOption() {
+        return option != null ? option : AwsParameterStoreBuildWrapper.DEFAULT_OPTION;
+    }
+
+    /**
+     * Sets the name filter option.
+     *
+     * @param option option for filter operation
+     */
+    @DataBoundSetter
+    public void setOption(String option) {
+        this.option = StringUtils.stripToNull(option);
+    }
+
+    /**
+     * Gets the prefix added to the environment variables of this source.
+     *
+     * @return envPrefix
+     */
+    public String getEnvPrefix() {
+        return envPrefix;
+    }
+
+    /**
+     * Sets the prefix added to the environment variables of this source.
+     *
+     * @param envPrefix environment variable prefix, e.g. <code>SHARED_</code>
+     */
+    @DataBoundSetter
+    public void setEnvPrefix(String envPrefix) {
+        this.envPrefix = StringUtils.stripToNull(envPrefix);
+    }
+
+    /**
+     * Descriptor for {@link AwsParameterStoreSource}.
+     */
+    @Extension
+    @Symbol("awsParameterStoreSource")
+    public static final class DescriptorImpl extends Descriptor<AwsParameterStoreSource> {
+        @Override
+        public String getDisplayName() {
+            return Messages.sourceDisplayName();
+        }
+
+        /**
+         * Returns a list of AWS credentials identifiers.
+         *
+         * @return {@link ListBoxModel} populated with AWS credential identifiers
+         */
+        public ListBoxModel doFillCredentialsIdItems() {
+            return getWrapperDescriptor().doFillCredentialsIdItems();
+        }
+
+        /**
+         * Returns a list of AWS region names.
+         *
+         * @return {@link ListBoxModel} populated with AWS region names
+         */
+        public ListBoxModel doFillRegionNameItems() {
+            return getWrapperDescriptor().doFillRegionNameItems();
+        }
+
+        /**
+         * Reports how many parameters the path matches.
+         *
+         * @param item          job being configured
+         * @param value         path
+         * @param credentialsId aws credentials id
+         * @param regionName    aws region name
+         * @param recursive     fetch all parameters within a hierarchy
+         * @return {@link FormValidation} result
+         */
+        public FormValidation doCheckPath(@AncestorInPath Item item, @QueryParameter String value,
+                @QueryParameter String credentialsId, @QueryParameter String regionName,
+                @QueryParameter boolean recursive) {
+            return getWrapperDescriptor().doCheckPath(item, value, credentialsId, regionName, recursive);
+        }
+
+        /**
+         * Suggests the hierarchies of the selected credentials and region.
+         *
+         * @param item          job being configured
+         * @param credentialsId aws credentials id
+         * @param regionName    aws region name
+         * @return hierarchies
+         */
+        public ComboBoxModel doFillPathItems(@AncestorInPath Item item, @QueryParameter String credentialsId,
+                @QueryParameter String regionName) {
+            return getWrapperDescriptor().doFillPathItems(item, credentialsId, regionName);
+        }
+
+        private static AwsParameterStoreBuildWrapper.DescriptorImpl getWrapperDescriptor() {
+            return Jenkins.getActiveInstance().getDescriptorByType(AwsParameterStoreBuildWrapper.DescriptorImpl.class);
+        }
+    }
+}
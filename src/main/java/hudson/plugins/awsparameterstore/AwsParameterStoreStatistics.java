@@ -0,0 +1,339 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runtime statistics shown by the {@link AwsParameterStoreManagementLink}:
+ * AWS calls and throttling errors per scope over the last hour, the slowest
+ * fetches of the last hour, and the time spent redacting console output and
+ * the false positive rate of the {@link SecretPrefilter} per job.
+ *
+ * @author agent
+ */
+public final class AwsParameterStoreStatistics {
+    private static final int MAX_FETCHES = 1000;
+    private static final long WINDOW = TimeUnit.HOURS.toMillis(1);
+
+    private static final AwsParameterStoreStatistics INSTANCE = new AwsParameterStoreStatistics();
+
+    private final ConcurrentMap<String, Counter> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> throttled = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> maskingNanos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PrefilterCounter> prefilterCounters = new ConcurrentHashMap<>();
+    private final Deque<Fetch> fetches = new ArrayDeque<>();
+
+    private AwsParameterStoreStatistics() {
+    }
+
+    /**
+     * Gets the statistics of the controller.
+     *
+     * @return the statistics
+     */
+    public static AwsParameterStoreStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a completed AWS call.
+     *
+     * @param scope     scope, see {@link AwsParameterStoreCache#toScope}
+     * @param throttled whether AWS rejected the call as throttled
+     */
+    void recordCall(String scope, boolean throttled) {
+        final long now = System.currentTimeMillis();
+        counter(calls, scope).add(now);
+        if (throttled) {
+            counter(this.throttled, scope).add(now);
+        }
+    }
+
+    /**
+     * Gets the AWS calls of a scope in the last <code>minutes</code> minutes.
+     *
+     * @param scope   scope, see {@link AwsParameterStoreCache#toScope}
+     * @param minutes length of the window, at most 60
+     * @return number of calls
+     */
+    public long getCalls(String scope, int minutes) {
+        final Counter counter = calls.get(scope);
+        return counter == null ? 0 : counter.sum(System.currentTimeMillis(), minutes);
+    }
+
+    /**
+     * Gets the throttled AWS calls of a scope in the last hour.
+     *
+     * @param scope scope, see {@link AwsParameterStoreCache#toScope}
+     * @return number of throttled calls
+     */
+    public long getThrottled(String scope) {
+        final Counter counter = throttled.get(scope);
+        return counter == null ? 0 : counter.sum(System.currentTimeMillis(), Counter.MINUTES);
+    }
+
+    /**
+     * Gets the scopes that made calls.
+     *
+     * @return scopes
+     */
+    List<String> getScopes() {
+        return new ArrayList<>(calls.keySet());
+    }
+
+    /**
+     * Records how long a wrapper waited for a fetch.
+     *
+     * @param job    full name of the job
+     * @param fetch  description of the fetch
+     * @param millis duration in milliseconds
+     */
+    void recordFetch(String job, String fetch, long millis) {
+        final long now = System.currentTimeMillis();
+        synchronized (fetches) {
+            fetches.addLast(new Fetch(job, fetch, now, millis));
+            prune(now);
+        }
+    }
+
+    /**
+     * Gets the slowest fetches of the last hour.
+     *
+     * @param limit maximum number of fetches
+     * @return fetches, slowest first
+     */
+    public List<Fetch> getSlowestFetches(int limit) {
+        final List<Fetch> slowest;
+        synchronized (fetches) {
+            prune(System.currentTimeMillis());
+            slowest = new ArrayList<>(fetches);
+        }
+        Collections.sort(slowest, new Comparator<Fetch>() {
+            @Override
+            public int compare(Fetch a, Fetch b) {
+                return Long.compare(b.millis, a.millis);
+            }
+        });
+        return slowest.subList(0, Math.min(limit, slowest.size()));
+    }
+
+    private void prune(long now) {
+        for (Iterator<Fetch> it = fetches.iterator(); it.hasNext();) {
+            final Fetch fetch = it.next();
+            if (fetches.size() > MAX_FETCHES || fetch.finishedAt < now - WINDOW) {
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the counter accumulating the nanoseconds spent redacting the
+     * console output of a job.
+     *
+     * @param job full name of the job
+     * @return counter
+     */
+    AtomicLong getMaskingCounter(String job) {
+        AtomicLong counter = maskingNanos.get(job);
+        if (counter == null) {
+            counter = new AtomicLong();
+            final AtomicLong existing = maskingNanos.putIfAbsent(job, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the time spent redacting console output per job since the
+     * controller started.
+     *
+     * @return milliseconds by full job name, most expensive first
+     */
+    public Map<String, Long> getMaskingMillis() {
+        final List<Map.Entry<String, AtomicLong>> entries = new ArrayList<>(maskingNanos.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, AtomicLong>>() {
+            @Override
+            public int compare(Map.Entry<String, AtomicLong> a, Map.Entry<String, AtomicLong> b) {
+                return Long.compare(b.getValue().get(), a.getValue().get());
+            }
+        });
+        final Map<String, Long> millis = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : entries) {
+            millis.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().get()));
+        }
+        return millis;
+    }
+
+    /**
+     * Gets the counter of console lines let through by the secret prefilter
+     * for a job.
+     *
+     * @param job full job name
+     * @return counter
+     */
+    PrefilterCounter getPrefilterCounter(String job) {
+        PrefilterCounter counter = prefilterCounters.get(job);
+        if (counter == null) {
+            counter = new PrefilterCounter();
+            final PrefilterCounter existing = prefilterCounters.putIfAbsent(job, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the fraction of console lines let through by the secret prefilter
+     * that did not contain a secret, for a job since the controller started.
+     *
+     * @param job full job name
+     * @return false positive rate between 0 and 1, or a negative value if no
+     *         line was let through
+     */
+    public double getPrefilterFalsePositiveRate(String job) {
+        final PrefilterCounter counter = prefilterCounters.get(job);
+        return counter == null ? -1 : counter.getFalsePositiveRate();
+    }
+
+    private static Counter counter(ConcurrentMap<String, Counter> counters, String scope) {
+        Counter counter = counters.get(scope);
+        if (counter == null) {
+            counter = new Counter();
+            final Counter existing = counters.putIfAbsent(scope, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * A fetch made by a wrapper.
+     */
+    public static final class Fetch {
+        private final String job;
+        private final String fetch;
+        private final long finishedAt;
+        private final long millis;
+
+        Fetch(String job, String fetch, long finishedAt, long millis) {
+            this.job = job;
+            this.fetch = fetch;
+            this.finishedAt = finishedAt;
+            this.millis = millis;
+        }
+
+        public String getJob() {
+            return job;
+        }
+
+        public String getFetch() {
+            return fetch;
+        }
+
+        public Date getFinished() {
+            return new Date(finishedAt);
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * Events per minute over the last hour.
+     */
+    /**
+     * Counts console lines let through by the secret prefilter, and those of
+     * them that turned out not to contain a secret.
+     */
+    static final class PrefilterCounter {
+        private final AtomicLong passed = new AtomicLong();
+        private final AtomicLong falsePositives = new AtomicLong();
+
+        /**
+         * Records a line let through by the prefilter.
+         *
+         * @param falsePositive whether the line contained no secret
+         */
+        void record(boolean falsePositive) {
+            passed.incrementAndGet();
+            if (falsePositive) {
+                falsePositives.incrementAndGet();
+            }
+        }
+
+        double getFalsePositiveRate() {
+            final long lines = passed.get();
+            return lines == 0 ? -1 : (double) falsePositives.get() / lines;
+        }
+    }
+
+    private static final class Counter {
+        private static final int MINUTES = 60;
+
+        private final long[] counts = new long[MINUTES];
+        private final long[] minutes = new long[MINUTES];
+
+        synchronized void add(long now) {
+            final long minute = TimeUnit.MILLISECONDS.toMinutes(now);
+            final int index = (int) (minute % MINUTES);
+            if (minutes[index] != minute) {
+                minutes[index] = minute;
+                counts[index] = 0;
+            }
+            counts[index]++;
+        }
+
+        synchronized long sum(long now, int window) {
+            final long minute = TimeUnit.MILLISECONDS.toMinutes(now);
+            long sum = 0;
+            for (int i = 0; i < MINUTES; i++) {
+                if (minutes[i] > minute - Math.min(window, MINUTES)) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-wide limiter for AWS Parameter Store calls.
+ * <p>
+ * Every call of the plugin takes a permit for its scope first. The scope is
+ * the AWS account and region of the credentials, so that credentials of the
+ * same account share the account's request limit, or the credentials and
+ * region while the account cannot be looked up. At most
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreThrottle.maxConcurrency</code>
+ * calls (default 16) run at once per scope, and no more than
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreThrottle.rate</code>
+ * calls (default 40) start per second. Waiting callers are queued per tenant
+ * (the folder of the job, or the credentials id with
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreThrottle.fairness=credentials</code>)
+ * and tenants are served round-robin, each taking as many permits per turn as
+ * its weight in
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreThrottle.weights</code>
+ * (e.g. <code>team-a=3,team-b=2</code>, default 1).
+ *
+ * @author agent
+ */
+public class AwsParameterStoreThrottle {
+    static int MAX_CONCURRENCY = Integer.getInteger(AwsParameterStoreThrottle.class.getName() + ".maxConcurrency", 16);
+    static int RATE = Integer.getInteger(AwsParameterStoreThrottle.class.getName() + ".rate", 40);
+    static String FAIRNESS = System.getProperty(AwsParameterStoreThrottle.class.getName() + ".fairness", "folder");
+    static String WEIGHTS = System.getProperty(AwsParameterStoreThrottle.class.getName() + ".weights", "");
+
+    public static final String FAIRNESS_FOLDER = "folder";
+    public static final String FAIRNESS_CREDENTIALS = "credentials";
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreThrottle.class.getName());
+
+    private static final AwsParameterStoreThrottle INSTANCE = new AwsParameterStoreThrottle();
+
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private String weightsSpec;
+    private Map<String, Integer> weights = Collections.emptyMap();
+    private ScheduledExecutorService timer;
+
+    /**
+     * Gets the limiter shared by all builds.
+     *
+     * @return the limiter
+     */
+    public static AwsParameterStoreThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the scope of calls made with the given credentials and region:
+     * <code>account@region</code>, or the cache scope of the credentials if
+     * their account cannot be looked up.
+     *
+     * @param credentialsId AWS credentials identifier
+     * @param regionName    AWS region name
+     * @return throttle scope
+     */
+    public static String toScope(String credentialsId, String regionName) {
+        final String accountId = AwsParameterStoreClients.getInstance().getAccountId(credentialsId, regionName);
+        return accountId == null ? AwsParameterStoreCache.toScope(credentialsId, regionName)
+                : accountId + "@" + regionName;
+    }
+
+    /**
+     * Gets the tenant a job is queued under: the full name of its folder
+     * (empty for top-level jobs), or its credentials id when fairness is
+     * <code>credentials</code>.
+     *
+     * @param job           job fetching parameters
+     * @param credentialsId AWS credentials identifier
+     * @return tenant
+     */
+    public static String toTenant(Job<?, ?> job, String credentialsId) {
+        if (FAIRNESS_CREDENTIALS.equals(FAIRNESS) || job == null) {
+            return StringUtils.defaultString(credentialsId);
+        }
+        ItemGroup<?> parent = job.getParent();
+        return parent instanceof Item ? ((Item) parent).getFullName() : "";
+    }
+
+    /**
+     * Waits for a permit.
+     *
+     * @param scope  throttle scope, see {@link #toScope}
+     * @param tenant tenant of the caller
+     * @return permit, to be released once the call finished
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(String scope, String tenant) throws InterruptedException {
+        final ListenableFuture<Permit> future = acquireAsync(scope, tenant);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            if (!future.cancel(false)) {
+                release(future);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits at most <code>timeoutMillis</code> for a permit.
+     *
+     * @param scope         throttle scope, see {@link #toScope}
+     * @param tenant        tenant of the caller
+     * @param timeoutMillis maximum wait in milliseconds
+     * @return permit, to be released once the call finished, or
+     *         <code>null</code> if none was granted in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(String scope, String tenant, long timeoutMillis) throws InterruptedException {
+        final ListenableFuture<Permit> future = acquireAsync(scope, tenant);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!future.cancel(false)) {
+                release(future);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            if (!future.cancel(false)) {
+                release(future);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Requests a permit without blocking. Cancelling the future gives up the
+     * place in the queue.
+     *
+     * @param scope  throttle scope, see {@link #toScope}
+     * @param tenant tenant of the caller
+     * @return future of the permit, to be released once the call finished
+     */
+    public ListenableFuture<Permit> acquireAsync(String scope, String tenant) {
+        Limiter limiter = limiters.get(scope);
+        if (limiter == null) {
+            limiter = new Limiter();
+            Limiter existing = limiters.putIfAbsent(scope, limiter);
+            if (existing != null) {
+                limiter = existing;
+            }
+        }
+        return limiter.acquire(StringUtils.defaultString(tenant));
+    }
+
+    /**
+     * Gets the number of calls in flight in a scope.
+     *
+     * @param scope throttle scope, see {@link #toScope}
+     * @return calls holding a permit
+     */
+    public int getRunning(String scope) {
+        final Limiter limiter = limiters.get(scope);
+        return limiter == null ? 0 : limiter.getRunning();
+    }
+
+    /**
+     * Gets the number of calls waiting for a permit in a scope.
+     *
+     * @param scope throttle scope, see {@link #toScope}
+     * @return queued calls
+     */
+    public int getQueued(String scope) {
+        final Limiter limiter = limiters.get(scope);
+        return limiter == null ? 0 : limiter.getQueued();
+    }
+
+    private static void release(ListenableFuture<Permit> future) {
+        try {
+            future.get().release();
+        } catch (InterruptedException | ExecutionException e) {
+            LOGGER.log(Level.FINE, "Cannot release permit", e);
+        }
+    }
+
+    private synchronized int getWeight(String tenant) {
+        final String spec = WEIGHTS;
+        if (!StringUtils.equals(spec, weightsSpec)) {
+            final Map<String, Integer> parsed = new HashMap<>();
+            for (String entry : StringUtils.split(StringUtils.defaultString(spec), ',')) {
+                final int index = entry.lastIndexOf('=');
+                try {
+                    parsed.put(entry.substring(0, index).trim(), Integer.parseInt(entry.substring(index + 1).trim()));
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Invalid throttle weight: \"" + entry + "\"");
+                }
+            }
+            weights = parsed;
+            weightsSpec = spec;
+        }
+        final Integer weight = weights.get(tenant);
+        return weight == null ? 1 : Math.max(1, weight);
+    }
+
+    private synchronized ScheduledExecutorService getTimer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(
+                    new NamingThreadFactory(new DaemonThreadFactory(), "AwsParameterStoreThrottle"));
+        }
+        return timer;
+    }
+
+    /**
+     * Permission to make one call.
+     */
+    public static final class Permit {
+        private final Limiter limiter;
+        private final long waitMillis;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Limiter limiter, long waitMillis) {
+            this.limiter = limiter;
+            this.waitMillis = waitMillis;
+        }
+
+        /**
+         * Gets how long the caller was queued for this permit.
+         *
+         * @return queue wait in milliseconds
+         */
+        public long getWaitMillis() {
+            return waitMillis;
+        }
+
+        /**
+         * Returns the permit. Releasing twice has no effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    /**
+     * Waiting caller.
+     */
+    private static final class Waiter {
+        private final SettableFuture<Permit> future = SettableFuture.create();
+        private final long queuedAt = System.nanoTime();
+    }
+
+    /**
+     * Concurrency and rate limit of one scope with a queue per tenant.
+     */
+    private final class Limiter {
+        private final Map<String, Deque<Waiter>> queues = new HashMap<>();
+        private final Deque<String> turns = new ArrayDeque<>();
+        private int credit;
+        private int running;
+        private double tokens = RATE;
+        private long refilledAt = System.nanoTime();
+        private boolean wakeup;
+
+        private ListenableFuture<Permit> acquire(String tenant) {
+            final Waiter waiter = new Waiter();
+            synchronized (this) {
+                Deque<Waiter> queue = queues.get(tenant);
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    queues.put(tenant, queue);
+                    turns.addLast(tenant);
+                }
+                queue.addLast(waiter);
+            }
+            dispatch();
+            return waiter.future;
+        }
+
+        private synchronized int getRunning() {
+            return running;
+        }
+
+        private synchronized int getQueued() {
+            int queued = 0;
+            for (Deque<Waiter> queue : queues.values()) {
+                for (Waiter waiter : queue) {
+                    if (!waiter.future.isCancelled()) {
+                        queued++;
+                    }
+                }
+            }
+            return queued;
+        }
+
+        private void release() {
+            synchronized (this) {
+                running--;
+            }
+            dispatch();
+        }
+
+        /**
+         * Hands out permits while there is capacity, round-robin over the
+         * tenants. Futures are completed outside the lock.
+         */
+        private void dispatch() {
+            final List<Waiter> granted = new ArrayList<>();
+            synchronized (this) {
+                while (!turns.isEmpty() && (MAX_CONCURRENCY <= 0 || running < MAX_CONCURRENCY)) {
+                    final String tenant = turns.peekFirst();
+                    final Deque<Waiter> queue = queues.get(tenant);
+                    if (queue.peekFirst().future.isCancelled()) {
+                        queue.pollFirst();
+                    } else if (takeToken()) {
+                        granted.add(queue.pollFirst());
+                        running++;
+                        if (credit <= 0) {
+                            credit = getWeight(tenant);
+                        }
+                        credit--;
+                    } else {
+                        scheduleWakeup();
+                        break;
+                    }
+                    if (queue.isEmpty()) {
+                        queues.remove(tenant);
+                        turns.pollFirst();
+                        credit = 0;
+                    } else if (credit <= 0) {
+                        turns.addLast(turns.pollFirst());
+                    }
+                }
+            }
+            final long now = System.nanoTime();
+            for (Waiter waiter : granted) {
+                final Permit permit = new Permit(this, TimeUnit.NANOSECONDS.toMillis(now - waiter.queuedAt));
+                if (!waiter.future.set(permit)) {
+                    permit.release();
+                }
+            }
+        }
+
+        private boolean takeToken() {
+            final int rate = RATE;
+            if (rate <= 0) {
+                return true;
+            }
+            final long now = System.nanoTime();
+            tokens = Math.min(rate, tokens + (now - refilledAt) * rate / 1e9);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        private void scheduleWakeup() {
+            if (wakeup) {
+                return;
+            }
+            wakeup = true;
+            final long delay = (long) Math.ceil((1 - tokens) * 1000 / RATE);
+            getTimer().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (Limiter.this) {
+                        wakeup = false;
+                    }
+                    dispatch();
+                }
+            }, Math.max(1, delay), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import hudson.Extension;
+import hudson.model.UnprotectedRootAction;
+import hudson.security.csrf.CrumbExclusion;
+import net.sf.json.JSON;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import net.sf.json.JSONSerializer;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.logging.Logger;
+
+/**
+ * Webhook invalidating cached parameters when they change in AWS.
+ * <p>
+ * Route <code>Parameter Store Change</code> events from Amazon EventBridge
+ * (for example with an API destination) to
+ * <code>POST ${JENKINS_URL}/aws-parameter-store-webhook/</code> with the
+ * header <code>Authorization: Bearer <i>token</i></code>, where the token is
+ * the value of the system property
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreWebhook.token</code>.
+ * The endpoint is disabled while no token is set. The body is a single event
+ * or an array of events; cached entries that may contain the changed
+ * parameter are dropped for all credentials in the event's region and
+ * fetched again in the background.
+ *
+ * @author agent
+ */
+@Extension
+public class AwsParameterStoreWebhook implements UnprotectedRootAction {
+    static String TOKEN = System.getProperty(AwsParameterStoreWebhook.class.getName() + ".token");
+
+    public static final String URL_NAME = "aws-parameter-store-webhook";
+
+    private static final Logger LOGGER = Logger.getLogger(AwsParameterStoreWebhook.class.getName());
+    private static final String EVENT_SOURCE = "aws.ssm";
+    private static final String EVENT_DETAIL_TYPE = "Parameter Store Change";
+    private static final String BEARER = "Bearer ";
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+    /**
+     * Receives parameter change events.
+     *
+     * @param request HTTP request
+     * @return response with the number of invalidated cache entries
+     * @throws IOException if the body cannot be read
+     */
+    @RequirePOST
+    public HttpResponse doIndex(StaplerRequest request) throws IOException {
+        if (StringUtils.isEmpty(TOKEN)) {
+            return HttpResponses.error(HttpServletResponse.SC_NOT_FOUND, "Webhook token is not configured");
+        }
+        if (!isAuthorized(request.getHeader("Authorization"))) {
+            return HttpResponses.error(HttpServletResponse.SC_FORBIDDEN, "Invalid webhook token");
+        }
+        final int invalidated;
+        try {
+            invalidated = handle(IOUtils.toString(request.getReader()));
+        } catch (JSONException | IllegalArgumentException e) {
+            return HttpResponses.error(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+        return HttpResponses.plainText("Invalidated " + invalidated + " cache entries");
+    }
+
+    /**
+     * Checks the bearer token in constant time.
+     *
+     * @param authorization value of the <code>Authorization</code> header
+     * @return <code>true</code> if the token matches
+     */
+    static boolean isAuthorized(String authorization) {
+        if (StringUtils.isEmpty(TOKEN) || authorization == null || !authorization.startsWith(BEARER)) {
+            return false;
+        }
+        return MessageDigest.isEqual(TOKEN.getBytes(StandardCharsets.UTF_8),
+                authorization.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Invalidates the cache for one event or an array of events. Events of
+     * other sources or types are ignored.
+     *
+     * @param body EventBridge JSON
+     * @return number of invalidated cache entries
+     * @throws JSONException if the body is not JSON
+     */
+    static int handle(String body) {
+        final JSON json = JSONSerializer.toJSON(body);
+        if (json instanceof JSONArray) {
+            int invalidated = 0;
+            for (Object event : (JSONArray) json) {
+                if (event instanceof JSONObject) {
+                    invalidated += handle((JSONObject) event);
+                }
+            }
+            return invalidated;
+        } else if (json instanceof JSONObject) {
+            return handle((JSONObject) json);
+        }
+        throw new IllegalArgumentException("Expected an event or an array of events");
+    }
+
+    private static int handle(JSONObject event) {
+        final JSONObject detail = event.optJSONObject("detail");
+        final String region = event.optString("region", null);
+        if (!EVENT_SOURCE.equals(event.optString("source")) || !EVENT_DETAIL_TYPE.equals(event.optString("detail-type"))
+                || detail == null || region == null) {
+            return 0;
+        }
+        final String name = detail.optString("name", null);
+        if (StringUtils.isEmpty(name)) {
+            return 0;
+        }
+        LOGGER.fine(String.format("Parameter %s in %s: %s", name, region, detail.optString("operation")));
+        AwsParameterStoreIndex.getInstance().invalidate(region);
+        return AwsParameterStoreCache.getInstance().invalidate(region, name);
+    }
+
+    /**
+     * Lets EventBridge post without a crumb; requests are authenticated by
+     * their token instead.
+     */
+    @Extension
+    public static class CrumbExclusionImpl extends CrumbExclusion {
+        @Override
+        public boolean process(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            final String pathInfo = request.getPathInfo();
+            if (pathInfo != null && (pathInfo.equals("/" + URL_NAME) || pathInfo.startsWith("/" + URL_NAME + "/"))) {
+                chain.doFilter(request, response);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cached form of a {@link Parameter} keeping only its name, value, type and
+ * version.
+ * <p>
+ * The hierarchy part of the name and the type are interned, so the many
+ * parameters below one path share a single prefix string. The value is held
+ * as UTF-8 bytes that are zeroed by {@link #wipe()} when the parameter is
+ * evicted, so secrets do not linger on the heap until collected.
+ *
+ * @author agent
+ */
+final class CompactParameter {
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+    private final String prefix;
+    private final String leaf;
+    private final String type;
+    private final long version;
+    private final byte[] value;
+
+    private CompactParameter(String prefix, String leaf, String type, long version, byte[] value) {
+        this.prefix = prefix;
+        this.leaf = leaf;
+        this.type = type;
+        this.version = version;
+        this.value = value;
+    }
+
+    /**
+     * Creates a compact copy of <code>parameter</code>.
+     *
+     * @param parameter fetched parameter
+     * @return compact parameter
+     */
+    static CompactParameter of(Parameter parameter) {
+        String name = parameter.getName();
+        int slash = name.lastIndexOf('/') + 1;
+        return new CompactParameter(INTERNER.intern(name.substring(0, slash)), name.substring(slash),
+                parameter.getType() == null ? null : INTERNER.intern(parameter.getType()),
+                parameter.getVersion() == null ? -1 : parameter.getVersion(),
+                parameter.getValue() == null ? null : parameter.getValue().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the hierarchy of the name up to and including the last '/'.
+     *
+     * @return name prefix, empty if the name is not hierarchical
+     */
+    String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Gets the full parameter name.
+     *
+     * @return parameter name
+     */
+    String getName() {
+        return prefix.concat(leaf);
+    }
+
+    /**
+     * Creates a {@link Parameter} with the retained fields.
+     *
+     * @return parameter
+     */
+    Parameter toParameter() {
+        return new Parameter().withName(getName()).withType(type)
+                .withVersion(version < 0 ? null : version)
+                .withValue(value == null ? null : new String(value, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Overwrites the value bytes with zeros.
+     */
+    void wipe() {
+        if (value != null) {
+            Arrays.fill(value, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Leaves of a JSON object parameter value, flattened into environment
+ * variable name suffixes such as <code>_DB_HOST</code> for
+ * <code>{"db": {"host": ...}}</code> and <code>_HOSTS_0</code> for the first
+ * element of an array.
+ * <p>
+ * The value is read in a single pass that emits each leaf as it is reached,
+ * without building a document tree. Leaf values are held as UTF-8 bytes that
+ * are zeroed by {@link #wipe()} when the expansion is evicted, like
+ * {@link CompactParameter}; an evicted expansion has no values.
+ *
+ * @author agent
+ */
+final class JsonExpansion {
+    private static final int MAX_DEPTH = 32;
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+
+    private final Long version;
+    private final int hash;
+    private final long parsedAt;
+    private final String[] suffixes;
+    private final byte[][] values;
+    private final boolean[] strings;
+    private boolean wiped;
+
+    private JsonExpansion(Long version, int hash, List<String> suffixes, List<String> values, List<Boolean> strings) {
+        this.version = version;
+        this.hash = hash;
+        this.parsedAt = System.currentTimeMillis();
+        this.suffixes = suffixes.toArray(new String[suffixes.size()]);
+        this.values = new byte[values.size()][];
+        this.strings = new boolean[strings.size()];
+        for (int i = 0; i < this.values.length; i++) {
+            this.values[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+            this.strings[i] = strings.get(i);
+        }
+    }
+
+    /**
+     * Checks whether <code>value</code> may be a JSON object, without parsing
+     * it.
+     *
+     * @param value parameter value
+     * @return <code>true</code> if the first non-whitespace character is '{'
+     */
+    static boolean isObject(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flattens a JSON object.
+     *
+     * @param value   parameter value
+     * @param version parameter version, may be null
+     * @return expansion, or <code>null</code> if the value is not a valid JSON
+     *         object
+     */
+    static JsonExpansion parse(String value, Long version) {
+        final Reader reader = new Reader(value);
+        try {
+            reader.skipWhitespace();
+            if (reader.peek() != '{') {
+                return null;
+            }
+            reader.readValue(new StringBuilder(), 0);
+            reader.skipWhitespace();
+            if (reader.position != value.length()) {
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new JsonExpansion(version, value.hashCode(), reader.suffixes, reader.values, reader.strings);
+    }
+
+    /**
+     * Checks whether this expansion was parsed from <code>value</code>.
+     *
+     * @param value   parameter value
+     * @param version parameter version, may be null
+     * @return <code>true</code> if the version and value hash match
+     */
+    boolean matches(String value, Long version) {
+        return version != null && version.equals(this.version) && hash == value.hashCode();
+    }
+
+    /**
+     * Gets when the value was parsed, which ages the expansion like the cache
+     * entry holding the value.
+     *
+     * @return parse time
+     */
+    long getParsedAt() {
+        return parsedAt;
+    }
+
+    int size() {
+        return suffixes.length;
+    }
+
+    /**
+     * Gets the environment variable name suffix of a leaf, starting with '_'.
+     *
+     * @param index leaf index
+     * @return suffix
+     */
+    String getSuffix(int index) {
+        return suffixes[index];
+    }
+
+    /**
+     * Gets the values of all leaves: the unescaped contents of strings, and
+     * the literal text of numbers and booleans.
+     *
+     * @return values by leaf index, or <code>null</code> if the expansion has
+     *         been evicted
+     */
+    synchronized String[] getValues() {
+        if (wiped) {
+            return null;
+        }
+        final String[] decoded = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            decoded[i] = new String(values[i], StandardCharsets.UTF_8);
+        }
+        return decoded;
+    }
+
+    /**
+     * Gets whether a leaf is a JSON string.
+     *
+     * @param index leaf index
+     * @return <code>true</code> for strings
+     */
+    boolean isString(int index) {
+        return strings[index];
+    }
+
+    /**
+     * Overwrites the leaf values with zeros.
+     */
+    synchronized void wipe() {
+        wiped = true;
+        for (byte[] value : values) {
+            Arrays.fill(value, (byte) 0);
+        }
+    }
+
+    /**
+     * Recursive descent reader emitting leaves as they are reached.
+     */
+    private static final class Reader {
+        private final String json;
+        private int position;
+        private final List<String> suffixes = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<Boolean> strings = new ArrayList<>();
+
+        Reader(String json) {
+            this.json = json;
+        }
+
+        char peek() {
+            if (position >= json.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            return json.charAt(position);
+        }
+
+        void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + position);
+            }
+            position++;
+        }
+
+        void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        void readValue(StringBuilder suffix, int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("JSON nested too deeply");
+            }
+            skipWhitespace();
+            final char c = peek();
+            final int length = suffix.length();
+            if (c == '{') {
+                position++;
+                skipWhitespace();
+                if (peek() == '}') {
+                    position++;
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    final String key = readString();
+                    skipWhitespace();
+                    expect(':');
+                    suffix.append('_').append(AwsParameterStoreService.toEnvironmentVariableSegment(key));
+                    readValue(suffix, depth + 1);
+                    suffix.setLength(length);
+                    skipWhitespace();
+                } while (next(','));
+                expect('}');
+            } else if (c == '[') {
+                position++;
+                skipWhitespace();
+                if (peek() == ']') {
+                    position++;
+                    return;
+                }
+                int index = 0;
+                do {
+                    suffix.append('_').append(index++);
+                    readValue(suffix, depth + 1);
+                    suffix.setLength(length);
+                    skipWhitespace();
+                } while (next(','));
+                expect(']');
+            } else if (c == '"') {
+                addLeaf(suffix, readString(), true);
+            } else {
+                final int start = position;
+                while (position < json.length() && ",}] \t\r\n".indexOf(json.charAt(position)) < 0) {
+                    position++;
+                }
+                final String literal = json.substring(start, position);
+                if (literal.equals("true") || literal.equals("false")) {
+                    addLeaf(suffix, literal, false);
+                } else if (NUMBER.matcher(literal).matches()) {
+                    addLeaf(suffix, literal, false);
+                } else if (!literal.equals("null")) {
+                    throw new IllegalArgumentException("Invalid JSON literal at " + start);
+                }
+            }
+        }
+
+        private boolean next(char c) {
+            if (position < json.length() && json.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void addLeaf(StringBuilder suffix, String value, boolean string) {
+            suffixes.add(suffix.toString());
+            values.add(value);
+            strings.add(string);
+        }
+
+        private String readString() {
+            expect('"');
+            final StringBuilder value = new StringBuilder();
+            while (true) {
+                final char c = peek();
+                position++;
+                if (c == '"') {
+                    return value.toString();
+                } else if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                final char escaped = peek();
+                position++;
+                switch (escaped) {
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > json.length()) {
+                            throw new IllegalArgumentException("Unexpected end of JSON");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape at " + position);
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+        }
+    }
+}
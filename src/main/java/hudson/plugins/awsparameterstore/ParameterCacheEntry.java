@@ -0,0 +1,178 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parameters returned by a single fetch, with the statistics used to decide
+ * whether to refresh them ahead of expiry.
+ * <p>
+ * Parameters are held as {@link CompactParameter}s. Once an entry is evicted
+ * its values are wiped and it behaves as a cache miss.
+ *
+ * @author agent
+ */
+class ParameterCacheEntry {
+    private final CompactParameter[] parameters;
+    private final boolean recursive;
+    private final long fetchedAt;
+    private final Runnable refresher;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private boolean wiped;
+
+    /**
+     * Creates a new {@link ParameterCacheEntry}.
+     *
+     * @param parameters fetched parameters
+     * @param recursive  whether the fetch was recursive
+     * @param fetchedAt  time of the fetch
+     * @param refresher  repeats the fetch and caches the result, may be null
+     */
+    ParameterCacheEntry(List<Parameter> parameters, boolean recursive, long fetchedAt, Runnable refresher) {
+        this.parameters = new CompactParameter[parameters.size()];
+        for (int i = 0; i < this.parameters.length; i++) {
+            this.parameters[i] = CompactParameter.of(parameters.get(i));
+        }
+        this.recursive = recursive;
+        this.fetchedAt = fetchedAt;
+        this.refresher = refresher;
+    }
+
+    long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    boolean isRecursive() {
+        return recursive;
+    }
+
+    Runnable getRefresher() {
+        return refresher;
+    }
+
+    int size() {
+        return parameters.length;
+    }
+
+    /**
+     * Gets the hits per minute since the fetch.
+     *
+     * @param now current time
+     * @return hit rate
+     */
+    double getHitRate(long now) {
+        return hits.get() * 60000.0 / Math.max(now - fetchedAt, 1000);
+    }
+
+    /**
+     * Gets a copy of all fetched parameters.
+     *
+     * @return parameters, or <code>null</code> if the entry has been evicted
+     */
+    synchronized List<Parameter> getParameters() {
+        if (wiped) {
+            return null;
+        }
+        List<Parameter> copy = new ArrayList<>(parameters.length);
+        for (CompactParameter parameter : parameters) {
+            copy.add(parameter.toParameter());
+        }
+        return copy;
+    }
+
+    /**
+     * Selects the parameters for a path covered by this entry.
+     *
+     * @param segments  hierarchy segments of the requested path
+     * @param recursive whether the request is recursive
+     * @return parameters for the request, or <code>null</code> if the entry
+     *         has been evicted
+     */
+    synchronized List<Parameter> select(String[] segments, boolean recursive) {
+        if (!this.recursive) {
+            return getParameters();
+        }
+        if (wiped) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder("/");
+        for (String segment : segments) {
+            prefix.append(segment).append('/');
+        }
+        String start = prefix.toString();
+        List<Parameter> selected = new ArrayList<>();
+        for (CompactParameter parameter : parameters) {
+            String parent = parameter.getPrefix();
+            if (recursive ? parent.startsWith(start) : parent.equals(start)) {
+                selected.add(parameter.toParameter());
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Zeroes the values of an evicted entry.
+     */
+    synchronized void wipe() {
+        wiped = true;
+        for (CompactParameter parameter : parameters) {
+            parameter.wipe();
+        }
+    }
+
+    /**
+     * Records a cache hit.
+     *
+     * @param now time of the hit
+     * @return hits per minute since the fetch
+     */
+    double hit(long now) {
+        hits.incrementAndGet();
+        return getHitRate(now);
+    }
+
+    /**
+     * Claims the refresh of this entry.
+     *
+     * @return <code>false</code> if a refresh is already running
+     */
+    boolean startRefresh() {
+        return refreshing.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases the refresh of this entry, allowing a failed refresh to be
+     * retried.
+     */
+    void endRefresh() {
+        refreshing.set(false);
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetched <code>GetParametersByPath</code> results indexed by the '/'
+ * separated parameter hierarchy.
+ * <p>
+ * A recursive entry covers every request for its own path and any path
+ * below it, recursive or not. A non-recursive entry only covers a
+ * non-recursive request for exactly its path. Entries replaced or pruned
+ * are wiped.
+ *
+ * @author agent
+ */
+class ParameterPathTrie {
+    private final Node root = new Node();
+
+    /**
+     * Splits <code>path</code> into hierarchy segments.
+     *
+     * @param path parameter hierarchy, e.g. <code>/app/prod/</code>
+     * @return segments, or <code>null</code> if the path is not hierarchical
+     */
+    static String[] toSegments(String path) {
+        if (path == null || !path.startsWith("/") || path.contains("//")) {
+            return null;
+        }
+        String trimmed = path.substring(1);
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    /**
+     * Finds parameters for <code>path</code> from the closest covering entry.
+     *
+     * @param segments  hierarchy segments of the requested path
+     * @param recursive whether the request is recursive
+     * @param oldest    entries fetched before this time are ignored
+     * @return parameters, or <code>null</code> if no fresh entry covers the
+     *         request
+     */
+    List<Parameter> get(String[] segments, boolean recursive, long oldest) {
+        ParameterCacheEntry entry = find(segments, recursive, oldest);
+        return entry == null ? null : entry.select(segments, recursive);
+    }
+
+    /**
+     * Finds the closest fresh entry covering <code>path</code>.
+     *
+     * @param segments  hierarchy segments of the requested path
+     * @param recursive whether the request is recursive
+     * @param oldest    entries fetched before this time are ignored
+     * @return covering entry, or <code>null</code> if there is none
+     */
+    synchronized ParameterCacheEntry find(String[] segments, boolean recursive, long oldest) {
+        Node node = root;
+        for (int depth = 0; ; depth++) {
+            if (isFresh(node.recursive, oldest)) {
+                return node.recursive;
+            }
+            if (depth == segments.length) {
+                if (!recursive && isFresh(node.direct, oldest)) {
+                    return node.direct;
+                }
+                return null;
+            }
+            node = node.children.get(segments[depth]);
+            if (node == null) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores the parameters fetched for <code>path</code>.
+     *
+     * @param segments   hierarchy segments of the fetched path
+     * @param recursive  whether the fetch was recursive
+     * @param parameters fetched parameters
+     * @param fetchedAt  time of the fetch
+     */
+    void put(String[] segments, boolean recursive, List<Parameter> parameters, long fetchedAt) {
+        put(segments, new ParameterCacheEntry(parameters, recursive, fetchedAt, null));
+    }
+
+    /**
+     * Stores the entry fetched for <code>path</code>.
+     *
+     * @param segments hierarchy segments of the fetched path
+     * @param entry    fetched entry
+     */
+    synchronized void put(String[] segments, ParameterCacheEntry entry) {
+        Node node = root;
+        for (String segment : segments) {
+            Node child = node.children.get(segment);
+            if (child == null) {
+                child = new Node();
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        if (entry.isRecursive()) {
+            wipe(node.recursive);
+            node.recursive = entry;
+            for (Node child : node.children.values()) {
+                wipeAll(child);
+            }
+            node.children.clear();
+        } else {
+            wipe(node.direct);
+            node.direct = entry;
+        }
+    }
+
+    /**
+     * Removes the entry fetched for <code>path</code>. The removed entry is
+     * not wiped.
+     *
+     * @param segments  hierarchy segments of the fetched path
+     * @param recursive whether the fetch was recursive
+     * @return removed entry, or <code>null</code> if there is none
+     */
+    synchronized ParameterCacheEntry remove(String[] segments, boolean recursive) {
+        final Node node = getNode(segments);
+        if (node == null) {
+            return null;
+        }
+        final ParameterCacheEntry entry = recursive ? node.recursive : node.direct;
+        if (recursive) {
+            node.recursive = null;
+        } else {
+            node.direct = null;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the entry fetched for <code>path</code>.
+     *
+     * @param segments  hierarchy segments of the fetched path
+     * @param recursive whether the fetch was recursive
+     * @return entry, or <code>null</code> if there is none
+     */
+    synchronized ParameterCacheEntry getEntry(String[] segments, boolean recursive) {
+        final Node node = getNode(segments);
+        if (node == null) {
+            return null;
+        }
+        return recursive ? node.recursive : node.direct;
+    }
+
+    private Node getNode(String[] segments) {
+        Node node = root;
+        for (int depth = 0; depth < segments.length && node != null; depth++) {
+            node = node.children.get(segments[depth]);
+        }
+        return node;
+    }
+
+    /**
+     * Collects all entries by their path, e.g. <code>/app/prod</code>.
+     *
+     * @param recursiveEntries receives the recursive entries
+     * @param directEntries    receives the non-recursive entries
+     */
+    synchronized void collect(Map<String, ParameterCacheEntry> recursiveEntries,
+            Map<String, ParameterCacheEntry> directEntries) {
+        collect(root, "", recursiveEntries, directEntries);
+    }
+
+    private static void collect(Node node, String path, Map<String, ParameterCacheEntry> recursiveEntries,
+            Map<String, ParameterCacheEntry> directEntries) {
+        final String key = path.isEmpty() ? "/" : path;
+        if (node.recursive != null) {
+            recursiveEntries.put(key, node.recursive);
+        }
+        if (node.direct != null) {
+            directEntries.put(key, node.direct);
+        }
+        for (Map.Entry<String, Node> child : node.children.entrySet()) {
+            collect(child.getValue(), path + "/" + child.getKey(), recursiveEntries, directEntries);
+        }
+    }
+
+    /**
+     * Removes the entries that may contain the parameter <code>name</code>:
+     * the recursive entries of all its ancestors and the direct entry of its
+     * parent. The removed entries are not wiped, so that callers can still
+     * use their refreshers.
+     *
+     * @param segments hierarchy segments of the parameter name
+     * @return removed entries by <code>path|recursive</code>
+     */
+    synchronized Map<String, ParameterCacheEntry> invalidate(String[] segments) {
+        final Map<String, ParameterCacheEntry> removed = new LinkedHashMap<>();
+        final StringBuilder path = new StringBuilder();
+        Node node = root;
+        for (int depth = 0; depth < segments.length && node != null; depth++) {
+            final String key = path.length() == 0 ? "/" : path.toString();
+            if (node.recursive != null) {
+                removed.put(key + "|true", node.recursive);
+                node.recursive = null;
+            }
+            if (depth == segments.length - 1 && node.direct != null) {
+                removed.put(key + "|false", node.direct);
+                node.direct = null;
+            }
+            node = node.children.get(segments[depth]);
+            path.append('/').append(segments[depth]);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes and wipes entries fetched before <code>oldest</code>, and empty
+     * nodes.
+     *
+     * @param oldest entries fetched before this time are removed
+     * @return <code>true</code> if the trie is now empty
+     */
+    synchronized boolean prune(long oldest) {
+        return prune(root, oldest);
+    }
+
+    private static boolean prune(Node node, long oldest) {
+        if (node.recursive != null && node.recursive.getFetchedAt() < oldest) {
+            wipe(node.recursive);
+            node.recursive = null;
+        }
+        if (node.direct != null && node.direct.getFetchedAt() < oldest) {
+            wipe(node.direct);
+            node.direct = null;
+        }
+        for (Iterator<Node> it = node.children.values().iterator(); it.hasNext();) {
+            if (prune(it.next(), oldest)) {
+                it.remove();
+            }
+        }
+        return node.recursive == null && node.direct == null && node.children.isEmpty();
+    }
+
+    private static void wipeAll(Node node) {
+        wipe(node.recursive);
+        wipe(node.direct);
+        for (Node child : node.children.values()) {
+            wipeAll(child);
+        }
+    }
+
+    private static void wipe(ParameterCacheEntry entry) {
+        if (entry != null) {
+            entry.wipe();
+        }
+    }
+
+    private static boolean isFresh(ParameterCacheEntry entry, long oldest) {
+        return entry != null && entry.getFetchedAt() >= oldest;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private ParameterCacheEntry recursive;
+        private ParameterCacheEntry direct;
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encoding and AES-GCM encryption of parameter snapshots, shared by the
+ * {@link AwsParameterStoreAgentCache} and the
+ * {@link AwsParameterStoreRunSnapshot}.
+ *
+ * @author agent
+ */
+final class ParameterSnapshotCodec {
+    static final int IV_LENGTH = 12;
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ParameterSnapshotCodec() {
+    }
+
+    /**
+     * Encodes the name, type, version and value of each parameter.
+     *
+     * @param parameters parameters
+     * @return encoded parameters
+     * @throws IOException if the parameters cannot be encoded
+     */
+    static byte[] encode(List<Parameter> parameters) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(parameters.size());
+        for (Parameter parameter : parameters) {
+            writeString(out, parameter.getName());
+            writeString(out, parameter.getType());
+            out.writeLong(parameter.getVersion() == null ? -1 : parameter.getVersion());
+            writeString(out, parameter.getValue());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes parameters encoded by {@link #encode}.
+     *
+     * @param encoded encoded parameters
+     * @return parameters
+     * @throws IOException if the parameters cannot be decoded
+     */
+    static List<Parameter> decode(byte[] encoded) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        final int count = in.readInt();
+        final List<Parameter> parameters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = readString(in);
+            final String type = readString(in);
+            final long parameterVersion = in.readLong();
+            final String value = readString(in);
+            parameters.add(new Parameter().withName(name).withType(type)
+                    .withVersion(parameterVersion < 0 ? null : parameterVersion).withValue(value));
+        }
+        return parameters;
+    }
+
+    /**
+     * Encrypts <code>plain</code> under a random IV.
+     *
+     * @param key   AES key
+     * @param aad   data authenticated with the ciphertext
+     * @param plain data to encrypt
+     * @return IV followed by the ciphertext and tag
+     * @throws IOException if the data cannot be encrypted
+     */
+    static byte[] encrypt(byte[] key, byte[] aad, byte[] plain) throws IOException {
+        final byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        final byte[] encrypted;
+        try {
+            final Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(aad);
+            encrypted = cipher.doFinal(plain);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot encrypt parameter snapshot", e);
+        }
+        final byte[] result = new byte[IV_LENGTH + encrypted.length];
+        System.arraycopy(iv, 0, result, 0, IV_LENGTH);
+        System.arraycopy(encrypted, 0, result, IV_LENGTH, encrypted.length);
+        return result;
+    }
+
+    /**
+     * Decrypts data encrypted by {@link #encrypt}.
+     *
+     * @param key       AES key
+     * @param aad       data authenticated with the ciphertext
+     * @param encrypted IV followed by the ciphertext and tag
+     * @return plain data, or null if it cannot be decrypted with
+     *         <code>key</code> and <code>aad</code>
+     */
+    static byte[] decrypt(byte[] key, byte[] aad, byte[] encrypted) {
+        if (encrypted.length < IV_LENGTH) {
+            return null;
+        }
+        try {
+            final Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"),
+                    new GCMParameterSpec(TAG_BITS, encrypted, 0, IV_LENGTH));
+            cipher.updateAAD(aad);
+            return cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
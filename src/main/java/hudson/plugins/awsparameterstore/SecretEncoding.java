@@ -0,0 +1,211 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Encoded forms of a secret that are redacted from the console as well.
+ * <p>
+ * The encodings used are listed in
+ * <code>hudson.plugins.awsparameterstore.AwsParameterStoreMaskingRegistry.encodings</code>
+ * (default <code>url,base64,json,shell</code>). Encoded forms shorter than
+ * {@link #MIN_LENGTH} characters are ignored, since they would redact common
+ * text.
+ *
+ * @author agent
+ */
+enum SecretEncoding {
+    /**
+     * <code>application/x-www-form-urlencoded</code>, as in query strings.
+     */
+    URL {
+        @Override
+        void encode(String secret, Collection<String> forms) {
+            try {
+                forms.add(URLEncoder.encode(secret, "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    },
+    /**
+     * Base64, including the secret in the middle of a longer encoded value
+     * such as a basic authentication header: for each of the three possible
+     * alignments only the characters that depend on the secret alone are
+     * kept.
+     */
+    BASE64 {
+        @Override
+        void encode(String secret, Collection<String> forms) {
+            final byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            for (int offset = 0; offset < 3; offset++) {
+                final byte[] aligned = new byte[offset + bytes.length];
+                System.arraycopy(bytes, 0, aligned, offset, bytes.length);
+                final String encoded = toBase64(aligned);
+                final int start = (offset * 8 + 5) / 6;
+                final int end = aligned.length * 8 / 6;
+                if (end > start) {
+                    forms.add(encoded.substring(start, end));
+                }
+            }
+        }
+    },
+    /**
+     * Contents of a JSON string, with and without escaped slashes.
+     */
+    JSON {
+        @Override
+        void encode(String secret, Collection<String> forms) {
+            final StringBuilder escaped = new StringBuilder();
+            for (int i = 0; i < secret.length(); i++) {
+                final char c = secret.charAt(i);
+                switch (c) {
+                    case '"':
+                        escaped.append("\\\"");
+                        break;
+                    case '\\':
+                        escaped.append("\\\\");
+                        break;
+                    case '\n':
+                        escaped.append("\\n");
+                        break;
+                    case '\r':
+                        escaped.append("\\r");
+                        break;
+                    case '\t':
+                        escaped.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            escaped.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            escaped.append(c);
+                        }
+                }
+            }
+            forms.add(escaped.toString());
+            forms.add(escaped.toString().replace("/", "\\/"));
+        }
+    },
+    /**
+     * Shell quoting as printed by <code>set -x</code> and used in scripts:
+     * inside single quotes and inside double quotes.
+     */
+    SHELL {
+        @Override
+        void encode(String secret, Collection<String> forms) {
+            forms.add(secret.replace("'", "'\\''"));
+            final StringBuilder escaped = new StringBuilder();
+            for (int i = 0; i < secret.length(); i++) {
+                final char c = secret.charAt(i);
+                if (c == '"' || c == '\\' || c == '$' || c == '`') {
+                    escaped.append('\\');
+                }
+                escaped.append(c);
+            }
+            forms.add(escaped.toString());
+        }
+    };
+
+    /**
+     * Encoded forms shorter than this are not redacted.
+     */
+    static final int MIN_LENGTH = 4;
+
+    private static final Logger LOGGER = Logger.getLogger(SecretEncoding.class.getName());
+    private static final char[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * Adds the encoded forms of <code>secret</code>, which may include the
+     * secret itself.
+     *
+     * @param secret secure string
+     * @param forms  receives the encoded forms
+     */
+    abstract void encode(String secret, Collection<String> forms);
+
+    /**
+     * Gets the encodings named in <code>names</code>.
+     *
+     * @param names comma separated encoding names, may be <code>null</code>
+     * @return encodings, unknown names are logged and ignored
+     */
+    static Set<SecretEncoding> getEncodings(String names) {
+        final Set<SecretEncoding> encodings = EnumSet.noneOf(SecretEncoding.class);
+        for (String name : StringUtils.split(StringUtils.defaultString(names), ", ")) {
+            try {
+                encodings.add(valueOf(name.toUpperCase(Locale.ENGLISH)));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warning("Unknown secret encoding: \"" + name + "\"");
+            }
+        }
+        return encodings;
+    }
+
+    /**
+     * Adds <code>secret</code> and its forms in all <code>encodings</code>.
+     *
+     * @param secret    secure string, not empty
+     * @param encodings encodings to apply
+     * @param literals  receives the strings to redact
+     */
+    static void addLiterals(String secret, Set<SecretEncoding> encodings, Collection<String> literals) {
+        literals.add(secret);
+        final Collection<String> forms = new LinkedHashSet<>();
+        for (SecretEncoding encoding : encodings) {
+            encoding.encode(secret, forms);
+        }
+        for (String form : forms) {
+            if (form.length() >= MIN_LENGTH) {
+                literals.add(form);
+            }
+        }
+    }
+
+    private static String toBase64(byte[] bytes) {
+        final StringBuilder encoded = new StringBuilder((bytes.length + 2) / 3 * 4);
+        for (int i = 0; i < bytes.length; i += 3) {
+            final int b0 = bytes[i] & 0xff;
+            final int b1 = i + 1 < bytes.length ? bytes[i + 1] & 0xff : 0;
+            final int b2 = i + 2 < bytes.length ? bytes[i + 2] & 0xff : 0;
+            encoded.append(BASE64_ALPHABET[b0 >> 2]);
+            encoded.append(BASE64_ALPHABET[(b0 & 0x03) << 4 | b1 >> 4]);
+            encoded.append(i + 1 < bytes.length ? BASE64_ALPHABET[(b1 & 0x0f) << 2 | b2 >> 6] : '=');
+            encoded.append(i + 2 < bytes.length ? BASE64_ALPHABET[b2 & 0x3f] : '=');
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton finding any number of literal secrets in a single
+ * pass over a line.
+ * <p>
+ * Unlike an alternation of the secrets in a regular expression, the work per
+ * line is proportional to its length however many secrets and encoded forms
+ * are registered. Every character covered by a secret is redacted: secrets
+ * overlapping each other are replaced by one mask, adjacent ones by one mask
+ * each.
+ *
+ * @author agent
+ */
+final class SecretMatcher {
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] longest;
+
+    /**
+     * Creates a new {@link SecretMatcher}.
+     *
+     * @param secrets literal strings to detect, none of them empty
+     */
+    SecretMatcher(Collection<String> secrets) {
+        final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        final List<Integer> lengths = new ArrayList<>();
+        children.add(new TreeMap<Character, Integer>());
+        lengths.add(0);
+        for (String secret : secrets) {
+            int node = 0;
+            for (int i = 0; i < secret.length(); i++) {
+                Integer child = children.get(node).get(secret.charAt(i));
+                if (child == null) {
+                    child = children.size();
+                    children.add(new TreeMap<Character, Integer>());
+                    lengths.add(0);
+                    children.get(node).put(secret.charAt(i), child);
+                }
+                node = child;
+            }
+            lengths.set(node, Math.max(lengths.get(node), secret.length()));
+        }
+
+        final int size = children.size();
+        this.keys = new char[size][];
+        this.targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            final TreeMap<Character, Integer> edges = children.get(node);
+            keys[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        this.fail = new int[size];
+        this.longest = new int[size];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            final int node = queue.poll();
+            for (int i = 0; i < keys[node].length; i++) {
+                final int child = targets[node][i];
+                if (node != 0) {
+                    int state = fail[node];
+                    int next = step(state, keys[node][i]);
+                    while (next < 0 && state != 0) {
+                        state = fail[state];
+                        next = step(state, keys[node][i]);
+                    }
+                    fail[child] = next < 0 ? 0 : next;
+                }
+                longest[child] = Math.max(lengths.get(child), longest[fail[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    private int step(int node, char c) {
+        final int index = Arrays.binarySearch(keys[node], c);
+        return index < 0 ? -1 : targets[node][index];
+    }
+
+    /**
+     * Replaces every secret in <code>line</code>.
+     *
+     * @param line        console line
+     * @param replacement mask for each run of secret characters
+     * @return the redacted line, or <code>line</code> itself if it does not
+     *         contain a secret
+     */
+    String replace(String line, String replacement) {
+        int[] starts = null;
+        int[] ends = null;
+        int count = 0;
+        int state = 0;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            int next = step(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = step(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            final int length = longest[state];
+            if (length == 0) {
+                continue;
+            }
+            int start = i - length + 1;
+            if (starts == null) {
+                starts = new int[4];
+                ends = new int[4];
+            }
+            while (count > 0 && start <= ends[count - 1]) {
+                count--;
+                start = Math.min(start, starts[count]);
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+        if (count == 0) {
+            return line;
+        }
+        final StringBuilder redacted = new StringBuilder(line.length());
+        int copied = 0;
+        for (int i = 0; i < count; i++) {
+            redacted.append(line, copied, starts[i]).append(replacement);
+            copied = ends[i] + 1;
+        }
+        return redacted.append(line, copied, line.length()).toString();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2026 agent
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter over the leading characters of each secret.
+ * <p>
+ * Every occurrence of a secret in a line starts with the first
+ * <code>gram</code> characters of that secret, so if no window of the line
+ * hashes into the filter the line cannot contain a secret and the regular
+ * expression does not need to run.
+ *
+ * @author agent
+ */
+final class SecretPrefilter {
+    private static final int MAX_GRAM = 4;
+    private static final int BITS = 1 << 16;
+    private static final int MASK = BITS - 1;
+    private static final int BASE = 31;
+
+    private final int gram;
+    private final int basePower;
+    private final long[] bloom;
+
+    /**
+     * Creates a new {@link SecretPrefilter}.
+     *
+     * @param secrets literal strings to detect, none of them empty
+     */
+    SecretPrefilter(Collection<String> secrets) {
+        int shortest = MAX_GRAM;
+        for (String secret : secrets) {
+            shortest = Math.min(shortest, secret.length());
+        }
+        this.gram = Math.max(1, shortest);
+        int power = 1;
+        for (int i = 1; i < gram; i++) {
+            power *= BASE;
+        }
+        this.basePower = power;
+        this.bloom = new long[BITS / 64];
+        for (String secret : secrets) {
+            int hash = 0;
+            for (int i = 0; i < gram; i++) {
+                hash = hash * BASE + secret.charAt(i);
+            }
+            set(hash);
+        }
+    }
+
+    /**
+     * Returns <code>false</code> only if <code>line</code> cannot contain any of
+     * the secrets.
+     *
+     * @param line console line
+     * @return whether the line needs to be matched
+     */
+    boolean mightContain(CharSequence line) {
+        int length = line.length();
+        if (length < gram) {
+            return false;
+        }
+        int hash = 0;
+        for (int i = 0; i < gram; i++) {
+            hash = hash * BASE + line.charAt(i);
+        }
+        if (isSet(hash)) {
+            return true;
+        }
+        for (int i = gram; i < length; i++) {
+            hash = (hash - line.charAt(i - gram) * basePower) * BASE + line.charAt(i);
+            if (isSet(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void set(int hash) {
+        int h1 = index1(hash);
+        int h2 = index2(hash);
+        bloom[h1 >>> 6] |= 1L << h1;
+        bloom[h2 >>> 6] |= 1L << h2;
+    }
+
+    private boolean isSet(int hash) {
+        int h1 = index1(hash);
+        if ((bloom[h1 >>> 6] & (1L << h1)) == 0) {
+            return false;
+        }
+        int h2 = index2(hash);
+        return (bloom[h2 >>> 6] & (1L << h2)) != 0;
+    }
+
+    private static int index1(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & MASK;
+    }
+
+    private static int index2(int hash) {
+        int h = hash * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return (h ^ (h >>> 16)) & MASK;
+    }
+}
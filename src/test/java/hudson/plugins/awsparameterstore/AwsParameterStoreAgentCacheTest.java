@@ -0,0 +1,110 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Run tests for {@link AwsParameterStoreAgentCache}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreAgentCacheTest {
+
+  private static final byte[] KEY = "0123456789abcdef".getBytes();
+  private static final String FETCH_KEY = "|us-east-1|/service/|true";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Test that a snapshot is read back as written.
+   */
+  @Test
+  public void testReadSnapshot() throws Exception {
+    List<Parameter> parameters = Arrays.asList(
+        new Parameter().withName("/service/a").withType("String").withValue("value").withVersion(3L),
+        new Parameter().withName("/service/b").withType("SecureString").withValue("s3cr3t"));
+    try (RandomAccessFile file = open()) {
+      AwsParameterStoreAgentCache.writeSnapshot(file, KEY, FETCH_KEY, 1000, parameters);
+      Assert.assertEquals(parameters, AwsParameterStoreAgentCache.readSnapshot(file, KEY, FETCH_KEY, 1000));
+    }
+  }
+
+  /**
+   * Test that expired, foreign and missing snapshots are ignored.
+   */
+  @Test
+  public void testIgnoreUnusableSnapshot() throws Exception {
+    List<Parameter> parameters = Arrays.asList(new Parameter().withName("/service/a").withType("String")
+        .withValue("value"));
+    try (RandomAccessFile file = open()) {
+      Assert.assertNull("missing", AwsParameterStoreAgentCache.readSnapshot(file, KEY, FETCH_KEY, 0));
+      AwsParameterStoreAgentCache.writeSnapshot(file, KEY, FETCH_KEY, 1000, parameters);
+      Assert.assertNull("expired", AwsParameterStoreAgentCache.readSnapshot(file, KEY, FETCH_KEY, 1001));
+      Assert.assertNull("key", AwsParameterStoreAgentCache.readSnapshot(file, "fedcba9876543210".getBytes(),
+          FETCH_KEY, 0));
+      Assert.assertNull("fetch", AwsParameterStoreAgentCache.readSnapshot(file, KEY, "|us-east-1|/other/|true", 0));
+    }
+  }
+
+  /**
+   * Test that snapshots are stored in one file per fetch.
+   */
+  @Test
+  public void testToFile() {
+    File directory = folder.getRoot();
+    Assert.assertEquals(AwsParameterStoreAgentCache.toFile(directory, FETCH_KEY),
+        AwsParameterStoreAgentCache.toFile(directory, FETCH_KEY));
+    Assert.assertNotEquals(AwsParameterStoreAgentCache.toFile(directory, FETCH_KEY),
+        AwsParameterStoreAgentCache.toFile(directory, "|eu-west-1|/service/|true"));
+  }
+
+  /**
+   * Test that each node gets its own key.
+   */
+  @Test
+  public void testDeriveKey() {
+    byte[] agent1 = AwsParameterStoreAgentCache.deriveKey(KEY, "agent1");
+    Assert.assertEquals("length", 32, agent1.length);
+    Assert.assertArrayEquals("stable", agent1, AwsParameterStoreAgentCache.deriveKey(KEY, "agent1"));
+    Assert.assertFalse("per node", Arrays.equals(agent1, AwsParameterStoreAgentCache.deriveKey(KEY, "agent2")));
+    Assert.assertFalse("not the controller key", Arrays.equals(KEY, agent1));
+  }
+
+  private RandomAccessFile open() throws Exception {
+    return new RandomAccessFile(new File(folder.getRoot(), "test.snapshot"), "rw");
+  }
+}
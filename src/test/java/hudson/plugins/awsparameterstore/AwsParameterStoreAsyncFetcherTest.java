@@ -0,0 +1,173 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run tests for the batches {@link AwsParameterStoreAsyncFetcher} issues,
+ * against a mocked asynchronous client.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreAsyncFetcherTest {
+  private final static String SCOPE = AwsParameterStoreCache.toScope("aws-async", "eu-west-1");
+
+  private AWSSimpleSystemsManagementAsync client;
+  private List<GetParametersRequest> requests;
+  private List<AsyncHandler<GetParametersRequest, GetParametersResult>> handlers;
+
+  /**
+   * Set up a mocked client that keeps the requests until a test answers them.
+   */
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    AwsParameterStoreCircuitBreaker.resetAll();
+    requests = new ArrayList<>();
+    handlers = new ArrayList<>();
+    client = Mockito.mock(AWSSimpleSystemsManagementAsync.class);
+    Mockito.when(client.getParametersAsync(Mockito.any(GetParametersRequest.class), Mockito.any(AsyncHandler.class)))
+        .thenAnswer(new Answer<Future<GetParametersResult>>() {
+          @Override
+          public Future<GetParametersResult> answer(InvocationOnMock invocation) {
+            requests.add((GetParametersRequest) invocation.getArguments()[0]);
+            handlers.add((AsyncHandler<GetParametersRequest, GetParametersResult>) invocation.getArguments()[1]);
+            return null;
+          }
+        });
+  }
+
+  /**
+   * Test that names are fetched in concurrent batches of ten and returned in
+   * their order, whatever order the batches complete in. Names ending in 7
+   * are answered as invalid.
+   */
+  @Test
+  public void testBatchesInNameOrder() throws Exception {
+    List<String> names = names(25);
+    ListenableFuture<List<Parameter>> future = new AwsParameterStoreAsyncFetcher(client, 4, SCOPE, SCOPE, "",
+        new AwsParameterStoreFetchMetrics(), 0).fetchParametersByName(names, true);
+
+    Assert.assertEquals(3, requests.size());
+    Assert.assertEquals(names.subList(0, 10), requests.get(0).getNames());
+    Assert.assertEquals(names.subList(20, 25), requests.get(2).getNames());
+    Assert.assertTrue(requests.get(0).getWithDecryption());
+    for (int i = requests.size() - 1; i >= 0; i--) {
+      answer(i);
+    }
+    List<String> expected = new ArrayList<>();
+    for (String name : names) {
+      if (!name.endsWith("7")) {
+        expected.add(name);
+      }
+    }
+    List<String> fetched = new ArrayList<>();
+    for (Parameter parameter : future.get(5, TimeUnit.SECONDS)) {
+      fetched.add(parameter.getName());
+    }
+    Assert.assertEquals("missing names skipped", expected, fetched);
+    Assert.assertEquals(0, AwsParameterStoreThrottle.getInstance().getRunning(SCOPE));
+  }
+
+  /**
+   * Test that a failed batch fails the fetch and that the permits of all
+   * batches are returned.
+   */
+  @Test
+  public void testBatchFailure() throws Exception {
+    ListenableFuture<List<Parameter>> future = new AwsParameterStoreAsyncFetcher(client, 4, SCOPE, SCOPE, "",
+        new AwsParameterStoreFetchMetrics(), 0).fetchParametersByName(names(25), false);
+
+    AmazonServiceException failure = new AmazonServiceException("Access denied");
+    failure.setStatusCode(400);
+    answer(0);
+    handlers.get(1).onError(failure);
+    Assert.assertTrue(future.isDone());
+    try {
+      future.get();
+      Assert.fail("Expected the fetch to fail");
+    } catch (ExecutionException e) {
+      Assert.assertSame(failure, e.getCause());
+    }
+    answer(2);
+    Assert.assertEquals(0, AwsParameterStoreThrottle.getInstance().getRunning(SCOPE));
+    Assert.assertTrue(AwsParameterStoreCircuitBreaker.forScope(SCOPE).allowRequest());
+  }
+
+  /**
+   * Test that cancelling a fetch drops its queued batches without calling AWS.
+   */
+  @Test
+  public void testCancellation() throws Exception {
+    ListenableFuture<List<Parameter>> future = new AwsParameterStoreAsyncFetcher(client, 1, SCOPE, SCOPE, "",
+        new AwsParameterStoreFetchMetrics(), 0).fetchParametersByName(names(25), false);
+    Assert.assertEquals("concurrency", 1, requests.size());
+
+    Assert.assertTrue(future.cancel(false));
+    answer(0);
+    Assert.assertEquals("queued batches", 1, requests.size());
+    Assert.assertEquals(0, AwsParameterStoreThrottle.getInstance().getRunning(SCOPE));
+  }
+
+  private void answer(int index) {
+    GetParametersRequest request = requests.get(index);
+    List<Parameter> parameters = new ArrayList<>();
+    for (String name : request.getNames()) {
+      if (!name.endsWith("7")) {
+        parameters.add(new Parameter().withName(name).withType("String").withValue(name));
+      }
+    }
+    handlers.get(index).onSuccess(request, new GetParametersResult().withParameters(parameters)
+        .withInvalidParameters(Arrays.asList("missing")));
+  }
+
+  private static List<String> names(int count) {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      names.add("/app/name" + i);
+    }
+    return names;
+  }
+}
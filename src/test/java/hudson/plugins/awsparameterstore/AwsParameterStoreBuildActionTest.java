@@ -0,0 +1,83 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run tests for the views of {@link AwsParameterStoreBuildAction} and
+ * {@link AwsParameterStoreProjectAction}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreBuildActionTest {
+  private final static String DISPLAY_NAME = "AWS Parameter Store";
+
+  @Rule
+  public JenkinsRule j = new JenkinsRule();
+
+  /**
+   * Tests that the build summary renders the fetch statistics.
+   */
+  @Test
+  public void testBuildSummary() throws Exception {
+    FreeStyleProject project = j.createFreeStyleProject();
+    FreeStyleBuild build = buildWithAction(project);
+
+    String text = j.createWebClient().getPage(build).asText();
+    Assert.assertTrue(text, text.contains(DISPLAY_NAME));
+    Assert.assertTrue(text, text.contains("GetParametersByPath"));
+  }
+
+  /**
+   * Tests that the job page renders the fetch time trend caption.
+   */
+  @Test
+  public void testProjectFloatingBox() throws Exception {
+    FreeStyleProject project = j.createFreeStyleProject();
+    buildWithAction(project);
+
+    String text = j.createWebClient().getPage(project).asText();
+    Assert.assertTrue(text, text.contains(DISPLAY_NAME + " Fetch Time"));
+  }
+
+  private FreeStyleBuild buildWithAction(FreeStyleProject project) throws Exception {
+    FreeStyleBuild build = j.buildAndAssertSuccess(project);
+    AwsParameterStoreBuildAction action = AwsParameterStoreBuildAction.forRun(build);
+    action.add(250, Collections.<AwsParameterStoreAgentCache.Result>emptyList());
+    action.getMetrics().recordCall(new GetParametersByPathRequest(), TimeUnit.MILLISECONDS.toNanos(40));
+    build.save();
+    return build;
+  }
+}
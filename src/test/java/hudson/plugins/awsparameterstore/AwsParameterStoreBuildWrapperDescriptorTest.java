@@ -23,12 +23,20 @@
   */
 package hudson.plugins.awsparameterstore;
 
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
 import com.cloudbees.jenkins.plugins.awscredentials.AWSCredentialsHelper;
 
 import jenkins.model.Jenkins;
 
+import hudson.model.Item;
+import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 
+import java.util.Arrays;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -55,6 +63,7 @@ import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({AwsParameterStoreBuildWrapper.DescriptorImpl.class, Jenkins.class, AWSCredentialsHelper.class})
 public class AwsParameterStoreBuildWrapperDescriptorTest {
+  private final static String REGION_NAME = "eu-west-1";
 
   /**
    * Setups mock service classes.
@@ -63,6 +72,16 @@ public class AwsParameterStoreBuildWrapperDescriptorTest {
   public void setUp() {
     mockAWSCredentialsHelper();
     mockJenkins();
+    AwsParameterStoreIndex.getInstance().clear();
+  }
+
+  /**
+   * Drops the indexes and clients used by the lookup tests.
+   */
+  @After
+  public void tearDown() {
+    AwsParameterStoreIndex.getInstance().clear();
+    AwsParameterStoreClients.getInstance().clear();
   }
 
   /**
@@ -125,6 +144,65 @@ public class AwsParameterStoreBuildWrapperDescriptorTest {
     Assert.assertEquals("isApplicable", true, descriptor.isApplicable(null));
   }
 
+  /**
+   * Test that parameter names are not looked up for callers who may not
+   * configure the job, nor without a job for non-administrators.
+   */
+  @Test
+  public void testLookupRequiresConfigure() {
+    AwsParameterStoreBuildWrapper.DescriptorImpl descriptor = new AwsParameterStoreBuildWrapper.DescriptorImpl();
+    Item item = Mockito.mock(Item.class);
+    Mockito.when(item.hasPermission(Item.CONFIGURE)).thenReturn(false);
+
+    Assert.assertFalse("item", AwsParameterStoreBuildWrapper.DescriptorImpl.canLookup(item, null, REGION_NAME));
+    Assert.assertFalse("no item", AwsParameterStoreBuildWrapper.DescriptorImpl.canLookup(null, null, REGION_NAME));
+    Assert.assertTrue("path items", descriptor.doFillPathItems(item, null, REGION_NAME).isEmpty());
+    FormValidation check = descriptor.doCheckPath(item, "/app", null, REGION_NAME, true);
+    Assert.assertEquals("check", FormValidation.Kind.OK, check.kind);
+    Assert.assertNull("check message", check.getMessage());
+    Assert.assertEquals("preview", FormValidation.Kind.ERROR,
+        descriptor.doPreview(item, null, REGION_NAME, "/app", true, null, null).kind);
+    Assert.assertEquals("indexes", 0, AwsParameterStoreIndex.getInstance().size());
+  }
+
+  /**
+   * Test that the path is completed, checked and previewed from the index for
+   * callers who may configure the job.
+   */
+  @Test
+  public void testLookupWithConfigure() throws InterruptedException {
+    AwsParameterStoreBuildWrapper.DescriptorImpl descriptor = new AwsParameterStoreBuildWrapper.DescriptorImpl();
+    Item item = Mockito.mock(Item.class);
+    Mockito.when(item.hasPermission(Item.CONFIGURE)).thenReturn(true);
+    AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class))).thenReturn(
+        new DescribeParametersResult().withParameters(new ParameterMetadata().withName("/app/name"),
+            new ParameterMetadata().withName("/app/prod/db")));
+    AwsParameterStoreClients.getInstance().putClient(null, REGION_NAME, client);
+
+    Assert.assertTrue("region", AwsParameterStoreBuildWrapper.DescriptorImpl.canLookup(item, "", REGION_NAME));
+    Assert.assertFalse("unknown region",
+        AwsParameterStoreBuildWrapper.DescriptorImpl.canLookup(item, "", "nowhere-1"));
+    Assert.assertEquals("indexing", "Indexing parameters...",
+        descriptor.doCheckPath(item, "/app", "", REGION_NAME, true).getMessage());
+    for (int i = 0; i < 50 && AwsParameterStoreIndex.getInstance().getNames(null, REGION_NAME) == null; i++) {
+      Thread.sleep(100);
+    }
+
+    Assert.assertEquals("path items", Arrays.asList("/app", "/app/prod"),
+        descriptor.doFillPathItems(item, "", REGION_NAME));
+    Assert.assertEquals("recursive", "Matches 2 parameters",
+        descriptor.doCheckPath(item, "/app", "", REGION_NAME, true).getMessage());
+    Assert.assertEquals("direct", "Matches 1 parameters",
+        descriptor.doCheckPath(item, "/app", "", REGION_NAME, false).getMessage());
+    Assert.assertEquals("no match", FormValidation.Kind.WARNING,
+        descriptor.doCheckPath(item, "/other", "", REGION_NAME, true).kind);
+    Assert.assertEquals("relative", FormValidation.Kind.ERROR,
+        descriptor.doCheckPath(item, "app", "", REGION_NAME, true).kind);
+    String preview = descriptor.doPreview(item, "", REGION_NAME, "/app/prod", true, null, null).renderHtml();
+    Assert.assertTrue(preview, preview.contains("1 parameters") && preview.contains("/app/prod/db"));
+  }
+
   /**
    * Mocks the credential helper which requires a running Jenkins instance.
    */
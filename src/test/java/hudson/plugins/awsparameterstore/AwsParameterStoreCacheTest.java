@@ -0,0 +1,207 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+/**
+ * Run tests for the refresh-ahead of {@link AwsParameterStoreCache}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreCacheTest {
+
+  private final static String SCOPE = AwsParameterStoreCache.toScope("aws-admin", "eu-west-1");
+  private final static String KEY = SCOPE + "|BeginsWith|svc-";
+  private final static List<Parameter> PARAMETERS = Collections.singletonList(
+      new Parameter().withName("/app/name").withType("String").withValue("value"));
+
+  private AwsParameterStoreCache cache;
+
+  /**
+   * Enables the cache and refreshes every entry read at least once a minute.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCache.TTL = 60;
+    AwsParameterStoreCache.REFRESH_AHEAD_RATE = 1;
+    AwsParameterStoreCache.REFRESH_AHEAD_FACTOR = 0;
+    cache = new AwsParameterStoreCache(null);
+  }
+
+  @After
+  public void tearDown() {
+    cache.clear();
+    AwsParameterStoreCache.TTL = 0;
+    AwsParameterStoreCache.REFRESH_AHEAD_RATE = 6;
+    AwsParameterStoreCache.REFRESH_AHEAD_FACTOR = 0.75;
+  }
+
+  /**
+   * Test that hot entries are refreshed in the background.
+   */
+  @Test
+  public void testHotEntryRefreshed() throws InterruptedException {
+    CountDownLatch prefix = new CountDownLatch(1);
+    CountDownLatch path = new CountDownLatch(1);
+    cache.putParameters(KEY, PARAMETERS, countDown(prefix));
+    cache.putParametersByPath(SCOPE, "/app", true, PARAMETERS, countDown(path));
+    Assert.assertEquals(PARAMETERS, cache.getParameters(KEY));
+    Assert.assertEquals(PARAMETERS, cache.getParametersByPath(SCOPE, "/app", true));
+    Assert.assertTrue("prefix", prefix.await(5, TimeUnit.SECONDS));
+    Assert.assertTrue("path", path.await(5, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Test that entries read less often than the refresh-ahead rate or younger
+   * than the refresh-ahead factor of the TTL are not refreshed.
+   */
+  @Test
+  public void testColdOrYoungEntryNotRefreshed() throws InterruptedException {
+    AtomicInteger refreshes = new AtomicInteger();
+    AwsParameterStoreCache.REFRESH_AHEAD_RATE = 1000;
+    cache.putParameters(KEY, PARAMETERS, count(refreshes));
+    Assert.assertEquals(PARAMETERS, cache.getParameters(KEY));
+
+    AwsParameterStoreCache.REFRESH_AHEAD_RATE = 1;
+    AwsParameterStoreCache.REFRESH_AHEAD_FACTOR = 0.75;
+    Assert.assertEquals(PARAMETERS, cache.getParameters(KEY));
+
+    AwsParameterStoreCache.REFRESH_AHEAD_FACTOR = 0;
+    AwsParameterStoreCache.REFRESH_AHEAD_RATE = 0;
+    Assert.assertEquals(PARAMETERS, cache.getParameters(KEY));
+    Thread.sleep(100);
+    Assert.assertEquals(0, refreshes.get());
+  }
+
+  /**
+   * Test that an entry is only refreshed once at a time and that readers
+   * keep the current entry until the refreshed one replaces it.
+   */
+  @Test
+  public void testSingleRefreshInFlight() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger refreshes = new AtomicInteger();
+    final List<Parameter> refreshed = Collections.singletonList(
+        new Parameter().withName("/app/name").withType("String").withValue("refreshed"));
+    cache.putParameters(KEY, PARAMETERS, new Runnable() {
+      @Override
+      public void run() {
+        refreshes.incrementAndGet();
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        cache.putParameters(KEY, refreshed, null);
+      }
+    });
+    Assert.assertEquals(PARAMETERS, cache.getParameters(KEY));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals("current", PARAMETERS, cache.getParameters(KEY));
+    Assert.assertFalse("in flight", cache.refresh(KEY));
+    Assert.assertEquals(1, refreshes.get());
+
+    release.countDown();
+    for (int i = 0; i < 50 && !refreshed.equals(cache.getParameters(KEY)); i++) {
+      Thread.sleep(100);
+    }
+    Assert.assertEquals("replaced", refreshed, cache.getParameters(KEY));
+    Assert.assertFalse("no refresher", cache.refresh(KEY));
+    Assert.assertEquals(1, refreshes.get());
+  }
+
+  /**
+   * Test that JSON expansions are wiped when the entry holding their
+   * parameter is refreshed with another version, evicted or invalidated.
+   */
+  @Test
+  public void testJsonExpansionsDroppedWithEntries() {
+    String key = SCOPE + "|/app/db";
+    List<Parameter> version1 = Collections.singletonList(
+        new Parameter().withName("/app/db").withType("SecureString").withValue("{\"pin\": 1234}").withVersion(1L));
+    List<Parameter> version2 = Collections.singletonList(
+        new Parameter().withName("/app/db").withType("SecureString").withValue("{\"pin\": 5678}").withVersion(2L));
+
+    cache.putParametersByPath(SCOPE, "/app", true, version1, null);
+    JsonExpansion expansion = putJsonExpansion(key, version1);
+    cache.putParametersByPath(SCOPE, "/app", true, version1, null);
+    Assert.assertSame("same version kept", expansion, cache.getJsonExpansion(key));
+    cache.putParametersByPath(SCOPE, "/other", true, version2, null);
+    Assert.assertSame("other path kept", expansion, cache.getJsonExpansion(key));
+    cache.putParametersByPath(SCOPE, "/app", true, version2, null);
+    Assert.assertNull("refreshed", cache.getJsonExpansion(key));
+    Assert.assertNull("refreshed wiped", expansion.getValues());
+
+    expansion = putJsonExpansion(key, version2);
+    Assert.assertTrue(cache.evict(SCOPE + "|/app|true"));
+    Assert.assertNull("evicted", cache.getJsonExpansion(key));
+    Assert.assertNull("evicted wiped", expansion.getValues());
+
+    cache.putParametersByPath(SCOPE, "/app", true, version2, null);
+    expansion = putJsonExpansion(key, version2);
+    Assert.assertEquals(1, cache.invalidate("eu-west-1", "/app/db"));
+    Assert.assertNull("invalidated", cache.getJsonExpansion(key));
+    Assert.assertNull("invalidated wiped", expansion.getValues());
+  }
+
+  private JsonExpansion putJsonExpansion(String key, List<Parameter> parameters) {
+    JsonExpansion expansion = JsonExpansion.parse(parameters.get(0).getValue(), parameters.get(0).getVersion());
+    cache.putJsonExpansion(key, expansion);
+    Assert.assertSame(expansion, cache.getJsonExpansion(key));
+    return expansion;
+  }
+
+  private static Runnable countDown(final CountDownLatch latch) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        latch.countDown();
+      }
+    };
+  }
+
+  private static Runnable count(final AtomicInteger refreshes) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        refreshes.incrementAndGet();
+      }
+    };
+  }
+}
@@ -0,0 +1,146 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+
+/**
+ * Run tests for {@link AwsParameterStoreCircuitBreaker}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreCircuitBreakerTest {
+  private final static String SCOPE = "aws-breaker|eu-west-1";
+
+  private AwsParameterStoreCircuitBreaker breaker;
+
+  /**
+   * Set up a closed breaker opening after two outage errors.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCircuitBreaker.resetAll();
+    AwsParameterStoreCircuitBreaker.FAILURE_THRESHOLD = 2;
+    AwsParameterStoreCircuitBreaker.OPEN_DURATION = 1;
+    breaker = AwsParameterStoreCircuitBreaker.forScope(SCOPE);
+  }
+
+  /**
+   * Restore the default settings.
+   */
+  @After
+  public void tearDown() {
+    AwsParameterStoreCircuitBreaker.resetAll();
+    AwsParameterStoreCircuitBreaker.FAILURE_THRESHOLD = 5;
+    AwsParameterStoreCircuitBreaker.OPEN_DURATION = 30;
+  }
+
+  /**
+   * Test that consecutive server errors open the breaker.
+   */
+  @Test
+  public void testOpens() {
+    breaker.onFailure(serviceError("InternalServerError", 500));
+    Assert.assertTrue("closed after one failure", breaker.allowRequest());
+    breaker.onFailure(serviceError("InternalServerError", 500));
+    Assert.assertTrue("open", breaker.isOpen());
+    Assert.assertFalse("failing fast", breaker.allowRequest());
+  }
+
+  /**
+   * Test that a success resets the count of consecutive failures.
+   */
+  @Test
+  public void testStaysClosed() {
+    breaker.onFailure(connectionError());
+    breaker.onSuccess();
+    breaker.onFailure(connectionError());
+    Assert.assertFalse("closed", breaker.isOpen());
+    Assert.assertTrue("allowed", breaker.allowRequest());
+  }
+
+  /**
+   * Test that throttling, client errors without a connection failure and
+   * request errors do not open the breaker.
+   */
+  @Test
+  public void testIgnoresNonOutages() {
+    for (int i = 0; i < 3; i++) {
+      breaker.onFailure(serviceError("ThrottlingException", 400));
+      breaker.onFailure(new AmazonClientException("Unable to load AWS credentials"));
+      breaker.onFailure(serviceError("AccessDeniedException", 400));
+    }
+    Assert.assertFalse("closed", breaker.isOpen());
+  }
+
+  /**
+   * Test that connection failures open the breaker.
+   */
+  @Test
+  public void testConnectionFailures() {
+    breaker.onFailure(connectionError());
+    breaker.onFailure(connectionError());
+    Assert.assertTrue("open", breaker.isOpen());
+  }
+
+  /**
+   * Test that a single trial call is let through once the breaker has been
+   * open for its duration, and that its outcome closes or reopens it.
+   */
+  @Test
+  public void testHalfOpen() throws InterruptedException {
+    breaker.onFailure(serviceError("ServiceUnavailable", 503));
+    breaker.onFailure(serviceError("ServiceUnavailable", 503));
+    Thread.sleep(1100);
+    Assert.assertTrue("trial call", breaker.allowRequest());
+    Assert.assertFalse("single trial call", breaker.allowRequest());
+    breaker.onFailure(serviceError("ServiceUnavailable", 503));
+    Assert.assertFalse("reopened", breaker.allowRequest());
+
+    Thread.sleep(1100);
+    Assert.assertTrue("second trial call", breaker.allowRequest());
+    breaker.onSuccess();
+    Assert.assertFalse("closed", breaker.isOpen());
+    Assert.assertTrue("allowed", breaker.allowRequest());
+  }
+
+  private static AmazonServiceException serviceError(String errorCode, int statusCode) {
+    AmazonServiceException error = new AmazonServiceException(errorCode);
+    error.setErrorCode(errorCode);
+    error.setStatusCode(statusCode);
+    return error;
+  }
+
+  private static AmazonClientException connectionError() {
+    return new AmazonClientException("Unable to execute HTTP request", new ConnectException("Connection refused"));
+  }
+}
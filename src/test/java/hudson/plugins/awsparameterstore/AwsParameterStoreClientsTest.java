@@ -0,0 +1,153 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run tests for {@link AwsParameterStoreClients}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreClientsTest {
+  private final static String CREDENTIALS_ID = "aws-clients";
+  private final static String REGION_NAME = "eu-west-1";
+
+  /**
+   * Empty the pool and the cache between tests.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreClients.getInstance().clear();
+    AwsParameterStoreCache.getInstance().clear();
+    AwsParameterStoreCircuitBreaker.resetAll();
+  }
+
+  /**
+   * Test that clearing the pool shuts down the evicted clients.
+   */
+  @Test
+  public void testClearShutsDownClients() {
+    AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    AWSSimpleSystemsManagementAsync asyncClient = Mockito.mock(AWSSimpleSystemsManagementAsync.class);
+    AwsParameterStoreClients clients = AwsParameterStoreClients.getInstance();
+    clients.putClient(CREDENTIALS_ID, REGION_NAME, client);
+    clients.putAsyncClient(CREDENTIALS_ID, REGION_NAME, asyncClient);
+
+    clients.clear();
+
+    Mockito.verify(client).shutdown();
+    Mockito.verify(asyncClient).shutdown();
+    Assert.assertTrue("clients", clients.getClientScopes().isEmpty());
+    Assert.assertTrue("async clients", clients.getAsyncClientScopes().isEmpty());
+  }
+
+  /**
+   * Test that clearing the pool leaves a leased client running until its
+   * lease is returned, while new leases get a new client.
+   */
+  @Test
+  public void testClearKeepsLeasedClients() {
+    AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    AwsParameterStoreClients clients = AwsParameterStoreClients.getInstance();
+    clients.putClient(CREDENTIALS_ID, REGION_NAME, client);
+    Assert.assertSame("leased", client, clients.acquireClient(CREDENTIALS_ID, REGION_NAME));
+    Assert.assertSame("leased twice", client, clients.acquireClient(CREDENTIALS_ID, REGION_NAME));
+
+    clients.clear();
+    Assert.assertTrue("clients", clients.getClientScopes().isEmpty());
+    clients.release(client);
+    Mockito.verify(client, Mockito.never()).shutdown();
+
+    clients.release(client);
+    Mockito.verify(client).shutdown();
+    clients.release(client);
+    Mockito.verify(client).shutdown();
+  }
+
+  /**
+   * Test that a fetch running while the pool is cleared completes with its
+   * client, which is shut down once the fetch is done.
+   */
+  @Test
+  public void testClearDuringFetch() throws Exception {
+    final CountDownLatch fetching = new CountDownLatch(1);
+    final CountDownLatch cleared = new CountDownLatch(1);
+    final AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class))).thenAnswer(
+        new Answer<GetParametersByPathResult>() {
+          @Override
+          public GetParametersByPathResult answer(InvocationOnMock invocation) throws InterruptedException {
+            fetching.countDown();
+            cleared.await();
+            return new GetParametersByPathResult().withParameters(
+                new Parameter().withName("/app/name").withType("String").withValue("value"));
+          }
+        });
+    AwsParameterStoreClients clients = AwsParameterStoreClients.getInstance();
+    clients.putClient(CREDENTIALS_ID, REGION_NAME, client);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<List<Parameter>> fetch = executor.submit(new Callable<List<Parameter>>() {
+        @Override
+        public List<Parameter> call() {
+          return new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME).fetchParameters("/app", false, null,
+              null);
+        }
+      });
+      Assert.assertTrue("fetching", fetching.await(10, TimeUnit.SECONDS));
+
+      clients.clear();
+      Mockito.verify(client, Mockito.never()).shutdown();
+      cleared.countDown();
+
+      List<Parameter> parameters = fetch.get(10, TimeUnit.SECONDS);
+      Assert.assertEquals("parameters", 1, parameters.size());
+      Assert.assertEquals("value", "value", parameters.get(0).getValue());
+      Mockito.verify(client).shutdown();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.BasicSessionCredentials;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run tests for the expiration of credentials cached by
+ * {@link AwsParameterStoreCredentialsCache}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreCredentialsCacheTest {
+  private final static long REQUESTED_AT = 1000000L;
+
+  /**
+   * Restore the default session duration.
+   */
+  @After
+  public void tearDown() {
+    AwsParameterStoreCredentialsCache.SESSION_DURATION = 3000;
+  }
+
+  /**
+   * Test that long-term credentials do not expire.
+   */
+  @Test
+  public void testLongTermCredentials() {
+    Assert.assertEquals("expiration", Long.MAX_VALUE,
+        AwsParameterStoreCredentialsCache.getExpiration(new BasicAWSCredentials("key", "secret"), REQUESTED_AT));
+  }
+
+  /**
+   * Test that session credentials without an expiration last for the
+   * session duration from when they were requested.
+   */
+  @Test
+  public void testSessionDuration() {
+    Assert.assertEquals("expiration", REQUESTED_AT + TimeUnit.SECONDS.toMillis(3000),
+        AwsParameterStoreCredentialsCache.getExpiration(new BasicSessionCredentials("key", "secret", "token"),
+            REQUESTED_AT));
+  }
+
+  /**
+   * Test that the session duration cannot exceed the role session.
+   */
+  @Test
+  public void testSessionDurationCapped() {
+    AwsParameterStoreCredentialsCache.SESSION_DURATION = 7200;
+    Assert.assertEquals("expiration", REQUESTED_AT + TimeUnit.HOURS.toMillis(1),
+        AwsParameterStoreCredentialsCache.getExpiration(new BasicSessionCredentials("key", "secret", "token"),
+            REQUESTED_AT));
+  }
+
+  /**
+   * Test that the expiration carried by session credentials is used.
+   */
+  @Test
+  public void testSessionExpiration() {
+    Date expiration = new Date(REQUESTED_AT + TimeUnit.MINUTES.toMillis(15));
+    Assert.assertEquals("expiration", expiration.getTime(),
+        AwsParameterStoreCredentialsCache.getExpiration(new ExpiringCredentials(expiration), REQUESTED_AT));
+  }
+
+  /**
+   * Session credentials carrying their expiration.
+   */
+  public static class ExpiringCredentials extends BasicSessionCredentials {
+    private final Date expiration;
+
+    public ExpiringCredentials(Date expiration) {
+      super("key", "secret", "token");
+      this.expiration = expiration;
+    }
+
+    public Date getExpiration() {
+      return expiration;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link AwsParameterStoreExecutors}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreExecutorsTest {
+
+  private final static String JAVA_VERSION = "java.specification.version";
+
+  private String javaVersion;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    javaVersion = System.getProperty(JAVA_VERSION);
+  }
+
+  @After
+  public void tearDown() {
+    System.setProperty(JAVA_VERSION, javaVersion);
+    AwsParameterStoreExecutors.VIRTUAL_THREADS = true;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test that the feature version is read from old and new version schemes.
+   */
+  @Test
+  public void testJavaVersion() {
+    System.setProperty(JAVA_VERSION, "1.8");
+    Assert.assertEquals("1.8", 8, AwsParameterStoreExecutors.getJavaVersion());
+    System.setProperty(JAVA_VERSION, "21");
+    Assert.assertEquals("21", 21, AwsParameterStoreExecutors.getJavaVersion());
+    System.setProperty(JAVA_VERSION, "unknown");
+    Assert.assertEquals("unknown", 0, AwsParameterStoreExecutors.getJavaVersion());
+  }
+
+  /**
+   * Test that a pool of expiring daemon threads is used on JVMs without
+   * virtual threads.
+   */
+  @Test
+  public void testThreadPoolBeforeJava21() throws Exception {
+    System.setProperty(JAVA_VERSION, "17");
+    assertThreadPool(AwsParameterStoreExecutors.newExecutor("AwsParameterStoreExecutorsTest", 3));
+  }
+
+  /**
+   * Test that a pool of expiring daemon threads is used when virtual threads
+   * are disabled.
+   */
+  @Test
+  public void testThreadPoolWhenDisabled() throws Exception {
+    AwsParameterStoreExecutors.VIRTUAL_THREADS = false;
+    System.setProperty(JAVA_VERSION, "21");
+    assertThreadPool(AwsParameterStoreExecutors.newExecutor("AwsParameterStoreExecutorsTest", 3));
+  }
+
+  /**
+   * Test that tasks run on named virtual threads on Java 21 and later, and
+   * on the thread pool otherwise.
+   */
+  @Test
+  public void testVirtualThreads() throws Exception {
+    executor = AwsParameterStoreExecutors.newExecutor("AwsParameterStoreExecutorsTest", 3);
+    if (AwsParameterStoreExecutors.getJavaVersion() < 21) {
+      assertThreadPool(executor);
+      return;
+    }
+    Thread thread = executor.submit(new Callable<Thread>() {
+      @Override
+      public Thread call() {
+        return Thread.currentThread();
+      }
+    }).get(5, TimeUnit.SECONDS);
+    Assert.assertEquals("virtual", Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+    Assert.assertEquals("name", "AwsParameterStoreExecutorsTest-0", thread.getName());
+  }
+
+  private void assertThreadPool(ExecutorService executor) throws Exception {
+    this.executor = executor;
+    Assert.assertTrue("pool", executor instanceof ThreadPoolExecutor);
+    ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+    Assert.assertEquals("size", 3, pool.getMaximumPoolSize());
+    Assert.assertTrue("expiring", pool.allowsCoreThreadTimeOut());
+    Thread thread = pool.submit(new Callable<Thread>() {
+      @Override
+      public Thread call() {
+        return Thread.currentThread();
+      }
+    }).get(5, TimeUnit.SECONDS);
+    Assert.assertTrue("daemon", thread.isDaemon());
+  }
+}
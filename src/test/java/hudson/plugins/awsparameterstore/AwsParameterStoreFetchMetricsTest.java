@@ -0,0 +1,89 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+
+/**
+ * Run tests for {@link AwsParameterStoreFetchMetrics}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreFetchMetricsTest {
+
+  /**
+   * Test that calls are counted per API and that only paged APIs count as pages.
+   */
+  @Test
+  public void testRecordCall() {
+    AwsParameterStoreFetchMetrics metrics = new AwsParameterStoreFetchMetrics();
+    metrics.recordCall(new GetParametersByPathRequest(), TimeUnit.MILLISECONDS.toNanos(30));
+    metrics.recordCall(new GetParametersByPathRequest(), TimeUnit.MILLISECONDS.toNanos(10));
+    metrics.recordCall(new GetParametersRequest(), TimeUnit.MILLISECONDS.toNanos(5));
+    metrics.recordCall(new DescribeParametersRequest(), TimeUnit.MILLISECONDS.toNanos(7));
+
+    List<AwsParameterStoreFetchMetrics.ApiCalls> calls = metrics.getCalls();
+    Assert.assertEquals("apis", 3, calls.size());
+    Assert.assertEquals("sorted", "DescribeParameters", calls.get(0).getApi());
+    AwsParameterStoreFetchMetrics.ApiCalls byPath = calls.get(2);
+    Assert.assertEquals("api", "GetParametersByPath", byPath.getApi());
+    Assert.assertEquals("count", 2, byPath.getCount());
+    Assert.assertEquals("total", 40, byPath.getTotalMillis());
+    Assert.assertEquals("average", 20, byPath.getAverageMillis());
+    Assert.assertEquals("max", 30, byPath.getMaxMillis());
+    Assert.assertEquals("pages", 3, metrics.getPages());
+  }
+
+  /**
+   * Test that the metrics of several fetches are merged.
+   */
+  @Test
+  public void testAddAll() {
+    AwsParameterStoreFetchMetrics first = new AwsParameterStoreFetchMetrics();
+    first.recordCall(new GetParametersByPathRequest(), TimeUnit.MILLISECONDS.toNanos(30));
+    first.recordCacheMiss();
+    AwsParameterStoreFetchMetrics second = new AwsParameterStoreFetchMetrics();
+    second.recordCall(new GetParametersByPathRequest(), TimeUnit.MILLISECONDS.toNanos(50));
+    second.recordCacheHit();
+
+    AwsParameterStoreFetchMetrics total = new AwsParameterStoreFetchMetrics();
+    total.addAll(first);
+    total.addAll(second);
+    Assert.assertEquals("count", 2, total.getCalls().get(0).getCount());
+    Assert.assertEquals("max", 50, total.getCalls().get(0).getMaxMillis());
+    Assert.assertEquals("hits", 1, total.getCacheHits());
+    Assert.assertEquals("misses", 1, total.getCacheMisses());
+    Assert.assertEquals("pages", 2, total.getPages());
+    Assert.assertEquals("unchanged", 1, first.getCalls().get(0).getCount());
+  }
+}
@@ -0,0 +1,132 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Run tests for {@link AwsParameterStoreIndex}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreIndexTest {
+  private final static String REGION_NAME = "eu-west-1";
+  private final static String[] NAMES = { "/app/dev/db", "/app/name", "/app/prod/db", "/app/prod/web/url",
+      "/other/key", "plain" };
+
+  @After
+  public void tearDown() {
+    AwsParameterStoreIndex.MAX_INDEXES = 64;
+    AwsParameterStoreIndex.getInstance().clear();
+    AwsParameterStoreClients.getInstance().clear();
+  }
+
+  /**
+   * Test that every hierarchy holding a parameter is listed once, up to the
+   * limit.
+   */
+  @Test
+  public void testHierarchies() {
+    Assert.assertEquals(Arrays.asList("/app", "/app/dev", "/app/prod", "/app/prod/web", "/other"),
+        AwsParameterStoreIndex.hierarchies(NAMES, 100));
+    Assert.assertEquals(Arrays.asList("/app", "/app/dev"), AwsParameterStoreIndex.hierarchies(NAMES, 2));
+  }
+
+  /**
+   * Test that only the hierarchies directly below a path are its children.
+   */
+  @Test
+  public void testChildPaths() {
+    Assert.assertEquals(Arrays.asList("/app/dev", "/app/prod"), AwsParameterStoreIndex.childPaths(NAMES, "/app"));
+    Assert.assertEquals(Arrays.asList("/app/dev", "/app/prod"), AwsParameterStoreIndex.childPaths(NAMES, "/app/"));
+    Assert.assertEquals(Arrays.asList("/app/prod/web"), AwsParameterStoreIndex.childPaths(NAMES, "/app/prod"));
+    Assert.assertEquals(Collections.emptyList(), AwsParameterStoreIndex.childPaths(NAMES, "/ap"));
+  }
+
+  /**
+   * Test that names are matched like the wrapper fetches them.
+   */
+  @Test
+  public void testMatch() {
+    Assert.assertEquals("direct", Arrays.asList("/app/name"),
+        AwsParameterStoreIndex.match(NAMES, "/app", false, null, null));
+    Assert.assertEquals("recursive", Arrays.asList("/app/dev/db", "/app/name", "/app/prod/db", "/app/prod/web/url"),
+        AwsParameterStoreIndex.match(NAMES, "/app/", true, null, null));
+    Assert.assertEquals("prefixes", Arrays.asList("/app/prod/db", "/app/prod/web/url", "plain"),
+        AwsParameterStoreIndex.match(NAMES, null, false, "plain, /app/prod/", "BeginsWith"));
+    Assert.assertEquals("equals", Arrays.asList("plain"),
+        AwsParameterStoreIndex.match(NAMES, null, false, "plain,/app", "Equals"));
+    Assert.assertEquals("all", Arrays.asList(NAMES), AwsParameterStoreIndex.match(NAMES, null, false, null, null));
+  }
+
+  /**
+   * Test that the least recently used index is dropped once there are more
+   * than the maximum.
+   */
+  @Test
+  public void testLeastRecentlyUsedIndexDropped() throws InterruptedException {
+    AwsParameterStoreIndex.MAX_INDEXES = 2;
+    AwsParameterStoreIndex index = AwsParameterStoreIndex.getInstance();
+    index.clear();
+    for (String credentialsId : new String[] { "aws-a", "aws-b", "aws-c" }) {
+      AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+      Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class))).thenReturn(
+          new DescribeParametersResult().withParameters(new ParameterMetadata().withName("/" + credentialsId)));
+      AwsParameterStoreClients.getInstance().putClient(credentialsId, REGION_NAME, client);
+    }
+
+    Assert.assertNotNull("a", awaitNames(index, "aws-a"));
+    Thread.sleep(10);
+    Assert.assertNotNull("b", awaitNames(index, "aws-b"));
+    Thread.sleep(10);
+    Assert.assertNotNull("a used", awaitNames(index, "aws-a"));
+    Thread.sleep(10);
+    Assert.assertArrayEquals("c", new String[] { "/aws-c" }, awaitNames(index, "aws-c"));
+
+    Assert.assertEquals("indexes", 2, index.size());
+    Assert.assertNotNull("a kept", index.getNames("aws-a", REGION_NAME));
+    Assert.assertNull("b dropped", index.getNames("aws-b", REGION_NAME));
+  }
+
+  private static String[] awaitNames(AwsParameterStoreIndex index, String credentialsId)
+      throws InterruptedException {
+    String[] names = index.getNames(credentialsId, REGION_NAME);
+    for (int i = 0; i < 50 && names == null; i++) {
+      Thread.sleep(100);
+      names = index.getNames(credentialsId, REGION_NAME);
+    }
+    return names;
+  }
+}
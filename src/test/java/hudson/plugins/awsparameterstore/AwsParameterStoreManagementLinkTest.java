@@ -0,0 +1,148 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.acegisecurity.AccessDeniedException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Run tests for the actions of {@link AwsParameterStoreManagementLink}.
+ *
+ * @author agent
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Jenkins.class})
+public class AwsParameterStoreManagementLinkTest {
+
+  private final static String KEY = AwsParameterStoreCache.toScope("aws-admin", "eu-west-1") + "|BeginsWith|svc-";
+  private final static List<Parameter> PARAMETERS = Collections.singletonList(
+      new Parameter().withName("svc-name").withType("String").withValue("value"));
+
+  private Jenkins jenkins;
+  private AwsParameterStoreCache cache;
+  private AwsParameterStoreManagementLink link;
+
+  /**
+   * Mocks Jenkins and caches one entry.
+   */
+  @Before
+  public void setUp() {
+    jenkins = PowerMockito.mock(Jenkins.class);
+    PowerMockito.mockStatic(Jenkins.class);
+    PowerMockito.when(Jenkins.getInstance()).thenReturn(jenkins);
+    PowerMockito.when(Jenkins.getActiveInstance()).thenReturn(jenkins);
+    AwsParameterStoreCache.TTL = 60;
+    cache = AwsParameterStoreCache.getInstance();
+    cache.clear();
+    link = new AwsParameterStoreManagementLink();
+  }
+
+  @After
+  public void tearDown() {
+    cache.clear();
+    AwsParameterStoreCache.TTL = 0;
+  }
+
+  /**
+   * Test that the actions only accept POST requests.
+   */
+  @Test
+  public void testRequirePost() throws Exception {
+    Assert.assertNotNull("evict", AwsParameterStoreManagementLink.class.getMethod("doEvict", String.class)
+        .getAnnotation(RequirePOST.class));
+    Assert.assertNotNull("refresh", AwsParameterStoreManagementLink.class.getMethod("doRefresh", String.class)
+        .getAnnotation(RequirePOST.class));
+  }
+
+  /**
+   * Test that an administrator can evict and refresh entries.
+   */
+  @Test
+  public void testAdministrator() throws Exception {
+    CountDownLatch refreshed = new CountDownLatch(1);
+    cache.putParameters(KEY, PARAMETERS, countDown(refreshed));
+
+    Assert.assertNotNull(link.doRefresh(KEY));
+    Assert.assertTrue("refreshed", refreshed.await(5, TimeUnit.SECONDS));
+    Assert.assertNotNull(link.doEvict(KEY));
+    Assert.assertNull("evicted", cache.get(KEY));
+  }
+
+  /**
+   * Test that other users can neither evict nor refresh entries.
+   */
+  @Test
+  public void testDeniedWithoutAdminister() throws Exception {
+    PowerMockito.doThrow(new AccessDeniedException("Missing the Overall/Administer permission")).when(jenkins)
+        .checkPermission(Jenkins.ADMINISTER);
+    final AtomicInteger refreshes = new AtomicInteger();
+    cache.putParameters(KEY, PARAMETERS, new Runnable() {
+      @Override
+      public void run() {
+        refreshes.incrementAndGet();
+      }
+    });
+
+    try {
+      link.doRefresh(KEY);
+      Assert.fail("Expected refresh to be denied");
+    } catch (AccessDeniedException e) {
+      Assert.assertEquals("refreshes", 0, refreshes.get());
+    }
+    try {
+      link.doEvict(KEY);
+      Assert.fail("Expected evict to be denied");
+    } catch (AccessDeniedException e) {
+      Assert.assertNotNull("cached", cache.get(KEY));
+    }
+  }
+
+  private static Runnable countDown(final CountDownLatch latch) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        latch.countDown();
+      }
+    };
+  }
+}
@@ -0,0 +1,136 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Run tests for {@link AwsParameterStoreMaskingRegistry}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreMaskingRegistryTest {
+
+  private final static String KEY = "folder/job#1";
+
+  /**
+   * Test that all wrappers of a run share one registry.
+   */
+  @Test
+  public void testSharedPerRun() {
+    AwsParameterStoreMaskingRegistry registry = AwsParameterStoreMaskingRegistry.forKey(KEY, null);
+    try {
+      Assert.assertSame(registry, AwsParameterStoreMaskingRegistry.forKey(KEY, null));
+      Assert.assertNotSame(registry, AwsParameterStoreMaskingRegistry.forKey("folder/job#2", null));
+      Assert.assertEquals("folder/job", registry.getJob());
+    } finally {
+      drop(KEY);
+      drop("folder/job#2");
+    }
+  }
+
+  /**
+   * Test that the secrets of a console filter restored after a restart are
+   * merged into the registry of the run.
+   */
+  @Test
+  public void testRestoredSecretsMerged() {
+    AwsParameterStoreMaskingRegistry registry = AwsParameterStoreMaskingRegistry.forKey(KEY, null);
+    try {
+      registry.addAll(Collections.singletonList("s3cr3t"));
+      Assert.assertSame(registry, AwsParameterStoreMaskingRegistry.forKey(KEY,
+          new HashSet<>(Collections.singletonList("hunter2"))));
+      Assert.assertEquals(new HashSet<>(Arrays.asList("s3cr3t", "hunter2")), registry.getSecrets());
+    } finally {
+      drop(KEY);
+    }
+  }
+
+  /**
+   * Test that the masker is only rebuilt when secrets were added.
+   */
+  @Test
+  public void testMaskerRebuiltOnChange() {
+    AwsParameterStoreMaskingRegistry registry = new AwsParameterStoreMaskingRegistry(
+        new CopyOnWriteArraySet<String>());
+    Assert.assertNull("empty", registry.getMasker());
+
+    registry.addAll(Collections.singletonList(""));
+    AwsParameterStoreMaskingRegistry.Masker masker = registry.getMasker();
+    Assert.assertEquals(1, masker.count);
+    Assert.assertNull("blank", masker.matcher);
+
+    registry.addAll(Collections.singletonList("s3cr3t"));
+    masker = registry.getMasker();
+    Assert.assertEquals(2, masker.count);
+    Assert.assertNotNull(masker.matcher);
+    Assert.assertTrue(masker.prefilter.mightContain("password=s3cr3t"));
+    Assert.assertSame(masker, registry.getMasker());
+
+    registry.addAll(Collections.singletonList("s3cr3t"));
+    Assert.assertSame("duplicate", masker, registry.getMasker());
+  }
+
+  /**
+   * Test that the registry is dropped once the run is finalized or deleted.
+   */
+  @Test
+  public void testDroppedWithRun() {
+    AwsParameterStoreMaskingRegistry.RunListenerImpl listener = new AwsParameterStoreMaskingRegistry.RunListenerImpl();
+    Run<?, ?> run = mockRun(KEY);
+    AwsParameterStoreMaskingRegistry registry = AwsParameterStoreMaskingRegistry.forRun(run);
+    Assert.assertSame(registry, AwsParameterStoreMaskingRegistry.forKey(KEY, null));
+    listener.onFinalized(run);
+    Assert.assertNotSame("finalized", registry, AwsParameterStoreMaskingRegistry.forRun(run));
+
+    registry = AwsParameterStoreMaskingRegistry.forRun(run);
+    listener.onDeleted(run);
+    Assert.assertNotSame("deleted", registry, AwsParameterStoreMaskingRegistry.forRun(run));
+    listener.onFinalized(run);
+  }
+
+  private static void drop(String key) {
+    new AwsParameterStoreMaskingRegistry.RunListenerImpl().onFinalized(mockRun(key));
+  }
+
+  private static Run<?, ?> mockRun(String key) {
+    Job<?, ?> job = Mockito.mock(Job.class);
+    Mockito.when(job.getFullName()).thenReturn(key.substring(0, key.lastIndexOf('#')));
+    Run<?, ?> run = Mockito.mock(Run.class);
+    Mockito.doReturn(job).when(run).getParent();
+    Mockito.when(run.getNumber()).thenReturn(Integer.parseInt(key.substring(key.lastIndexOf('#') + 1)));
+    return run;
+  }
+}
@@ -0,0 +1,66 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link AwsParameterStorePrefetcher}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStorePrefetcherTest {
+  private final static String CREDENTIALS_ID = "aws-prefetch";
+
+  /**
+   * Test that fetches with AWS credentials are prefetched.
+   */
+  @Test
+  public void testPrefetchWithCredentials() {
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper();
+    Assert.assertTrue(AwsParameterStorePrefetcher.shouldPrefetch(wrapper, CREDENTIALS_ID));
+  }
+
+  /**
+   * Test that fetches without AWS credentials are not prefetched.
+   */
+  @Test
+  public void testSkipWithoutCredentials() {
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper();
+    Assert.assertFalse("null", AwsParameterStorePrefetcher.shouldPrefetch(wrapper, null));
+    Assert.assertFalse("blank", AwsParameterStorePrefetcher.shouldPrefetch(wrapper, " "));
+  }
+
+  /**
+   * Test that wrappers caching on the agent are not prefetched.
+   */
+  @Test
+  public void testSkipAgentCache() {
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper();
+    wrapper.setAgentCache(true);
+    Assert.assertFalse(AwsParameterStorePrefetcher.shouldPrefetch(wrapper, CREDENTIALS_ID));
+  }
+}
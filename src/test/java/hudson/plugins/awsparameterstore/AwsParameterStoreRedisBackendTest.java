@@ -0,0 +1,277 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+/**
+ * Run tests for {@link AwsParameterStoreRedisBackend} against a minimal
+ * in-process server speaking the Redis protocol.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreRedisBackendTest {
+  private static final String SECRET = "shared-secret";
+  private static final String KEY = "@us-east-1|/service|true";
+
+  private RedisStandIn redis;
+
+  /**
+   * Enables caching and starts the Redis stand-in.
+   */
+  @Before
+  public void setUp() throws IOException {
+    AwsParameterStoreCache.TTL = 60;
+    redis = new RedisStandIn();
+  }
+
+  /**
+   * Stops the Redis stand-in and disables caching.
+   */
+  @After
+  public void tearDown() throws IOException {
+    redis.close();
+    AwsParameterStoreCache.TTL = 0;
+  }
+
+  /**
+   * Test that an entry stored by one controller is read by another and is
+   * encrypted in Redis.
+   */
+  @Test
+  public void testPutAndGet() {
+    List<Parameter> parameters = Arrays.asList(
+        new Parameter().withName("/service/password").withType("SecureString").withVersion(2L).withValue("s3cret"));
+    long fetchedAt = System.currentTimeMillis();
+    AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET).put(KEY, parameters, fetchedAt);
+
+    ParameterCacheEntry entry = AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET).get(KEY);
+    Assert.assertNotNull("entry", entry);
+    Assert.assertEquals("parameters", parameters, entry.getParameters());
+    Assert.assertEquals("fetchedAt", fetchedAt, entry.getFetchedAt());
+    Assert.assertTrue("recursive", entry.isRecursive());
+    byte[] stored = redis.values.get("aws-parameter-store:" + KEY);
+    Assert.assertFalse("encrypted", new String(stored, StandardCharsets.ISO_8859_1).contains("s3cret"));
+    Assert.assertTrue("ttl", redis.expiries.get("aws-parameter-store:" + KEY) > 0);
+  }
+
+  /**
+   * Test that entries stored with another secret are not used.
+   */
+  @Test
+  public void testOtherSecret() {
+    AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET).put(KEY, Arrays.asList(
+        new Parameter().withName("/service/user").withType("String").withValue("admin")),
+        System.currentTimeMillis());
+
+    Assert.assertNull("entry", AwsParameterStoreRedisBackend.create(redis.getUri(), "other").get(KEY));
+  }
+
+  /**
+   * Test that only the entries which may contain a changed parameter are
+   * invalidated.
+   */
+  @Test
+  public void testInvalidate() {
+    AwsParameterStoreRedisBackend backend = AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET);
+    long now = System.currentTimeMillis();
+    backend.put("@us-east-1|/service|true", new ArrayList<Parameter>(), now);
+    backend.put("@us-east-1|/other|true", new ArrayList<Parameter>(), now);
+    backend.put("@eu-west-1|/service|true", new ArrayList<Parameter>(), now);
+
+    Assert.assertEquals("invalidated", 1, backend.invalidate("us-east-1", "/service/db/password"));
+    Assert.assertNull("changed", backend.get("@us-east-1|/service|true"));
+    Assert.assertNotNull("other path", backend.get("@us-east-1|/other|true"));
+    Assert.assertNotNull("other region", backend.get("@eu-west-1|/service|true"));
+  }
+
+  /**
+   * Test that two caches sharing a backend share their fetches.
+   */
+  @Test
+  public void testSharedCache() {
+    AwsParameterStoreCache first = new AwsParameterStoreCache(
+        AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET));
+    AwsParameterStoreCache second = new AwsParameterStoreCache(
+        AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET));
+    List<Parameter> parameters = Arrays.asList(
+        new Parameter().withName("/service/user").withType("String").withValue("admin"));
+    first.putParametersByPath("@us-east-1", "/service", true, parameters, null);
+
+    Assert.assertEquals("parameters", parameters, second.getParametersByPath("@us-east-1", "/service", true));
+    Assert.assertEquals("shared hits", 1, second.getSharedHits());
+    Assert.assertEquals("local", parameters, second.getParametersByPath("@us-east-1", "/service", true));
+    Assert.assertEquals("shared hits after local hit", 1, second.getSharedHits());
+  }
+
+  /**
+   * Test that an unreachable server is treated as an empty cache.
+   */
+  @Test
+  public void testUnavailable() throws IOException {
+    AwsParameterStoreRedisBackend backend = AwsParameterStoreRedisBackend.create(redis.getUri(), SECRET);
+    redis.close();
+
+    Assert.assertNull("entry", backend.get(KEY));
+    Assert.assertFalse("evicted", backend.evict(KEY));
+  }
+
+  /**
+   * Minimal server for the commands used by the backend.
+   */
+  private static final class RedisStandIn implements Runnable {
+    private final ServerSocket server = new ServerSocket(0);
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    RedisStandIn() throws IOException {
+      Thread thread = new Thread(this, "Redis stand-in");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    String getUri() {
+      return "redis://127.0.0.1:" + server.getLocalPort();
+    }
+
+    void close() throws IOException {
+      server.close();
+    }
+
+    @Override
+    public void run() {
+      while (!server.isClosed()) {
+        try {
+          final Socket socket = server.accept();
+          Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+              serve(socket);
+            }
+          }, "Redis stand-in connection");
+          thread.setDaemon(true);
+          thread.start();
+        } catch (IOException e) {
+          return;
+        }
+      }
+    }
+
+    private void serve(Socket socket) {
+      try (Socket s = socket) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+        OutputStream out = s.getOutputStream();
+        while (in.read() == '*') {
+          List<byte[]> command = new ArrayList<>();
+          int count = Integer.parseInt(readLine(in));
+          for (int i = 0; i < count; i++) {
+            in.read();
+            byte[] argument = new byte[Integer.parseInt(readLine(in))];
+            in.readFully(argument);
+            in.readFully(new byte[2]);
+            command.add(argument);
+          }
+          out.write(execute(command));
+          out.flush();
+        }
+      } catch (IOException e) {
+        // connection closed
+      }
+    }
+
+    private byte[] execute(List<byte[]> command) {
+      String name = string(command.get(0)).toUpperCase();
+      if ("GET".equals(name)) {
+        byte[] value = values.get(string(command.get(1)));
+        if (value == null) {
+          return "$-1\r\n".getBytes(StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream reply = new ByteArrayOutputStream();
+        byte[] header = ("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8);
+        reply.write(header, 0, header.length);
+        reply.write(value, 0, value.length);
+        reply.write('\r');
+        reply.write('\n');
+        return reply.toByteArray();
+      } else if ("SET".equals(name)) {
+        values.put(string(command.get(1)), command.get(2));
+        expiries.put(string(command.get(1)), Long.parseLong(string(command.get(4))));
+        return "+OK\r\n".getBytes(StandardCharsets.UTF_8);
+      } else if ("DEL".equals(name)) {
+        int removed = 0;
+        for (byte[] key : command.subList(1, command.size())) {
+          removed += values.remove(string(key)) == null ? 0 : 1;
+        }
+        return (":" + removed + "\r\n").getBytes(StandardCharsets.UTF_8);
+      } else if ("SCAN".equals(name)) {
+        Pattern pattern = Pattern.compile(Pattern.quote(string(command.get(3))).replace("*", "\\E.*\\Q"));
+        StringBuilder keys = new StringBuilder();
+        int count = 0;
+        for (String key : values.keySet()) {
+          if (pattern.matcher(key).matches()) {
+            keys.append('$').append(key.length()).append("\r\n").append(key).append("\r\n");
+            count++;
+          }
+        }
+        return ("*2\r\n$1\r\n0\r\n*" + count + "\r\n" + keys).getBytes(StandardCharsets.UTF_8);
+      }
+      return ("-ERR unknown command " + name + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+      StringBuilder line = new StringBuilder();
+      int b;
+      while ((b = in.read()) != '\r') {
+        line.append((char) b);
+      }
+      in.read();
+      return line.toString();
+    }
+
+    private static String string(byte[] value) {
+      return new String(value, StandardCharsets.UTF_8);
+    }
+  }
+}
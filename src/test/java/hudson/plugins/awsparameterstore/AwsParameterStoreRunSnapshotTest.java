@@ -0,0 +1,249 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+import hudson.model.Cause;
+import hudson.model.Run;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Run tests for {@link AwsParameterStoreRunSnapshot}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreRunSnapshotTest {
+
+  private final static byte[] KEY = "0123456789abcdef".getBytes();
+  private final static String FETCH_KEY = AwsParameterStoreRunSnapshot.toKey("|us-east-1|/service/|true",
+      "", "", "");
+  private final static List<Parameter> PARAMETERS = Arrays.asList(
+      new Parameter().withName("/service/a").withType("String").withValue("value"));
+
+  private ExecutorService executor;
+
+  /**
+   * Starts the thread of the concurrent callers.
+   */
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  /**
+   * Stops the thread of the concurrent callers.
+   */
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Test that concurrent callers share the fetch of the first.
+   */
+  @Test
+  public void testSharedFetch() throws Exception {
+    final AwsParameterStoreRunSnapshot snapshot = new AwsParameterStoreRunSnapshot(KEY);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger fetches = new AtomicInteger();
+    Future<AwsParameterStoreAgentCache.Result> owner = executor.submit(
+        new Callable<AwsParameterStoreAgentCache.Result>() {
+          @Override
+          public AwsParameterStoreAgentCache.Result call() throws Exception {
+            return snapshot.fetch(FETCH_KEY, new Callable<AwsParameterStoreAgentCache.Result>() {
+              @Override
+              public AwsParameterStoreAgentCache.Result call() throws Exception {
+                fetches.incrementAndGet();
+                started.countDown();
+                release.await();
+                return result(true);
+              }
+            });
+          }
+        });
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    releaseLater(release);
+    AwsParameterStoreAgentCache.Result result = snapshot.fetch(FETCH_KEY, count(fetches, true));
+    Assert.assertEquals(PARAMETERS, owner.get().getParameters());
+    Assert.assertEquals(PARAMETERS, result.getParameters());
+    Assert.assertTrue(result.isComplete());
+    Assert.assertEquals(1, fetches.get());
+  }
+
+  /**
+   * Test that callers waiting on an incomplete fetch fetch again and that it
+   * is not kept.
+   */
+  @Test
+  public void testIncompleteFetchNotShared() throws Exception {
+    final AwsParameterStoreRunSnapshot snapshot = new AwsParameterStoreRunSnapshot(KEY);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger fetches = new AtomicInteger();
+    Future<AwsParameterStoreAgentCache.Result> owner = executor.submit(
+        new Callable<AwsParameterStoreAgentCache.Result>() {
+          @Override
+          public AwsParameterStoreAgentCache.Result call() throws Exception {
+            return snapshot.fetch(FETCH_KEY, new Callable<AwsParameterStoreAgentCache.Result>() {
+              @Override
+              public AwsParameterStoreAgentCache.Result call() throws Exception {
+                started.countDown();
+                release.await();
+                return result(false);
+              }
+            });
+          }
+        });
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    releaseLater(release);
+    AwsParameterStoreAgentCache.Result result = snapshot.fetch(FETCH_KEY, count(fetches, false));
+    Assert.assertFalse(owner.get().isComplete());
+    Assert.assertFalse(result.isComplete());
+    Assert.assertEquals(1, fetches.get());
+    snapshot.fetch(FETCH_KEY, count(fetches, false));
+    Assert.assertEquals(2, fetches.get());
+  }
+
+  /**
+   * Test that a run restarted from a stage starts with the snapshot of the
+   * original run until its retention has passed.
+   */
+  @Test
+  public void testRestartedRun() throws Exception {
+    AtomicInteger fetches = new AtomicInteger();
+    AwsParameterStoreRunSnapshot original = new AwsParameterStoreRunSnapshot(KEY);
+    original.fetch(FETCH_KEY, count(fetches, true));
+    original.onCompleted(TimeUnit.HOURS.toMillis(1));
+
+    AwsParameterStoreRunSnapshot restarted = forRestartedRun(original);
+    Assert.assertEquals(PARAMETERS, restarted.fetch(FETCH_KEY, count(fetches, true)).getParameters());
+    Assert.assertEquals(1, fetches.get());
+
+    original.onCompleted(1);
+    Thread.sleep(10);
+    restarted = forRestartedRun(original);
+    restarted.fetch(FETCH_KEY, count(fetches, true));
+    Assert.assertEquals(2, fetches.get());
+  }
+
+  /**
+   * Test that the snapshot is dropped when the run finishes without a
+   * retention.
+   */
+  @Test
+  public void testDroppedOnCompletion() throws Exception {
+    AtomicInteger fetches = new AtomicInteger();
+    AwsParameterStoreRunSnapshot snapshot = new AwsParameterStoreRunSnapshot(KEY);
+    snapshot.fetch(FETCH_KEY, count(fetches, true));
+    snapshot.fetch(FETCH_KEY, count(fetches, true));
+    Assert.assertEquals(1, fetches.get());
+    snapshot.onCompleted(0);
+    snapshot.fetch(FETCH_KEY, count(fetches, true));
+    Assert.assertEquals(2, fetches.get());
+  }
+
+  private static AwsParameterStoreRunSnapshot forRestartedRun(AwsParameterStoreRunSnapshot original) {
+    Run<?, ?> originalRun = Mockito.mock(Run.class);
+    Mockito.when(originalRun.getAction(AwsParameterStoreRunSnapshot.class)).thenReturn(original);
+    Run<?, ?> run = Mockito.mock(Run.class);
+    Mockito.when(run.getCauses()).thenReturn(
+        Collections.<Cause>singletonList(new RestartDeclarativePipelineCause(originalRun)));
+    AwsParameterStoreRunSnapshot snapshot = AwsParameterStoreRunSnapshot.forRun(run, KEY);
+    ArgumentCaptor<AwsParameterStoreRunSnapshot> added = ArgumentCaptor
+        .forClass(AwsParameterStoreRunSnapshot.class);
+    Mockito.verify(run).addAction(added.capture());
+    Assert.assertSame(snapshot, added.getValue());
+    return snapshot;
+  }
+
+  private static void releaseLater(final CountDownLatch release) {
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        release.countDown();
+      }
+    }).start();
+  }
+
+  private static Callable<AwsParameterStoreAgentCache.Result> count(final AtomicInteger fetches,
+      final boolean complete) {
+    return new Callable<AwsParameterStoreAgentCache.Result>() {
+      @Override
+      public AwsParameterStoreAgentCache.Result call() {
+        fetches.incrementAndGet();
+        return result(complete);
+      }
+    };
+  }
+
+  private static AwsParameterStoreAgentCache.Result result(boolean complete) {
+    return new AwsParameterStoreAgentCache.Result(PARAMETERS, 0, 0, new AwsParameterStoreFetchMetrics(), complete,
+        false);
+  }
+
+  /**
+   * Stands in for the cause of a Declarative Pipeline restarted from a stage.
+   */
+  public static class RestartDeclarativePipelineCause extends Cause {
+    private final Run<?, ?> original;
+
+    RestartDeclarativePipelineCause(Run<?, ?> original) {
+      this.original = original;
+    }
+
+    public Run<?, ?> getOriginal() {
+      return original;
+    }
+
+    @Override
+    public String getShortDescription() {
+      return "Restarted";
+    }
+  }
+}
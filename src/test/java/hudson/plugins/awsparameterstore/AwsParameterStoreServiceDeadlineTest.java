@@ -0,0 +1,261 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementAsync;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run tests for the deadline policies of {@link AwsParameterStoreService},
+ * with the deadline passing before the first call, between two pages and
+ * while asynchronous calls are in flight.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreServiceDeadlineTest {
+  private final static String CREDENTIALS_ID = "aws-deadline";
+  private final static String REGION_NAME = "eu-west-1";
+  private final static String PATH = "/app";
+  private final static long DEADLINE_MILLIS = 200;
+
+  private AWSSimpleSystemsManagement client;
+  private volatile boolean slow;
+  private volatile long deadline;
+
+  /**
+   * Set up a mocked client answering two pages, the first one after the
+   * deadline if the client is slow.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCache.getInstance().clear();
+    AwsParameterStoreClients.getInstance().clear();
+    AwsParameterStoreCircuitBreaker.resetAll();
+    client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenAnswer(new Answer<GetParametersByPathResult>() {
+          @Override
+          public GetParametersByPathResult answer(InvocationOnMock invocation) throws InterruptedException {
+            GetParametersByPathRequest request = (GetParametersByPathRequest) invocation.getArguments()[0];
+            if (request.getNextToken() != null) {
+              return new GetParametersByPathResult().withParameters(parameter("/app/b"));
+            }
+            if (slow) {
+              Thread.sleep(Math.max(0, deadline - System.currentTimeMillis()) + 50);
+            }
+            return new GetParametersByPathResult().withParameters(parameter("/app/a")).withNextToken("page2");
+          }
+        });
+    AwsParameterStoreClients.getInstance().putClient(CREDENTIALS_ID, REGION_NAME, client);
+  }
+
+  @After
+  public void tearDown() {
+    AwsParameterStoreService.FETCH_CONCURRENCY = 0;
+    AwsParameterStoreCache.TTL = 0;
+    AwsParameterStoreCache.getInstance().clear();
+  }
+
+  /**
+   * Test that each policy handles a deadline that passed before the first
+   * call, without calling AWS.
+   */
+  @Test
+  public void testDeadlineBeforeFirstCall() {
+    putLastKnownGood();
+    Mockito.reset(client);
+
+    AwsParameterStoreService service = createService(1, AwsParameterStoreService.DEADLINE_PARTIAL);
+    Assert.assertTrue("partial", service.fetchParameters(PATH, true, null, null).isEmpty());
+    Assert.assertTrue("partial exceeded", service.isDeadlineExceeded());
+    assertFails(createService(1, AwsParameterStoreService.DEADLINE_FAIL));
+    service = createService(1, AwsParameterStoreService.DEADLINE_CACHED);
+    Assert.assertEquals("cached", 2, service.fetchParameters(PATH, true, null, null).size());
+    Assert.assertTrue("stale", service.getStaleFetchedAt() > 0);
+    Mockito.verifyZeroInteractions(client);
+  }
+
+  /**
+   * Test that the partial policy returns the pages fetched before the
+   * deadline passed, and makes no further calls.
+   */
+  @Test
+  public void testPartialMidPagination() {
+    slow = true;
+    AwsParameterStoreService service = createService(AwsParameterStoreService.DEADLINE_PARTIAL);
+
+    List<Parameter> parameters = service.fetchParameters(PATH, true, null, null);
+
+    Assert.assertEquals("parameters", 1, parameters.size());
+    Assert.assertEquals("first page", "/app/a", parameters.get(0).getName());
+    Assert.assertTrue("exceeded", service.isDeadlineExceeded());
+    Assert.assertFalse("complete", service.isFetchComplete());
+    Mockito.verify(client).getParametersByPath(Mockito.any(GetParametersByPathRequest.class));
+  }
+
+  /**
+   * Test that the fail policy throws when the deadline passes between two
+   * pages.
+   */
+  @Test
+  public void testFailMidPagination() {
+    slow = true;
+    assertFails(createService(AwsParameterStoreService.DEADLINE_FAIL));
+  }
+
+  /**
+   * Test that the cached policy fails when the deadline passes between two
+   * pages and there is no complete fetch to fall back on.
+   */
+  @Test
+  public void testCachedMidPaginationWithoutLastKnownGood() {
+    slow = true;
+    assertFails(createService(AwsParameterStoreService.DEADLINE_CACHED));
+  }
+
+  /**
+   * Test that the cached policy returns the last complete fetch when the
+   * deadline passes between two pages.
+   */
+  @Test
+  public void testCachedMidPagination() {
+    putLastKnownGood();
+    slow = true;
+    AwsParameterStoreService service = createService(AwsParameterStoreService.DEADLINE_CACHED);
+
+    List<Parameter> parameters = service.fetchParameters(PATH, true, null, null);
+
+    Assert.assertEquals("parameters", 2, parameters.size());
+    Assert.assertEquals("last known good", "/app/b", parameters.get(1).getName());
+    Assert.assertTrue("exceeded", service.isDeadlineExceeded());
+    Assert.assertTrue("stale", service.getStaleFetchedAt() > 0);
+  }
+
+  /**
+   * Test that a cached fetch is used even after the deadline passed.
+   */
+  @Test
+  public void testCacheHitAfterDeadline() {
+    AwsParameterStoreCache.TTL = 60;
+    createService(0, AwsParameterStoreService.DEADLINE_FAIL).fetchParameters(PATH, true, null, null);
+    Mockito.reset(client);
+
+    AwsParameterStoreService service = createService(1, AwsParameterStoreService.DEADLINE_FAIL);
+    Assert.assertEquals("cached", 2, service.fetchParameters(PATH, true, null, null).size());
+    Assert.assertFalse("exceeded", service.isDeadlineExceeded());
+    Mockito.verifyZeroInteractions(client);
+  }
+
+  /**
+   * Test that the asynchronous futures still in flight at the deadline are
+   * cancelled, so that their pages do not trigger further calls, and that
+   * each policy decides the outcome.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAsyncFuturesCancelled() throws Exception {
+    putLastKnownGood();
+    AwsParameterStoreService.FETCH_CONCURRENCY = 2;
+    final AsyncHandler<GetParametersByPathRequest, GetParametersByPathResult>[] handler = new AsyncHandler[1];
+    final GetParametersByPathRequest[] request = new GetParametersByPathRequest[1];
+    AWSSimpleSystemsManagementAsync asyncClient = Mockito.mock(AWSSimpleSystemsManagementAsync.class);
+    Mockito.when(asyncClient.getParametersByPathAsync(Mockito.any(GetParametersByPathRequest.class),
+        Mockito.any(AsyncHandler.class))).thenAnswer(new Answer<Object>() {
+          @Override
+          public Object answer(InvocationOnMock invocation) {
+            request[0] = (GetParametersByPathRequest) invocation.getArguments()[0];
+            handler[0] = (AsyncHandler<GetParametersByPathRequest, GetParametersByPathResult>) invocation
+                .getArguments()[1];
+            return null;
+          }
+        });
+    AwsParameterStoreClients.getInstance().putAsyncClient(CREDENTIALS_ID, REGION_NAME, asyncClient);
+
+    AwsParameterStoreService service = createService(AwsParameterStoreService.DEADLINE_PARTIAL);
+    Assert.assertTrue("partial", service.fetchParameters(PATH, true, null, null).isEmpty());
+    Assert.assertTrue("exceeded", service.isDeadlineExceeded());
+    Assert.assertNotNull("in flight", handler[0]);
+
+    handler[0].onSuccess(request[0],
+        new GetParametersByPathResult().withParameters(parameter("/app/a")).withNextToken("page2"));
+    Mockito.verify(asyncClient).getParametersByPathAsync(Mockito.any(GetParametersByPathRequest.class),
+        Mockito.any(AsyncHandler.class));
+
+    assertFails(createService(AwsParameterStoreService.DEADLINE_FAIL));
+    service = createService(AwsParameterStoreService.DEADLINE_CACHED);
+    Assert.assertEquals("cached", 2, service.fetchParameters(PATH, true, null, null).size());
+    Assert.assertTrue("stale", service.getStaleFetchedAt() > 0);
+  }
+
+  /**
+   * Fetches both pages in time with the cached policy, keeping them as the
+   * last known good parameters.
+   */
+  private void putLastKnownGood() {
+    AwsParameterStoreService service = createService(0, AwsParameterStoreService.DEADLINE_CACHED);
+    Assert.assertEquals("complete fetch", 2, service.fetchParameters(PATH, true, null, null).size());
+  }
+
+  private AwsParameterStoreService createService(String deadlinePolicy) {
+    return createService(System.currentTimeMillis() + DEADLINE_MILLIS, deadlinePolicy);
+  }
+
+  private AwsParameterStoreService createService(long deadline, String deadlinePolicy) {
+    this.deadline = deadline;
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setDeadline(deadline, deadlinePolicy);
+    return service;
+  }
+
+  private void assertFails(AwsParameterStoreService service) {
+    long start = System.currentTimeMillis();
+    try {
+      service.fetchParameters(PATH, true, null, null);
+      Assert.fail("Expected AwsParameterStoreDeadlineException");
+    } catch (AwsParameterStoreDeadlineException e) {
+      Assert.assertTrue("exceeded", service.isDeadlineExceeded());
+    }
+    Assert.assertTrue("returned at the deadline",
+        System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(5));
+  }
+
+  private static Parameter parameter(String name) {
+    return new Parameter().withName(name).withType("String").withValue("value");
+  }
+}
@@ -0,0 +1,374 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.AWSSimpleSystemsManagementException;
+import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
+import com.amazonaws.services.simplesystemsmanagement.model.ParameterStringFilter;
+import jenkins.tasks.SimpleBuildWrapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Run tests for the requests {@link AwsParameterStoreService} makes, against
+ * a mocked client.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreServiceRequestTest {
+  private final static String CREDENTIALS_ID = "aws-requests";
+  private final static String REGION_NAME = "eu-west-1";
+
+  private AWSSimpleSystemsManagement client;
+
+  /**
+   * Set up a mocked client.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCache.getInstance().clear();
+    AwsParameterStoreClients.getInstance().clear();
+    AwsParameterStoreCircuitBreaker.resetAll();
+    client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    AwsParameterStoreClients.getInstance().putClient(CREDENTIALS_ID, REGION_NAME, client);
+  }
+
+  /**
+   * Test that additional filters are sent together with the name prefix
+   * filter instead of replacing it.
+   */
+  @Test
+  public void testNamePrefixesWithParameterFilters() {
+    Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+        .thenReturn(new DescribeParametersResult());
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setParameterFilters("Type Equals SecureString");
+
+    service.fetchParameters(null, false, "service.", "BeginsWith");
+
+    ArgumentCaptor<DescribeParametersRequest> request = ArgumentCaptor.forClass(DescribeParametersRequest.class);
+    Mockito.verify(client).describeParameters(request.capture());
+    List<ParameterStringFilter> filters = request.getValue().getParameterFilters();
+    Assert.assertEquals("filters", 2, filters.size());
+    Assert.assertEquals("additional filter", "Type", filters.get(0).getKey());
+    Assert.assertEquals("name filter", "Name", filters.get(1).getKey());
+    Assert.assertEquals("name option", "BeginsWith", filters.get(1).getOption());
+    Assert.assertEquals("name values", "service.", filters.get(1).getValues().get(0));
+  }
+
+  /**
+   * Test that child hierarchies are listed live for sharding, so that a
+   * hierarchy missing from the name index is still fetched.
+   */
+  @Test
+  public void testShardsListedLive() {
+    AwsParameterStoreService.SHARD_PARALLELISM = 4;
+    try {
+      Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+          .thenReturn(new DescribeParametersResult().withParameters(new ParameterMetadata().withName("/app/a"),
+              new ParameterMetadata().withName("/app/old/b"), new ParameterMetadata().withName("/app/new/c")));
+      mockParametersByPath("/app/a", "/app/old/b", "/app/new/c");
+
+      List<Parameter> parameters = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME)
+          .fetchParameters("/app", true, null, null);
+
+      Assert.assertEquals("parameters", 3, parameters.size());
+      Assert.assertEquals("direct shard", "/app/a", parameters.get(0).getName());
+      Assert.assertEquals("new hierarchy", "/app/new/c", parameters.get(1).getName());
+      Assert.assertEquals("old hierarchy", "/app/old/b", parameters.get(2).getName());
+      ArgumentCaptor<DescribeParametersRequest> request = ArgumentCaptor.forClass(DescribeParametersRequest.class);
+      Mockito.verify(client).describeParameters(request.capture());
+      Assert.assertEquals("describe path", "/app", request.getValue().getParameterFilters().get(0).getValues().get(0));
+    } finally {
+      AwsParameterStoreService.SHARD_PARALLELISM = 0;
+    }
+  }
+
+  /**
+   * Test that a path is fetched unsharded if its child hierarchies cannot be
+   * listed.
+   */
+  @Test
+  public void testShardsUnavailable() {
+    AwsParameterStoreService.SHARD_PARALLELISM = 4;
+    try {
+      Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+          .thenThrow(new AWSSimpleSystemsManagementException("AccessDenied"));
+      mockParametersByPath("/app/a", "/app/new/c");
+
+      List<Parameter> parameters = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME)
+          .fetchParameters("/app", true, null, null);
+
+      Assert.assertEquals("parameters", 2, parameters.size());
+      ArgumentCaptor<GetParametersByPathRequest> request = ArgumentCaptor.forClass(GetParametersByPathRequest.class);
+      Mockito.verify(client).getParametersByPath(request.capture());
+      Assert.assertEquals("path", "/app", request.getValue().getPath());
+      Assert.assertTrue("recursive", request.getValue().getRecursive());
+    } finally {
+      AwsParameterStoreService.SHARD_PARALLELISM = 0;
+    }
+  }
+
+  /**
+   * Test that a fetch stops at the first call refused by the open circuit
+   * breaker and raises that once, instead of failing every parameter.
+   */
+  @Test
+  public void testUnavailableRaisedOnce() {
+    AwsParameterStoreCircuitBreaker.FAILURE_THRESHOLD = 2;
+    try {
+      List<ParameterMetadata> metadata = new ArrayList<>();
+      for (int i = 0; i < 25; i++) {
+        metadata.add(new ParameterMetadata().withName("name" + i).withType("String"));
+      }
+      Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+          .thenReturn(new DescribeParametersResult().withParameters(metadata));
+      AWSSimpleSystemsManagementException error = new AWSSimpleSystemsManagementException("InternalServerError");
+      error.setStatusCode(500);
+      Mockito.when(client.getParameters(Mockito.any(GetParametersRequest.class))).thenThrow(error);
+
+      try {
+        new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME).fetchParameters(null, false, null, null);
+        Assert.fail("expected AwsParameterStoreUnavailableException");
+      } catch (AwsParameterStoreUnavailableException e) {
+        Mockito.verify(client, Mockito.times(2)).getParameters(Mockito.any(GetParametersRequest.class));
+      }
+    } finally {
+      AwsParameterStoreCircuitBreaker.FAILURE_THRESHOLD = 5;
+    }
+  }
+
+  /**
+   * Test that filter values containing the separator of cache keys are
+   * cached and invalidated like any other fetch.
+   */
+  @Test
+  public void testFilterValuesInCacheKey() {
+    AwsParameterStoreCache.TTL = 60;
+    try {
+      mockParametersByPath("/app/a");
+      AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+      service.setParameterFilters("Label Equals blue|green");
+
+      service.fetchParameters("/app", false, null, null);
+      List<Parameter> parameters = service.fetchParameters("/app", false, null, null);
+
+      Assert.assertEquals("parameters", 1, parameters.size());
+      Mockito.verify(client).getParametersByPath(Mockito.any(GetParametersByPathRequest.class));
+      Assert.assertEquals("invalidated", 1, AwsParameterStoreCache.getInstance().invalidate(REGION_NAME, "/app/b"));
+    } finally {
+      AwsParameterStoreCache.TTL = 0;
+    }
+  }
+
+  /**
+   * Test that a selective policy fetches paths without decryption, drops the
+   * SecureStrings that are not selected and decrypts the selected ones by
+   * name or basename in one batch.
+   */
+  @Test
+  public void testDecryptionSelected() {
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenReturn(new GetParametersByPathResult().withParameters(
+            new Parameter().withName("/app/name").withType("String").withValue("value"),
+            new Parameter().withName("/app/password").withType("SecureString").withValue("AQICAHencrypted"),
+            new Parameter().withName("/app/token").withType("SecureString").withValue("AQICAHencrypted"),
+            new Parameter().withName("/app/other").withType("SecureString").withValue("AQICAHencrypted")));
+    Mockito.when(client.getParameters(Mockito.any(GetParametersRequest.class)))
+        .thenReturn(new GetParametersResult().withParameters(
+            new Parameter().withName("/app/password").withType("SecureString").withValue("s3cr3t"),
+            new Parameter().withName("/app/token").withType("SecureString").withValue("t0k3n")));
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setDecryption(AwsParameterStoreService.DECRYPTION_SELECTED, "/app/password, token");
+
+    List<Parameter> parameters = service.fetchParameters("/app", false, null, null);
+
+    Assert.assertEquals("parameters", 3, parameters.size());
+    Assert.assertEquals("string", "value", parameters.get(0).getValue());
+    Assert.assertEquals("by name", "s3cr3t", parameters.get(1).getValue());
+    Assert.assertEquals("by basename", "t0k3n", parameters.get(2).getValue());
+    Assert.assertTrue("complete", service.isFetchComplete());
+    ArgumentCaptor<GetParametersByPathRequest> pathRequest = ArgumentCaptor.forClass(GetParametersByPathRequest.class);
+    Mockito.verify(client).getParametersByPath(pathRequest.capture());
+    Assert.assertFalse("path decryption", pathRequest.getValue().getWithDecryption());
+    ArgumentCaptor<GetParametersRequest> request = ArgumentCaptor.forClass(GetParametersRequest.class);
+    Mockito.verify(client).getParameters(request.capture());
+    Assert.assertTrue("decryption", request.getValue().getWithDecryption());
+    Assert.assertEquals("names", Arrays.asList("/app/password", "/app/token"), request.getValue().getNames());
+  }
+
+  /**
+   * Test that a selected SecureString that cannot be decrypted is dropped
+   * instead of exposed encrypted, and that the fetch is not complete.
+   */
+  @Test
+  public void testDecryptionSelectedFailure() {
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenReturn(new GetParametersByPathResult().withParameters(
+            new Parameter().withName("/app/name").withType("String").withValue("value"),
+            new Parameter().withName("/app/password").withType("SecureString").withValue("AQICAHencrypted")));
+    Mockito.when(client.getParameters(Mockito.any(GetParametersRequest.class)))
+        .thenThrow(new AWSSimpleSystemsManagementException("AccessDeniedException"));
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setDecryption(AwsParameterStoreService.DECRYPTION_SELECTED, "password");
+
+    List<Parameter> parameters = service.fetchParameters("/app", false, null, null);
+
+    Assert.assertEquals("parameters", 1, parameters.size());
+    Assert.assertEquals("string", "/app/name", parameters.get(0).getName());
+    Assert.assertFalse("complete", service.isFetchComplete());
+  }
+
+  /**
+   * Test that the never policy skips SecureStrings found by name prefix
+   * before fetching them, and fetches the others without decryption.
+   */
+  @Test
+  public void testDecryptionNever() {
+    Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+        .thenReturn(new DescribeParametersResult().withParameters(
+            new ParameterMetadata().withName("service.name").withType("String"),
+            new ParameterMetadata().withName("service.password").withType("SecureString")));
+    Mockito.when(client.getParameters(Mockito.any(GetParametersRequest.class))).thenReturn(new GetParametersResult()
+        .withParameters(new Parameter().withName("service.name").withType("String").withValue("value")));
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setDecryption(AwsParameterStoreService.DECRYPTION_NEVER, "password");
+
+    List<Parameter> parameters = service.fetchParameters(null, false, "service.", "BeginsWith");
+
+    Assert.assertEquals("parameters", 1, parameters.size());
+    ArgumentCaptor<GetParametersRequest> request = ArgumentCaptor.forClass(GetParametersRequest.class);
+    Mockito.verify(client).getParameters(request.capture());
+    Assert.assertEquals("names", Arrays.asList("service.name"), request.getValue().getNames());
+    Assert.assertFalse("decryption", request.getValue().getWithDecryption());
+  }
+
+  /**
+   * Test that parameters found by name prefix are fetched with one
+   * <code>GetParameters</code> call per ten names, the selected SecureStrings
+   * in their own decrypted batch, and returned in the order they were
+   * described.
+   */
+  @Test
+  public void testNamePrefixBatches() {
+    List<ParameterMetadata> metadata = new ArrayList<>();
+    metadata.add(new ParameterMetadata().withName("service.password").withType("SecureString"));
+    metadata.add(new ParameterMetadata().withName("service.other").withType("SecureString"));
+    for (int i = 0; i < 11; i++) {
+      metadata.add(new ParameterMetadata().withName("service.name" + i).withType("String"));
+    }
+    Mockito.when(client.describeParameters(Mockito.any(DescribeParametersRequest.class)))
+        .thenReturn(new DescribeParametersResult().withParameters(metadata));
+    Mockito.when(client.getParameters(Mockito.any(GetParametersRequest.class)))
+        .thenAnswer(new Answer<GetParametersResult>() {
+          @Override
+          public GetParametersResult answer(InvocationOnMock invocation) {
+            GetParametersRequest request = (GetParametersRequest) invocation.getArguments()[0];
+            GetParametersResult result = new GetParametersResult();
+            for (String name : request.getNames()) {
+              result.withParameters(new Parameter().withName(name).withValue(name + "-value"));
+            }
+            return result;
+          }
+        });
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setDecryption(AwsParameterStoreService.DECRYPTION_SELECTED, "password");
+
+    List<Parameter> parameters = service.fetchParameters(null, false, "service.", "BeginsWith");
+
+    Assert.assertEquals("parameters", 12, parameters.size());
+    Assert.assertEquals("first", "service.password", parameters.get(0).getName());
+    Assert.assertEquals("last", "service.name10", parameters.get(11).getName());
+    Assert.assertTrue("complete", service.isFetchComplete());
+    ArgumentCaptor<GetParametersRequest> request = ArgumentCaptor.forClass(GetParametersRequest.class);
+    Mockito.verify(client, Mockito.times(3)).getParameters(request.capture());
+    List<GetParametersRequest> requests = request.getAllValues();
+    Assert.assertEquals("plain batch", 10, requests.get(0).getNames().size());
+    Assert.assertFalse("plain decryption", requests.get(0).getWithDecryption());
+    Assert.assertEquals("plain rest", Arrays.asList("service.name10"), requests.get(1).getNames());
+    Assert.assertEquals("decrypted batch", Arrays.asList("service.password"), requests.get(2).getNames());
+    Assert.assertTrue("decryption", requests.get(2).getWithDecryption());
+  }
+
+  /**
+   * Test that every non-empty leaf of an expanded SecureString is redacted,
+   * whether it is a string, a number or a boolean.
+   */
+  @Test
+  public void testExpandedSecureStringLeaves() {
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenReturn(new GetParametersByPathResult().withParameters(new Parameter().withName("/app/db")
+            .withType("SecureString")
+            .withValue("{\"user\": \"admin\", \"pin\": 123456, \"tls\": true, \"host\": \"\"}")));
+    AwsParameterStoreService service = new AwsParameterStoreService(CREDENTIALS_ID, REGION_NAME);
+    service.setExpandJson(true);
+    SimpleBuildWrapper.Context context = new SimpleBuildWrapper.Context();
+
+    service.buildEnvVars(context, "/app", "basename", service.fetchParameters("/app", false, null, null));
+
+    Assert.assertEquals("number", "123456", context.getEnv().get("db_pin"));
+    Assert.assertEquals("redacted", Arrays.asList("admin", "123456", "true"), service.getExpandedSecureStrings());
+  }
+
+  /**
+   * Answers <code>GetParametersByPath</code> with the given parameters within
+   * the requested path.
+   */
+  private void mockParametersByPath(final String... names) {
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenAnswer(new Answer<GetParametersByPathResult>() {
+          @Override
+          public GetParametersByPathResult answer(InvocationOnMock invocation) {
+            GetParametersByPathRequest request = (GetParametersByPathRequest) invocation.getArguments()[0];
+            String prefix = request.getPath().endsWith("/") ? request.getPath() : request.getPath() + "/";
+            List<Parameter> parameters = new ArrayList<>();
+            for (String name : names) {
+              if (name.startsWith(prefix)
+                  && (request.getRecursive() || name.indexOf('/', prefix.length()) < 0)) {
+                parameters.add(new Parameter().withName(name).withValue("value").withType("String"));
+              }
+            }
+            return new GetParametersByPathResult().withParameters(parameters);
+          }
+        });
+  }
+}
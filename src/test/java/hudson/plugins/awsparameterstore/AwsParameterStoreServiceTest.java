@@ -27,10 +27,10 @@ import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement
 import com.amazonaws.services.simplesystemsmanagement.model.AWSSimpleSystemsManagementException;
 import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.DescribeParametersResult;
-import com.amazonaws.services.simplesystemsmanagement.model.GetParameterRequest;
-import com.amazonaws.services.simplesystemsmanagement.model.GetParameterResult;
 import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
 import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersResult;
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
 import com.cloudbees.jenkins.plugins.awscredentials.AWSCredentialsHelper;
 import jenkins.model.Jenkins;
@@ -43,8 +43,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
-import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -151,9 +152,9 @@ public class AwsParameterStoreServiceTest {
         { /* no describe */
             new String[][] { { "name1", "value1" }, { "name2", "value2" } }, null, false, "basename", "",
             new String[][] { { "name1", null }, { "name2", null } }, CREDENTIALS_AWS_NO_DESCRIBE },
-        { /* no get-parameter */
+        { /* no get-parameter: the batch holding name1 is denied */
             new String[][] { { "name1", "value1" }, { "name2", "value2" } }, null, false, "basename", "",
-            new String[][] { { "name1", null }, { "name2", "value2" } }, CREDENTIALS_AWS_NO_GET },
+            new String[][] { { "name1", null }, { "name2", null } }, CREDENTIALS_AWS_NO_GET },
         { /* no get-parameter-by-path */
             new String[][] { { "name1", "value1" }, { "name2", "value2" } }, "/service/", true, "basename", "",
             new String[][] { { "name1", null }, { "name2", null } }, CREDENTIALS_AWS_NO_GETBYPATH } });
@@ -167,6 +168,10 @@ public class AwsParameterStoreServiceTest {
     mockAWSCredentialsHelper();
     mockAWSSimpleSystemsManagementClient();
     mockJenkins();
+    AwsParameterStoreCache.getInstance().clear();
+    AwsParameterStoreCredentialsCache.getInstance().invalidateAll();
+    AwsParameterStoreClients.getInstance().clear();
+    AwsParameterStoreCircuitBreaker.resetAll();
   }
 
   /**
@@ -192,6 +197,27 @@ public class AwsParameterStoreServiceTest {
     }
   }
 
+  /**
+   * Test that an exceeded deadline returns the parameters fetched so far or
+   * fails, depending on the deadline policy.
+   */
+  @Test
+  public void testDeadline() {
+    AwsParameterStoreService awsParameterStoreService = new AwsParameterStoreService(credentialsId, REGION_NAME);
+    awsParameterStoreService.setDeadline(1, AwsParameterStoreService.DEADLINE_PARTIAL);
+    Assert.assertTrue("partial",
+        awsParameterStoreService.fetchParameters(path, recursive, namePrefixes, "BeginsWith").isEmpty());
+    Assert.assertTrue("exceeded", awsParameterStoreService.isDeadlineExceeded());
+
+    awsParameterStoreService.setDeadline(1, AwsParameterStoreService.DEADLINE_FAIL);
+    try {
+      awsParameterStoreService.fetchParameters(path, recursive, namePrefixes, "BeginsWith");
+      Assert.fail("Expected AwsParameterStoreDeadlineException");
+    } catch (AwsParameterStoreDeadlineException e) {
+      Assert.assertTrue("exceeded", awsParameterStoreService.isDeadlineExceeded());
+    }
+  }
+
   /**
    * Mocks the credential helper which requires a running Jenkins instance.
    */
@@ -203,7 +229,7 @@ public class AwsParameterStoreServiceTest {
   }
 
   /**
-   * Mocks the constructor, describeParameters(), getParameter() and
+   * Mocks the constructor, describeParameters(), getParameters() and
    * getParametersByPath() methods of the
    * <code>AwsSimpleSystemsManagementClient</code>.
    */
@@ -238,21 +264,24 @@ public class AwsParameterStoreServiceTest {
           .thenReturn(new GetParametersByPathResult().withParameters(mockParameters()));
     }
 
-    for (int i = 0; i < parameters.length; i++) {
-      if (CREDENTIALS_AWS_NO_GET.equals(credentialsId) && i == 0) {
-        PowerMockito
-            .when(awsSimpleSystemsManagementClient
-                .getParameter(Mockito.argThat(new GetParameterRequestMatcher(parameters[i][NAME]))))
-            .thenThrow(new AWSSimpleSystemsManagementException("AcessDenied"));
-      } else {
-        PowerMockito
-            .when(awsSimpleSystemsManagementClient
-                .getParameter(Mockito.argThat(new GetParameterRequestMatcher(parameters[i][NAME]))))
-            .thenReturn(new GetParameterResult()
-                .withParameter(new com.amazonaws.services.simplesystemsmanagement.model.Parameter()
-                    .withValue(parameters[i][VALUE]).withName(parameters[i][NAME])));
-      }
-    }
+    PowerMockito.when(awsSimpleSystemsManagementClient.getParameters(Mockito.any(GetParametersRequest.class)))
+        .thenAnswer(new Answer<GetParametersResult>() {
+          @Override
+          public GetParametersResult answer(InvocationOnMock invocation) {
+            GetParametersRequest request = (GetParametersRequest) invocation.getArguments()[0];
+            GetParametersResult result = new GetParametersResult();
+            for (int i = 0; i < parameters.length; i++) {
+              if (request.getNames().contains(parameters[i][NAME])) {
+                if (CREDENTIALS_AWS_NO_GET.equals(credentialsId) && i == 0) {
+                  throw new AWSSimpleSystemsManagementException("AcessDenied");
+                }
+                result.withParameters(new com.amazonaws.services.simplesystemsmanagement.model.Parameter()
+                    .withValue(parameters[i][VALUE]).withName(parameters[i][NAME]));
+              }
+            }
+            return result;
+          }
+        });
   }
 
   /**
@@ -306,39 +335,4 @@ public class AwsParameterStoreServiceTest {
     PowerMockito.when(Jenkins.getInstance()).thenReturn(jenkins);
     PowerMockito.when(Jenkins.getActiveInstance()).thenReturn(jenkins);
   }
-
-  /**
-   * A mockito argument matcher that ensures the mocked getParameter() method
-   * returns the correct mocked values.
-   *
-   * @author Rik Turnbull
-   *
-   */
-  class GetParameterRequestMatcher extends ArgumentMatcher<GetParameterRequest> {
-    private String name;
-
-    /**
-     * Creates a new {@link GetParameterRequestMatcher}.
-     *
-     * @param name parameter name to match
-     */
-    public GetParameterRequestMatcher(String name) {
-      this.name = name;
-    }
-
-    /**
-     * Matches if <code>o</code> is a <code>GetParameterRequest</code> and its name
-     * matches <code>name</code>.
-     *
-     * @param o a GetParameterRequest
-     */
-    public boolean matches(Object o) {
-      if (o instanceof GetParameterRequest) {
-        GetParameterRequest getParameterRequest = (GetParameterRequest) o;
-        return getParameterRequest.getName().equals(name);
-      } else {
-        return false;
-      }
-    }
-  }
 }
@@ -0,0 +1,83 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import hudson.model.FreeStyleProject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Run tests for the configuration form of {@link AwsParameterStoreSource}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreSourceConfigTest {
+  private final static String REGION_NAME = "eu-west-1";
+
+  @Rule
+  public JenkinsRule j = new JenkinsRule();
+
+  /**
+   * Tests that additional sources survive a round trip through the job
+   * configuration form.
+   */
+  @Test
+  public void testConfigRoundtrip() throws Exception {
+    AwsParameterStoreSource first = new AwsParameterStoreSource();
+    first.setRegionName(REGION_NAME);
+    first.setPath("/shared");
+    first.setRecursive(true);
+    first.setEnvPrefix("SHARED_");
+    AwsParameterStoreSource second = new AwsParameterStoreSource();
+    second.setRegionName(REGION_NAME);
+    second.setNamePrefixes("/team/");
+    second.setEnvPrefix("TEAM_");
+
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper();
+    wrapper.setRegionName(REGION_NAME);
+    wrapper.setPath("/app");
+    wrapper.setSources(Arrays.asList(first, second));
+
+    FreeStyleProject project = j.createFreeStyleProject();
+    project.getBuildWrappersList().add(wrapper);
+    project = j.configRoundtrip(project);
+
+    AwsParameterStoreBuildWrapper roundtrip = project.getBuildWrappersList().get(AwsParameterStoreBuildWrapper.class);
+    Assert.assertNotNull(roundtrip);
+    List<AwsParameterStoreSource> sources = roundtrip.getSources();
+    Assert.assertEquals(2, sources.size());
+    Assert.assertEquals("/shared", sources.get(0).getPath());
+    Assert.assertEquals(Boolean.TRUE, sources.get(0).getRecursive());
+    Assert.assertEquals("SHARED_", sources.get(0).getEnvPrefix());
+    Assert.assertEquals(REGION_NAME, sources.get(0).getRegionName());
+    Assert.assertEquals("/team/", sources.get(1).getNamePrefixes());
+    Assert.assertEquals("TEAM_", sources.get(1).getEnvPrefix());
+  }
+}
@@ -0,0 +1,127 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersByPathResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import hudson.model.TaskListener;
+import jenkins.tasks.SimpleBuildWrapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Run tests for merging the parameters of {@link AwsParameterStoreSource}s
+ * into the environment of an {@link AwsParameterStoreBuildWrapper}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreSourceTest {
+  private final static String REGION_NAME = "eu-west-1";
+
+  /**
+   * Set up a mocked client for the wrapper and for each source account.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCache.getInstance().clear();
+    AwsParameterStoreClients.getInstance().clear();
+    AwsParameterStoreCircuitBreaker.resetAll();
+    mockClient("aws-main", new Parameter().withName("/app/name").withType("String").withValue("main"),
+        new Parameter().withName("/app/url").withType("String").withValue("https://main"));
+    mockClient("aws-a", new Parameter().withName("/a/name").withType("String").withValue("a"));
+    mockClient("aws-b", new Parameter().withName("/b/name").withType("String").withValue("b"),
+        new Parameter().withName("/b/port").withType("String").withValue("8080"));
+  }
+
+  @After
+  public void tearDown() {
+    AwsParameterStoreClients.getInstance().clear();
+  }
+
+  /**
+   * Test that sources are applied in order after the wrapper's own
+   * parameters, so that later sources override variables of the same name.
+   */
+  @Test
+  public void testLaterSourcesOverride() throws Exception {
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper("aws-main", REGION_NAME, "/app",
+        false, "basename", null, false, null);
+    wrapper.setSources(Arrays.asList(source("aws-a", "/a", null), source("aws-b", "/b", null)));
+
+    Map<String, String> env = setUp(wrapper);
+
+    Assert.assertEquals("overridden", "b", env.get("NAME"));
+    Assert.assertEquals("wrapper", "https://main", env.get("URL"));
+    Assert.assertEquals("source", "8080", env.get("PORT"));
+  }
+
+  /**
+   * Test that a source with an environment variable prefix does not override
+   * the variables of the wrapper.
+   */
+  @Test
+  public void testEnvPrefix() throws Exception {
+    AwsParameterStoreBuildWrapper wrapper = new AwsParameterStoreBuildWrapper("aws-main", REGION_NAME, "/app",
+        false, "basename", null, false, null);
+    wrapper.setSources(Arrays.asList(source("aws-a", "/a", "A_"), source("aws-b", "/b", "B_")));
+
+    Map<String, String> env = setUp(wrapper);
+
+    Assert.assertEquals("wrapper", "main", env.get("NAME"));
+    Assert.assertEquals("first source", "a", env.get("A_NAME"));
+    Assert.assertEquals("second source", "b", env.get("B_NAME"));
+    Assert.assertEquals("variables", 5, env.size());
+  }
+
+  private static Map<String, String> setUp(AwsParameterStoreBuildWrapper wrapper) throws Exception {
+    SimpleBuildWrapper.Context context = new SimpleBuildWrapper.Context();
+    wrapper.setUp(context, null, null, null, TaskListener.NULL, null);
+    return context.getEnv();
+  }
+
+  private static AwsParameterStoreSource source(String credentialsId, String path, String envPrefix) {
+    AwsParameterStoreSource source = new AwsParameterStoreSource();
+    source.setCredentialsId(credentialsId);
+    source.setRegionName(REGION_NAME);
+    source.setPath(path);
+    source.setEnvPrefix(envPrefix);
+    return source;
+  }
+
+  private static void mockClient(String credentialsId, Parameter... parameters) {
+    AWSSimpleSystemsManagement client = Mockito.mock(AWSSimpleSystemsManagement.class);
+    Mockito.when(client.getParametersByPath(Mockito.any(GetParametersByPathRequest.class)))
+        .thenReturn(new GetParametersByPathResult().withParameters(parameters));
+    AwsParameterStoreClients.getInstance().putClient(credentialsId, REGION_NAME, client);
+  }
+}
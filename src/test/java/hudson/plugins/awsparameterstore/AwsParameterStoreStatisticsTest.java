@@ -0,0 +1,53 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link AwsParameterStoreStatistics}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreStatisticsTest {
+
+  /**
+   * Test that the prefilter false positive rate is recorded per job.
+   */
+  @Test
+  public void testPrefilterFalsePositiveRate() {
+    AwsParameterStoreStatistics statistics = AwsParameterStoreStatistics.getInstance();
+    Assert.assertTrue("no lines", statistics.getPrefilterFalsePositiveRate("prefilter-job") < 0);
+    AwsParameterStoreStatistics.PrefilterCounter counter = statistics.getPrefilterCounter("prefilter-job");
+    counter.record(true);
+    counter.record(false);
+    counter.record(false);
+    counter.record(true);
+    Assert.assertEquals("rate", 0.5, statistics.getPrefilterFalsePositiveRate("prefilter-job"), 0.0001);
+    Assert.assertSame("shared", counter, statistics.getPrefilterCounter("prefilter-job"));
+    Assert.assertTrue("other job", statistics.getPrefilterFalsePositiveRate("other-job") < 0);
+  }
+}
@@ -0,0 +1,170 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link AwsParameterStoreThrottle}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreThrottleTest {
+
+  private final static String SCOPE = "|us-east-1";
+
+  private final AwsParameterStoreThrottle throttle = new AwsParameterStoreThrottle();
+
+  /**
+   * Restores the default limits.
+   */
+  @After
+  public void tearDown() {
+    AwsParameterStoreThrottle.MAX_CONCURRENCY = 16;
+    AwsParameterStoreThrottle.RATE = 40;
+    AwsParameterStoreThrottle.WEIGHTS = "";
+    AwsParameterStoreClients.getInstance().clear();
+  }
+
+  /**
+   * Test that credentials of the same account share a scope, and that
+   * credentials whose account is unknown are throttled on their own.
+   */
+  @Test
+  public void testAccountScope() {
+    AwsParameterStoreClients clients = AwsParameterStoreClients.getInstance();
+    clients.putAccountId("team-a", "us-east-1", "123456789012");
+    clients.putAccountId("team-b", "us-east-1", "123456789012");
+    clients.putAccountId("team-c", "us-east-1", null);
+
+    Assert.assertEquals("123456789012@us-east-1", AwsParameterStoreThrottle.toScope("team-a", "us-east-1"));
+    Assert.assertEquals("123456789012@us-east-1", AwsParameterStoreThrottle.toScope("team-b", "us-east-1"));
+    Assert.assertEquals("team-c@us-east-1", AwsParameterStoreThrottle.toScope("team-c", "us-east-1"));
+    Assert.assertEquals("123456789012", clients.getKnownAccountId("team-a@us-east-1"));
+    Assert.assertNull(clients.getKnownAccountId("team-d@us-east-1"));
+
+    clients.clear();
+    Assert.assertNull(clients.getKnownAccountId("team-a@us-east-1"));
+  }
+
+  /**
+   * Test that no more than the maximum concurrency calls run at once.
+   */
+  @Test
+  public void testConcurrencyLimit() throws Exception {
+    AwsParameterStoreThrottle.MAX_CONCURRENCY = 2;
+    AwsParameterStoreThrottle.RATE = 0;
+    AwsParameterStoreThrottle.Permit first = throttle.acquire(SCOPE, "");
+    throttle.acquire(SCOPE, "");
+    ListenableFuture<AwsParameterStoreThrottle.Permit> third = throttle.acquireAsync(SCOPE, "");
+    Assert.assertFalse(third.isDone());
+    Assert.assertEquals(2, throttle.getRunning(SCOPE));
+    Assert.assertEquals(1, throttle.getQueued(SCOPE));
+
+    first.release();
+    first.release();
+    Assert.assertTrue(third.isDone());
+    Assert.assertEquals(2, throttle.getRunning(SCOPE));
+    Assert.assertEquals(0, throttle.getQueued(SCOPE));
+  }
+
+  /**
+   * Test that the token bucket lets a burst of the rate through and then
+   * queues callers until a token was refilled.
+   */
+  @Test
+  public void testTokenBucket() throws Exception {
+    AwsParameterStoreThrottle.MAX_CONCURRENCY = 0;
+    AwsParameterStoreThrottle.RATE = 5;
+    for (int i = 0; i < 5; i++) {
+      Assert.assertTrue(throttle.acquireAsync(SCOPE, "").isDone());
+    }
+    ListenableFuture<AwsParameterStoreThrottle.Permit> queued = throttle.acquireAsync(SCOPE, "");
+    Assert.assertFalse(queued.isDone());
+    AwsParameterStoreThrottle.Permit permit = queued.get(5, TimeUnit.SECONDS);
+    Assert.assertTrue(permit.getWaitMillis() > 0);
+  }
+
+  /**
+   * Test that tenants are served round-robin, each taking its weight of
+   * permits per turn.
+   */
+  @Test
+  public void testWeightedRoundRobin() throws Exception {
+    AwsParameterStoreThrottle.MAX_CONCURRENCY = 1;
+    AwsParameterStoreThrottle.RATE = 0;
+    AwsParameterStoreThrottle.WEIGHTS = "team-a=2, invalid";
+    AwsParameterStoreThrottle.Permit running = throttle.acquire(SCOPE, "");
+    List<ListenableFuture<AwsParameterStoreThrottle.Permit>> a = new ArrayList<>();
+    List<ListenableFuture<AwsParameterStoreThrottle.Permit>> b = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      a.add(throttle.acquireAsync(SCOPE, "team-a"));
+    }
+    for (int i = 0; i < 2; i++) {
+      b.add(throttle.acquireAsync(SCOPE, "team-b"));
+    }
+    List<ListenableFuture<AwsParameterStoreThrottle.Permit>> expected = new ArrayList<>();
+    expected.add(a.get(0));
+    expected.add(a.get(1));
+    expected.add(b.get(0));
+    expected.add(a.get(2));
+    expected.add(b.get(1));
+    for (ListenableFuture<AwsParameterStoreThrottle.Permit> next : expected) {
+      Assert.assertFalse(next.isDone());
+      running.release();
+      Assert.assertTrue(next.isDone());
+      Assert.assertEquals(1, throttle.getRunning(SCOPE));
+      running = next.get();
+    }
+    Assert.assertEquals(0, throttle.getQueued(SCOPE));
+  }
+
+  /**
+   * Test that cancelled callers give up their place in the queue.
+   */
+  @Test
+  public void testCancelledWaiterSkipped() throws Exception {
+    AwsParameterStoreThrottle.MAX_CONCURRENCY = 1;
+    AwsParameterStoreThrottle.RATE = 0;
+    AwsParameterStoreThrottle.Permit running = throttle.acquire(SCOPE, "");
+    ListenableFuture<AwsParameterStoreThrottle.Permit> cancelled = throttle.acquireAsync(SCOPE, "");
+    ListenableFuture<AwsParameterStoreThrottle.Permit> next = throttle.acquireAsync(SCOPE, "");
+    Assert.assertNull(throttle.acquire(SCOPE, "", 10));
+    cancelled.cancel(false);
+
+    running.release();
+    Assert.assertTrue(next.isDone());
+    Assert.assertEquals(1, throttle.getRunning(SCOPE));
+    Assert.assertEquals(0, throttle.getQueued(SCOPE));
+  }
+}
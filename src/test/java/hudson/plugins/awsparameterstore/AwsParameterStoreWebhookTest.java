@@ -0,0 +1,172 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+/**
+ * Run tests for {@link AwsParameterStoreWebhook}.
+ *
+ * @author agent
+ *
+ */
+public class AwsParameterStoreWebhookTest {
+
+  private final static String SCOPE = AwsParameterStoreCache.toScope("aws-admin", "eu-west-1");
+
+  private AwsParameterStoreCache cache;
+
+  /**
+   * Caches a recursive fetch of <code>/app</code> and a fetch by name prefix.
+   */
+  @Before
+  public void setUp() {
+    AwsParameterStoreCache.TTL = 60;
+    cache = AwsParameterStoreCache.getInstance();
+    cache.clear();
+    cache.putParametersByPath(SCOPE, "/app", true, parameters("/app/db/password", "/app/name"), null);
+    cache.putParameters(SCOPE + "|BeginsWith|svc-", parameters("svc-name"), null);
+  }
+
+  @After
+  public void tearDown() {
+    AwsParameterStoreWebhook.TOKEN = null;
+    cache.clear();
+    AwsParameterStoreCache.TTL = 0;
+  }
+
+  /**
+   * Test that a change below a cached hierarchy invalidates it.
+   */
+  @Test
+  public void testInvalidatePath() {
+    Assert.assertEquals("invalidated", 1, AwsParameterStoreWebhook.handle(event("eu-west-1", "/app/db/new")));
+    Assert.assertNull("path", cache.getParametersByPath(SCOPE, "/app/db", true));
+    Assert.assertNotNull("prefix", cache.getParameters(SCOPE + "|BeginsWith|svc-"));
+  }
+
+  /**
+   * Test that a change matching a name prefix invalidates that fetch.
+   */
+  @Test
+  public void testInvalidatePrefix() {
+    Assert.assertEquals("invalidated", 1, AwsParameterStoreWebhook.handle("[" + event("eu-west-1", "svc-key") + "]"));
+    Assert.assertNull("prefix", cache.getParameters(SCOPE + "|BeginsWith|svc-"));
+    Assert.assertNotNull("path", cache.getParametersByPath(SCOPE, "/app", true));
+  }
+
+  /**
+   * Test that other regions, other paths and other events are ignored.
+   */
+  @Test
+  public void testIgnored() {
+    Assert.assertEquals("region", 0, AwsParameterStoreWebhook.handle(event("us-east-1", "/app/name")));
+    Assert.assertEquals("path", 0, AwsParameterStoreWebhook.handle(event("eu-west-1", "/other/name")));
+    Assert.assertEquals("source", 0, AwsParameterStoreWebhook.handle(
+        "{\"source\":\"aws.ec2\",\"detail-type\":\"Parameter Store Change\",\"region\":\"eu-west-1\","
+            + "\"detail\":{\"name\":\"/app/name\"}}"));
+    Assert.assertNotNull("cached", cache.getParametersByPath(SCOPE, "/app", true));
+  }
+
+  /**
+   * Test that repeated changes to a hierarchy whose refresh is still queued
+   * do not queue further refreshes.
+   */
+  @Test
+  public void testRefreshesCoalesced() throws InterruptedException {
+    final CountDownLatch blocked = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    Runnable blocker = new Runnable() {
+      @Override
+      public void run() {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    cache.putParametersByPath(SCOPE, "/block1", true, parameters("/block1/a"), blocker);
+    cache.putParametersByPath(SCOPE, "/block2", true, parameters("/block2/a"), blocker);
+    AwsParameterStoreWebhook.handle(event("eu-west-1", "/block1/a"));
+    AwsParameterStoreWebhook.handle(event("eu-west-1", "/block2/a"));
+    Assert.assertTrue("refresh threads busy", blocked.await(10, TimeUnit.SECONDS));
+
+    final AtomicInteger refreshes = new AtomicInteger();
+    Runnable refresher = new Runnable() {
+      @Override
+      public void run() {
+        refreshes.incrementAndGet();
+      }
+    };
+    for (int i = 0; i < 5; i++) {
+      cache.putParametersByPath(SCOPE, "/svc", true, parameters("/svc/a"), refresher);
+      Assert.assertEquals("invalidated", 1, AwsParameterStoreWebhook.handle(event("eu-west-1", "/svc/a")));
+    }
+    release.countDown();
+    for (int i = 0; i < 100 && refreshes.get() == 0; i++) {
+      Thread.sleep(50);
+    }
+    Thread.sleep(200);
+    Assert.assertEquals("refreshes", 1, refreshes.get());
+  }
+
+  /**
+   * Test the bearer token check.
+   */
+  @Test
+  public void testIsAuthorized() {
+    Assert.assertFalse("not configured", AwsParameterStoreWebhook.isAuthorized("Bearer secret"));
+    AwsParameterStoreWebhook.TOKEN = "secret";
+    Assert.assertTrue("valid", AwsParameterStoreWebhook.isAuthorized("Bearer secret"));
+    Assert.assertFalse("invalid", AwsParameterStoreWebhook.isAuthorized("Bearer wrong"));
+    Assert.assertFalse("missing", AwsParameterStoreWebhook.isAuthorized(null));
+  }
+
+  private static String event(String region, String name) {
+    return "{\"version\":\"0\",\"source\":\"aws.ssm\",\"detail-type\":\"Parameter Store Change\",\"region\":\""
+        + region + "\",\"resources\":[],\"detail\":{\"operation\":\"Update\",\"name\":\"" + name
+        + "\",\"type\":\"String\"}}";
+  }
+
+  private static List<Parameter> parameters(String... names) {
+    List<Parameter> parameters = new ArrayList<Parameter>();
+    for (String name : names) {
+      parameters.add(new Parameter().withName(name).withValue("value"));
+    }
+    return parameters;
+  }
+}
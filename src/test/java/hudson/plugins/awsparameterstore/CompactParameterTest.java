@@ -0,0 +1,103 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * Run tests for {@link CompactParameter}.
+ *
+ * @author agent
+ *
+ */
+public class CompactParameterTest {
+
+  /**
+   * Test that the name, value, type and version survive a round trip.
+   */
+  @Test
+  public void testRoundTrip() {
+    Parameter parameter = CompactParameter.of(new Parameter().withName("/app/prod/password")
+        .withType("SecureString").withValue("s3cr3t é").withVersion(7L)).toParameter();
+
+    Assert.assertEquals("name", "/app/prod/password", parameter.getName());
+    Assert.assertEquals("type", "SecureString", parameter.getType());
+    Assert.assertEquals("value", "s3cr3t é", parameter.getValue());
+    Assert.assertEquals("version", Long.valueOf(7), parameter.getVersion());
+  }
+
+  /**
+   * Test that a missing version, value and type stay missing.
+   */
+  @Test
+  public void testNulls() {
+    Parameter parameter = CompactParameter.of(new Parameter().withName("plain")).toParameter();
+
+    Assert.assertEquals("name", "plain", parameter.getName());
+    Assert.assertNull("version", parameter.getVersion());
+    Assert.assertNull("value", parameter.getValue());
+    Assert.assertNull("type", parameter.getType());
+    Assert.assertEquals("empty value", "",
+        CompactParameter.of(new Parameter().withName("empty").withValue("")).toParameter().getValue());
+  }
+
+  /**
+   * Test that parameters below one hierarchy share their prefix and type.
+   */
+  @Test
+  public void testPrefixInterned() {
+    CompactParameter first = CompactParameter.of(new Parameter().withName(new String("/app/prod/a"))
+        .withType(new String("String")).withValue("1"));
+    CompactParameter second = CompactParameter.of(new Parameter().withName(new String("/app/prod/b"))
+        .withType(new String("String")).withValue("2"));
+
+    Assert.assertEquals("prefix", "/app/prod/", first.getPrefix());
+    Assert.assertSame("shared prefix", first.getPrefix(), second.getPrefix());
+    Assert.assertSame("shared type", first.toParameter().getType(), second.toParameter().getType());
+    Assert.assertEquals("not hierarchical", "", CompactParameter.of(new Parameter().withName("plain")).getPrefix());
+  }
+
+  /**
+   * Test that wiping zeroes the value, and that an evicted cache entry
+   * answers nothing.
+   */
+  @Test
+  public void testWipe() {
+    Parameter secret = new Parameter().withName("/app/password").withType("SecureString").withValue("s3cr3t");
+    CompactParameter parameter = CompactParameter.of(secret);
+    parameter.wipe();
+    Assert.assertEquals("zeroed", "\u0000\u0000\u0000\u0000\u0000\u0000", parameter.toParameter().getValue());
+    CompactParameter.of(new Parameter().withName("empty")).wipe();
+
+    ParameterCacheEntry entry = new ParameterCacheEntry(Collections.singletonList(secret), false, 0, null);
+    Assert.assertEquals("cached", "s3cr3t", entry.getParameters().get(0).getValue());
+    entry.wipe();
+    Assert.assertNull("evicted", entry.getParameters());
+    Assert.assertNull("evicted select", entry.select(new String[] { "app" }, true));
+  }
+}
@@ -0,0 +1,90 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link JsonExpansion}.
+ *
+ * @author agent
+ *
+ */
+public class JsonExpansionTest {
+
+  /**
+   * Test that nested objects and arrays are flattened into leaves.
+   */
+  @Test
+  public void testParse() {
+    JsonExpansion expansion = JsonExpansion.parse(
+        "{\"db\": {\"host\": \"db.example.com\", \"port\": 5432, \"read-only\": true},"
+            + " \"hosts\": [\"a\", \"b\\\"c\"], \"empty\": {}, \"unset\": null}", 3L);
+    Assert.assertNotNull(expansion);
+    String[] values = expansion.getValues();
+    Assert.assertEquals(5, expansion.size());
+    assertLeaf(expansion, values, 0, "_db_host", "db.example.com", true);
+    assertLeaf(expansion, values, 1, "_db_port", "5432", false);
+    assertLeaf(expansion, values, 2, "_db_read_only", "true", false);
+    assertLeaf(expansion, values, 3, "_hosts_0", "a", true);
+    assertLeaf(expansion, values, 4, "_hosts_1", "b\"c", true);
+  }
+
+  /**
+   * Test that values other than valid JSON objects are not expanded.
+   */
+  @Test
+  public void testNotAnObject() {
+    Assert.assertFalse("plain", JsonExpansion.isObject("value"));
+    Assert.assertFalse("array", JsonExpansion.isObject("[1, 2]"));
+    Assert.assertTrue("object", JsonExpansion.isObject(" {\"a\": 1}"));
+    Assert.assertNull("truncated", JsonExpansion.parse("{\"a\": \"b\"", null));
+    Assert.assertNull("trailing", JsonExpansion.parse("{\"a\": 1} x", null));
+    Assert.assertNull("literal", JsonExpansion.parse("{\"a\": yes}", null));
+  }
+
+  /**
+   * Test that an expansion is reused only for the same version and value, and
+   * has no values once wiped.
+   */
+  @Test
+  public void testMatchesAndWipe() {
+    String value = "{\"password\": \"s3cr3t\"}";
+    JsonExpansion expansion = JsonExpansion.parse(value, 2L);
+    Assert.assertTrue("same", expansion.matches(value, 2L));
+    Assert.assertFalse("version", expansion.matches(value, 3L));
+    Assert.assertFalse("value", expansion.matches("{\"password\": \"other\"}", 2L));
+    Assert.assertFalse("no version", expansion.matches(value, null));
+    expansion.wipe();
+    Assert.assertNull("wiped", expansion.getValues());
+  }
+
+  private static void assertLeaf(JsonExpansion expansion, String[] values, int index, String suffix, String value,
+      boolean string) {
+    Assert.assertEquals("suffix " + index, suffix, expansion.getSuffix(index));
+    Assert.assertEquals("value " + index, value, values[index]);
+    Assert.assertEquals("string " + index, string, expansion.isString(index));
+  }
+}
@@ -0,0 +1,154 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+/**
+ * Run tests for {@link ParameterPathTrie}.
+ *
+ * @author agent
+ *
+ */
+public class ParameterPathTrieTest {
+
+  private ParameterPathTrie trie;
+
+  /**
+   * Populates the trie with a recursive fetch of <code>/app/prod</code>.
+   */
+  @Before
+  public void setUp() {
+    trie = new ParameterPathTrie();
+    trie.put(ParameterPathTrie.toSegments("/app/prod"), true,
+        parameters("/app/prod/name1", "/app/prod/db/name2", "/app/prod/db/replica/name3"), 100);
+  }
+
+  /**
+   * Test path normalisation.
+   */
+  @Test
+  public void testToSegments() {
+    Assert.assertArrayEquals("root", new String[0], ParameterPathTrie.toSegments("/"));
+    Assert.assertArrayEquals("trailing", new String[] { "app", "prod" }, ParameterPathTrie.toSegments("/app/prod/"));
+    Assert.assertNull("relative", ParameterPathTrie.toSegments("app"));
+    Assert.assertNull("null", ParameterPathTrie.toSegments(null));
+  }
+
+  /**
+   * Test that sub-paths are answered from a recursive ancestor.
+   */
+  @Test
+  public void testCoveredByRecursiveAncestor() {
+    Assert.assertEquals("same recursive", names("/app/prod/name1", "/app/prod/db/name2", "/app/prod/db/replica/name3"),
+        names(trie.get(ParameterPathTrie.toSegments("/app/prod/"), true, 0)));
+    Assert.assertEquals("same direct", names("/app/prod/name1"),
+        names(trie.get(ParameterPathTrie.toSegments("/app/prod"), false, 0)));
+    Assert.assertEquals("child recursive", names("/app/prod/db/name2", "/app/prod/db/replica/name3"),
+        names(trie.get(ParameterPathTrie.toSegments("/app/prod/db"), true, 0)));
+    Assert.assertEquals("child direct", names("/app/prod/db/name2"),
+        names(trie.get(ParameterPathTrie.toSegments("/app/prod/db"), false, 0)));
+    Assert.assertEquals("missing child", names(),
+        names(trie.get(ParameterPathTrie.toSegments("/app/prod/cache"), true, 0)));
+  }
+
+  /**
+   * Test that requests outside a cached hierarchy miss.
+   */
+  @Test
+  public void testNotCovered() {
+    Assert.assertNull("parent", trie.get(ParameterPathTrie.toSegments("/app"), true, 0));
+    Assert.assertNull("sibling", trie.get(ParameterPathTrie.toSegments("/app/dev"), false, 0));
+    Assert.assertNull("stale", trie.get(ParameterPathTrie.toSegments("/app/prod/db"), true, 200));
+  }
+
+  /**
+   * Test that a non-recursive entry does not answer a recursive request.
+   */
+  @Test
+  public void testDirectEntry() {
+    trie.put(ParameterPathTrie.toSegments("/svc"), false, parameters("/svc/name1"), 100);
+    Assert.assertEquals("direct", names("/svc/name1"), names(trie.get(ParameterPathTrie.toSegments("/svc"), false, 0)));
+    Assert.assertNull("recursive", trie.get(ParameterPathTrie.toSegments("/svc"), true, 0));
+  }
+
+  /**
+   * Test that pruning removes stale entries.
+   */
+  @Test
+  public void testPrune() {
+    Assert.assertFalse("fresh", trie.prune(50));
+    Assert.assertTrue("stale", trie.prune(200));
+    Assert.assertNull("pruned", trie.get(ParameterPathTrie.toSegments("/app/prod"), true, 0));
+  }
+
+  /**
+   * Test that entries are listed by path and can be removed individually.
+   */
+  @Test
+  public void testCollectAndRemove() {
+    trie.put(ParameterPathTrie.toSegments("/svc"), false, parameters("/svc/name1"), 100);
+    Map<String, ParameterCacheEntry> recursiveEntries = new HashMap<String, ParameterCacheEntry>();
+    Map<String, ParameterCacheEntry> directEntries = new HashMap<String, ParameterCacheEntry>();
+    trie.collect(recursiveEntries, directEntries);
+    Assert.assertEquals("recursive", Collections.singleton("/app/prod"), recursiveEntries.keySet());
+    Assert.assertEquals("direct", Collections.singleton("/svc"), directEntries.keySet());
+    Assert.assertNull("wrong kind", trie.remove(ParameterPathTrie.toSegments("/app/prod"), false));
+    Assert.assertSame("removed", recursiveEntries.get("/app/prod"),
+        trie.remove(ParameterPathTrie.toSegments("/app/prod"), true));
+    Assert.assertNull("gone", trie.getEntry(ParameterPathTrie.toSegments("/app/prod"), true));
+    Assert.assertSame("kept", directEntries.get("/svc"), trie.getEntry(ParameterPathTrie.toSegments("/svc"), false));
+  }
+
+  private static List<Parameter> parameters(String... names) {
+    List<Parameter> parameters = new ArrayList<Parameter>();
+    for (String name : names) {
+      parameters.add(new Parameter().withName(name).withValue("value"));
+    }
+    return parameters;
+  }
+
+  private static List<String> names(String... names) {
+    return Arrays.asList(names);
+  }
+
+  private static List<String> names(List<Parameter> parameters) {
+    List<String> names = new ArrayList<String>();
+    for (Parameter parameter : parameters) {
+      names.add(parameter.getName());
+    }
+    return names;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+
+/**
+ * Run tests for {@link ParameterSnapshotCodec}.
+ *
+ * @author agent
+ *
+ */
+public class ParameterSnapshotCodecTest {
+  private static final byte[] KEY = new byte[32];
+  private static final byte[] AAD = "key|1".getBytes(StandardCharsets.UTF_8);
+
+  /**
+   * Test that encrypted parameters are decrypted and decoded unchanged.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    List<Parameter> parameters = Arrays.asList(
+        new Parameter().withName("/service/password").withType("SecureString").withVersion(3L).withValue("s3cret"),
+        new Parameter().withName("/service/user").withType("String").withValue("admin"));
+
+    byte[] encrypted = ParameterSnapshotCodec.encrypt(KEY, AAD, ParameterSnapshotCodec.encode(parameters));
+    List<Parameter> decoded = ParameterSnapshotCodec.decode(ParameterSnapshotCodec.decrypt(KEY, AAD, encrypted));
+
+    Assert.assertEquals("parameters", parameters, decoded);
+  }
+
+  /**
+   * Test that a snapshot is not decrypted with other associated data.
+   */
+  @Test
+  public void testOtherAad() throws IOException {
+    byte[] encrypted = ParameterSnapshotCodec.encrypt(KEY, AAD, ParameterSnapshotCodec.encode(Arrays.asList(
+        new Parameter().withName("name").withType("String").withValue("value"))));
+
+    Assert.assertNull("decrypted", ParameterSnapshotCodec.decrypt(KEY,
+        "key|2".getBytes(StandardCharsets.UTF_8), encrypted));
+  }
+}
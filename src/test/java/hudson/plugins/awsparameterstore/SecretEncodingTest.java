@@ -0,0 +1,86 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link SecretEncoding}.
+ *
+ * @author agent
+ *
+ */
+public class SecretEncodingTest {
+
+  private static final String SECRET = "p@ss/w\"rd'1";
+
+  /**
+   * Test that the encoded forms are added.
+   */
+  @Test
+  public void testAddLiterals() {
+    Set<String> literals = new LinkedHashSet<String>();
+    SecretEncoding.addLiterals(SECRET, SecretEncoding.getEncodings("url,base64,json,shell"), literals);
+    Assert.assertTrue("secret", literals.contains(SECRET));
+    Assert.assertTrue("url", literals.contains("p%40ss%2Fw%22rd%271"));
+    Assert.assertTrue("json", literals.contains("p@ss/w\\\"rd'1"));
+    Assert.assertTrue("json slash", literals.contains("p@ss\\/w\\\"rd'1"));
+    Assert.assertTrue("shell", literals.contains("p@ss/w\"rd'\\''1"));
+  }
+
+  /**
+   * Test that the secret is found in Base64 encoded values at any alignment.
+   */
+  @Test
+  public void testBase64() {
+    Set<String> literals = new LinkedHashSet<String>();
+    SecretEncoding.addLiterals(SECRET, EnumSet.of(SecretEncoding.BASE64), literals);
+    SecretMatcher matcher = new SecretMatcher(literals);
+    for (String prefix : new String[] { "", "u:", "us:", "use:" }) {
+      String encoded = DatatypeConverter.printBase64Binary((prefix + SECRET + "!").getBytes(StandardCharsets.UTF_8));
+      Assert.assertNotEquals(prefix, encoded, matcher.replace(encoded, "***"));
+    }
+  }
+
+  /**
+   * Test that encodings can be configured and short forms are ignored.
+   */
+  @Test
+  public void testGetEncodings() {
+    Assert.assertEquals(EnumSet.of(SecretEncoding.URL, SecretEncoding.JSON),
+        SecretEncoding.getEncodings("url, json,unknown"));
+    Assert.assertTrue("none", SecretEncoding.getEncodings(null).isEmpty());
+    Set<String> literals = new LinkedHashSet<String>();
+    SecretEncoding.addLiterals("a b", EnumSet.of(SecretEncoding.URL), literals);
+    Assert.assertEquals("short", 1, literals.size());
+  }
+}
@@ -0,0 +1,70 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link SecretMatcher}.
+ *
+ * @author agent
+ *
+ */
+public class SecretMatcherTest {
+
+  /**
+   * Test that every secret is replaced wherever it occurs.
+   */
+  @Test
+  public void testReplace() {
+    SecretMatcher matcher = new SecretMatcher(Arrays.asList("s3cr3t", "hunter2"));
+    Assert.assertEquals("start", "*** is at the start", matcher.replace("s3cr3t is at the start", "***"));
+    Assert.assertEquals("several", "password=***;token=***", matcher.replace("password=hunter2;token=s3cr3t", "***"));
+    Assert.assertEquals("adjacent", "******", matcher.replace("hunter2hunter2", "***"));
+  }
+
+  /**
+   * Test that lines without secrets are returned unchanged.
+   */
+  @Test
+  public void testNoMatch() {
+    SecretMatcher matcher = new SecretMatcher(Arrays.asList("s3cr3t", "hunter2"));
+    String line = "[INFO] hunter s3cr BUILD SUCCESS";
+    Assert.assertSame(line, matcher.replace(line, "***"));
+  }
+
+  /**
+   * Test that overlapping and nested secrets are replaced by a single mask.
+   */
+  @Test
+  public void testOverlapping() {
+    SecretMatcher matcher = new SecretMatcher(Arrays.asList("he", "she", "hers", "bc", "abcd"));
+    Assert.assertEquals("overlapping", "u***", matcher.replace("ushers", "***"));
+    Assert.assertEquals("nested", "***", matcher.replace("abcd", "***"));
+    Assert.assertEquals("suffix", "a***", matcher.replace("abc", "***"));
+  }
+}
@@ -0,0 +1,72 @@
+/**
+  * MIT License
+  *
+  * Copyright (c) 2026 agent
+  *
+  * Permission is hereby granted, free of charge, to any person obtaining a copy
+  * of this software and associated documentation files (the "Software"), to deal
+  * in the Software without restriction, including without limitation the rights
+  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  * copies of the Software, and to permit persons to whom the Software is
+  * furnished to do so, subject to the following conditions:
+  *
+  * The above copyright notice and this permission notice shall be included in all
+  * copies or substantial portions of the Software.
+  *
+  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  * SOFTWARE.
+  */
+package hudson.plugins.awsparameterstore;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run tests for {@link SecretPrefilter}.
+ *
+ * @author agent
+ *
+ */
+public class SecretPrefilterTest {
+
+  /**
+   * Test that lines containing a secret are never rejected.
+   */
+  @Test
+  public void testMightContainSecret() {
+    SecretPrefilter prefilter = new SecretPrefilter(Arrays.asList("s3cr3t", "hunter2", "p%40ss"));
+    Assert.assertTrue("start", prefilter.mightContain("s3cr3t is at the start"));
+    Assert.assertTrue("middle", prefilter.mightContain("password=hunter2;"));
+    Assert.assertTrue("end", prefilter.mightContain("encoded p%40ss"));
+    Assert.assertTrue("whole line", prefilter.mightContain("hunter2"));
+  }
+
+  /**
+   * Test that ordinary lines are rejected.
+   */
+  @Test
+  public void testRejectsLinesWithoutSecrets() {
+    SecretPrefilter prefilter = new SecretPrefilter(Arrays.asList("s3cr3t", "hunter2"));
+    Assert.assertFalse("empty", prefilter.mightContain(""));
+    Assert.assertFalse("short", prefilter.mightContain("s3c"));
+    Assert.assertFalse("ordinary", prefilter.mightContain("[INFO] BUILD SUCCESS"));
+  }
+
+  /**
+   * Test that single character secrets still match.
+   */
+  @Test
+  public void testShortSecret() {
+    SecretPrefilter prefilter = new SecretPrefilter(Collections.singletonList("x"));
+    Assert.assertTrue("contains", prefilter.mightContain("abcx"));
+    Assert.assertFalse("missing", prefilter.mightContain("abc"));
+  }
+}